@@ -0,0 +1,66 @@
+#!/usr/bin/env bash
+#
+# Time from JVM launch to the first successful API response, for the plain fat jar and the fast-startup layout.
+#
+#   ./mvnw -Pfast-startup -DskipTests package
+#   scripts/measure-startup.sh            # 5 runs per mode
+#   RUNS=10 PORT=18080 scripts/measure-startup.sh
+#
+# The endpoint is polled every 50 ms, so results are accurate to about that much.
+set -euo pipefail
+
+cd "$(dirname "$0")/.."
+
+RUNS=${RUNS:-5}
+PORT=${PORT:-18080}
+URL="http://localhost:${PORT}/api/facilities"
+JAR=tesis_yorum-0.0.1-SNAPSHOT.jar
+FAST_DIR=target/fast-startup
+
+if [[ ! -f "$FAST_DIR/application.jsa" ]]; then
+    echo "Run './mvnw -Pfast-startup -DskipTests package' first" >&2
+    exit 1
+fi
+
+now_ms() {
+    date +%s%3N
+}
+
+# Prints milliseconds until $URL answered 200
+measure() {
+    local dir=$1
+    shift
+    local start pid elapsed
+    start=$(now_ms)
+    (cd "$dir" && exec java "$@" -jar "$JAR" --server.port="$PORT" > /dev/null 2>&1) &
+    pid=$!
+    until curl -sf -o /dev/null "$URL"; do
+        if ! kill -0 "$pid" 2>/dev/null; then
+            echo "Application exited before answering" >&2
+            return 1
+        fi
+        sleep 0.05
+    done
+    elapsed=$(( $(now_ms) - start ))
+    kill "$pid"
+    wait "$pid" 2>/dev/null || true
+    echo "$elapsed"
+}
+
+report() {
+    local name=$1
+    shift
+    local times=()
+    for ((i = 0; i < RUNS; i++)); do
+        times+=("$(measure "$@")")
+    done
+    printf '%s\n' "${times[@]}" | sort -n | awk -v name="$name" '
+        { t[NR] = $1; sum += $1 }
+        END { printf "%-28s min %6d ms   median %6d ms   mean %6d ms\n", name, t[1], t[int((NR + 1) / 2)], sum / NR }'
+}
+
+echo "Time to first request (${RUNS} runs each, GET ${URL})"
+report "fat jar" target
+report "extracted" "$FAST_DIR"
+report "extracted + AOT" "$FAST_DIR" -Dspring.aot.enabled=true
+report "extracted + AOT + CDS" "$FAST_DIR" -Dspring.aot.enabled=true -XX:SharedArchiveFile=application.jsa
@@ -0,0 +1,160 @@
+package org.example.tesis_yorum.benchmark;
+
+import org.example.tesis_yorum.TesisYorumApplication;
+import org.example.tesis_yorum.search.FacilitySearchIndex;
+import org.example.tesis_yorum.service.FacilityRatingService;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import java.util.UUID;
+import java.util.stream.Stream;
+
+/**
+ * Benchmark'lar için uygulamayı ayrı ve veriyle doldurulmuş bir H2 veritabanıyla başlatır; yük testleri dışında web sunucusu açılmaz.
+ *
+ * Veriler servisler yerine JDBC batch ile yüklenir; ID'ler entity'lerin kullandığı sequence'lardan alınır
+ * (her NEXT VALUE FOR çağrısı 50'lik bir blok ayırdığı için ID'ler aralıklıdır, Hibernate'in bloklarıyla çakışmaz).
+ * Ardından puan özetleri ve arama indeksi yeniden kurulur.
+ */
+final class BenchmarkApplication {
+
+    static final int USER_COUNT = 1_000;
+    static final int FACILITY_COUNT = 1_000;
+    static final int REVIEW_COUNT = 50_000;
+
+    private static final String[] WORDS = {
+            "otel", "deniz", "manzara", "havuz", "kahvaltı", "aile", "butik", "şehir", "merkez", "plaj",
+            "restoran", "kebap", "balık", "ızgara", "kahve", "tatlı", "müze", "park", "alışveriş", "sinema",
+            "İstanbul", "Antalya", "İzmir", "Ankara", "Muğla", "sessiz", "ferah", "temiz", "güler", "yüzlü"
+    };
+    private static final String[] CITIES = {"İstanbul", "Antalya", "İzmir", "Ankara", "Muğla"};
+    private static final String[] TYPES = {"HOTEL", "RESTAURANT", "CAFE", "MUSEUM", "PARK"};
+    private static final String[] STATUSES = {"APPROVED", "APPROVED", "APPROVED", "PENDING", "REJECTED"};
+
+    private BenchmarkApplication() {}
+
+    static ConfigurableApplicationContext start(Path uploadDir) {
+        return start(WebApplicationType.NONE, uploadDir);
+    }
+
+    /**
+     * Gömülü Tomcat'i rastgele bir portta açar (bkz. {@link #port}); ek ayarlar "--anahtar=değer" biçimindedir.
+     */
+    static ConfigurableApplicationContext startServer(Path uploadDir, String... properties) {
+        return start(WebApplicationType.SERVLET, uploadDir, properties);
+    }
+
+    static int port(ConfigurableApplicationContext context) {
+        return Integer.parseInt(context.getEnvironment().getRequiredProperty("local.server.port"));
+    }
+
+    private static ConfigurableApplicationContext start(WebApplicationType type, Path uploadDir, String... properties) {
+        List<String> args = new ArrayList<>(List.of(
+                "--spring.datasource.url=jdbc:h2:mem:benchmark-" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1",
+                "--spring.jpa.show-sql=false",
+                "--spring.jpa.properties.hibernate.format_sql=false",
+                "--spring.main.banner-mode=off",
+                "--logging.level.root=WARN",
+                "--server.port=0",
+                "--app.file.upload-dir=" + uploadDir));
+        args.addAll(List.of(properties));
+
+        ConfigurableApplicationContext context = new SpringApplicationBuilder(TesisYorumApplication.class)
+                .web(type)
+                .run(args.toArray(new String[0]));
+        seed(context.getBean(JdbcTemplate.class));
+        context.getBean(FacilityRatingService.class).rebuildAll();
+        context.getBean(FacilitySearchIndex.class).rebuild();
+        return context;
+    }
+
+    static List<Long> ids(ConfigurableApplicationContext context, String table) {
+        return context.getBean(JdbcTemplate.class).queryForList("SELECT id FROM " + table + " ORDER BY id", Long.class);
+    }
+
+    static Path createUploadDir() throws IOException {
+        return Files.createTempDirectory("tesis-yorum-benchmark");
+    }
+
+    static void deleteRecursively(Path directory) throws IOException {
+        if (directory == null || !Files.exists(directory)) {
+            return;
+        }
+        try (Stream<Path> paths = Files.walk(directory)) {
+            for (Path path : paths.sorted(Comparator.reverseOrder()).toList()) {
+                Files.deleteIfExists(path);
+            }
+        }
+    }
+
+    private static void seed(JdbcTemplate jdbcTemplate) {
+        Random random = new Random(42);
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+
+        List<Object[]> users = new ArrayList<>(USER_COUNT);
+        for (int i = 0; i < USER_COUNT; i++) {
+            users.add(new Object[]{"bench_user_" + i, "bench_user_" + i + "@example.com", "Bench User " + i, now, now});
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO users (id, username, email, full_name, role, created_at, updated_at) " +
+                "VALUES (NEXT VALUE FOR users_seq, ?, ?, ?, 'USER', ?, ?)", users);
+
+        List<Object[]> facilities = new ArrayList<>(FACILITY_COUNT);
+        for (int i = 0; i < FACILITY_COUNT; i++) {
+            facilities.add(new Object[]{
+                    words(random, 2) + " " + i,
+                    words(random, 12),
+                    words(random, 3),
+                    CITIES[random.nextInt(CITIES.length)],
+                    TYPES[random.nextInt(TYPES.length)],
+                    now});
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO facilities (id, name, description, address, city, type, updated_at) " +
+                "VALUES (NEXT VALUE FOR facilities_seq, ?, ?, ?, ?, ?, ?)", facilities);
+
+        List<Long> userIds = jdbcTemplate.queryForList("SELECT id FROM users ORDER BY id", Long.class);
+        List<Long> facilityIds = jdbcTemplate.queryForList("SELECT id FROM facilities ORDER BY id", Long.class);
+        LocalDateTime start = LocalDateTime.now().minusYears(2);
+
+        List<Object[]> reviews = new ArrayList<>(REVIEW_COUNT);
+        for (int i = 0; i < REVIEW_COUNT; i++) {
+            String status = STATUSES[random.nextInt(STATUSES.length)];
+            Timestamp createdAt = Timestamp.valueOf(start.plusMinutes(i * 20L));
+            boolean moderated = !"PENDING".equals(status);
+            reviews.add(new Object[]{
+                    "Benchmark yorumu " + i + ": " + words(random, 15),
+                    1 + random.nextInt(5),
+                    status,
+                    userIds.get(random.nextInt(userIds.size())),
+                    facilityIds.get(random.nextInt(facilityIds.size())),
+                    moderated ? userIds.get(0) : null,
+                    moderated ? createdAt : null,
+                    createdAt,
+                    createdAt});
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO reviews (id, content, rating, status, user_id, facility_id, " +
+                "approved_by, approved_at, created_at, updated_at) " +
+                "VALUES (NEXT VALUE FOR reviews_seq, ?, ?, ?, ?, ?, ?, ?, ?, ?)", reviews);
+    }
+
+    private static String words(Random random, int count) {
+        StringBuilder text = new StringBuilder();
+        for (int i = 0; i < count; i++) {
+            if (i > 0) {
+                text.append(' ');
+            }
+            text.append(WORDS[random.nextInt(WORDS.length)]);
+        }
+        return text.toString();
+    }
+}
@@ -0,0 +1,72 @@
+package org.example.tesis_yorum.benchmark;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.example.tesis_yorum.entity.Facility;
+import org.example.tesis_yorum.search.FacilitySearchIndex;
+import org.example.tesis_yorum.service.FacilityService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class FacilitySearchBenchmark {
+
+    // Former repository query, kept here as the baseline: a leading-wildcard LIKE cannot use an index
+    private static final String LIKE_QUERY = "SELECT f FROM Facility f WHERE (LOWER(f.name) LIKE LOWER(CONCAT('%', :keyword, '%')) OR " +
+            "LOWER(f.description) LIKE LOWER(CONCAT('%', :keyword, '%')))";
+
+    @Param({"deniz", "aile otel", "ist"})
+    private String keyword;
+
+    private Path uploadDir;
+    private ConfigurableApplicationContext context;
+    private EntityManagerFactory entityManagerFactory;
+    private FacilitySearchIndex facilitySearchIndex;
+    private FacilityService facilityService;
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        uploadDir = BenchmarkApplication.createUploadDir();
+        context = BenchmarkApplication.start(uploadDir);
+        entityManagerFactory = context.getBean(EntityManagerFactory.class);
+        facilitySearchIndex = context.getBean(FacilitySearchIndex.class);
+        facilityService = context.getBean(FacilityService.class);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws Exception {
+        context.close();
+        BenchmarkApplication.deleteRecursively(uploadDir);
+    }
+
+    @Benchmark
+    public List<Facility> repositoryLikeSearch() {
+        EntityManager entityManager = entityManagerFactory.createEntityManager();
+        try {
+            return entityManager.createQuery(LIKE_QUERY, Facility.class)
+                    .setParameter("keyword", keyword)
+                    .getResultList();
+        } finally {
+            entityManager.close();
+        }
+    }
+
+    @Benchmark
+    public List<Long> searchIndexOnly() {
+        return facilitySearchIndex.search(keyword);
+    }
+
+    @Benchmark
+    public List<Facility> searchFacilities() {
+        return facilityService.searchFacilities(keyword);
+    }
+}
@@ -0,0 +1,100 @@
+package org.example.tesis_yorum.benchmark;
+
+import org.example.tesis_yorum.entity.FileAttachment;
+import org.example.tesis_yorum.entity.Review;
+import org.example.tesis_yorum.repository.FileAttachmentRepository;
+import org.example.tesis_yorum.repository.ReviewRepository;
+import org.example.tesis_yorum.service.FileAttachmentService;
+import org.example.tesis_yorum.service.FileStorageService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.mock.web.MockMultipartFile;
+
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Eklerin saklandığı yol: dosya geçici alana yazılır, PENDING ek kaydedilir ve içeriğin referansı alınarak
+ * dosya içerik adresine taşınır ({@link FileAttachmentService#completeFileAttachment}).
+ *
+ * Ek, yorum oluşturma olayı yayımlanmadan doğrudan kaydedilir; böylece arka plan havuzu aynı eki işlemeye çalışmaz.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class FileStorageBenchmark {
+
+    @Param({"65536", "1048576", "8388608"})
+    private int fileSize;
+
+    private Path uploadDir;
+    private ConfigurableApplicationContext context;
+    private FileStorageService fileStorageService;
+    private FileAttachmentService fileAttachmentService;
+    private FileAttachmentRepository fileAttachmentRepository;
+    private Review review;
+    private MockMultipartFile file;
+    private byte[] uniqueContent;
+    private MockMultipartFile uniqueFile;
+    private long counter;
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        uploadDir = BenchmarkApplication.createUploadDir();
+        context = BenchmarkApplication.start(uploadDir);
+        fileStorageService = context.getBean(FileStorageService.class);
+        fileAttachmentService = context.getBean(FileAttachmentService.class);
+        fileAttachmentRepository = context.getBean(FileAttachmentRepository.class);
+        Long reviewId = BenchmarkApplication.ids(context, "reviews").get(0);
+        review = context.getBean(ReviewRepository.class).findById(reviewId).orElseThrow();
+        file = new MockMultipartFile("files", "photo.jpg", "image/jpeg", ReviewServiceBenchmark.jpegBytes(fileSize));
+        // MockMultipartFile keeps the array, so bumping a byte below gives every call new content
+        uniqueContent = ReviewServiceBenchmark.jpegBytes(fileSize);
+        uniqueFile = new MockMultipartFile("files", "photo.jpg", "image/jpeg", uniqueContent);
+    }
+
+    @TearDown(Level.Iteration)
+    public void clearUploads() throws Exception {
+        BenchmarkApplication.deleteRecursively(uploadDir);
+        fileStorageService.init();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws Exception {
+        context.close();
+        BenchmarkApplication.deleteRecursively(uploadDir);
+    }
+
+    /**
+     * Same bytes every call: after the first store this is the hash + temp write + reference + dedup path.
+     */
+    @Benchmark
+    public FileStorageService.StoredFile storeDuplicateFile() {
+        return storeAttachment(file);
+    }
+
+    @Benchmark
+    public FileStorageService.StoredFile storeNewFile() {
+        long value = ++counter;
+        for (int i = 0; i < Long.BYTES; i++) {
+            uniqueContent[uniqueContent.length - 1 - i] = (byte) (value >>> (8 * i));
+        }
+        return storeAttachment(uniqueFile);
+    }
+
+    @Benchmark
+    public void validateFile() {
+        fileStorageService.validateFile(file);
+    }
+
+    private FileStorageService.StoredFile storeAttachment(MockMultipartFile upload) {
+        FileStorageService.StagedFile staged = fileAttachmentService.stageFiles(List.of(upload)).get(0);
+        FileAttachment attachment = fileAttachmentRepository.save(new FileAttachment(staged.originalFilename(),
+                staged.contentType(), staged.size(), staged.sha256(), staged.stagedFilename(), review));
+        return fileAttachmentService.completeFileAttachment(attachment.getId()).orElseThrow();
+    }
+}
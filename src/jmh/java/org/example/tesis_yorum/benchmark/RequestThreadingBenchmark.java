@@ -0,0 +1,82 @@
+package org.example.tesis_yorum.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Platform thread (Tomcat havuzu) ve sanal thread modlarını yüksek eşzamanlılıkta karşılaştırır.
+ *
+ * Uygulama gerçek bir HTTP sunucusuyla açılır; her JMH thread'i bir istemcidir ve cevabı bekleyip yeni istek gönderir.
+ * Throughput modu saniyedeki istek sayısını, SampleTime modu p99 dahil gecikme dağılımını verir.
+ * Sanal thread modu Java 21 ister:
+ * ./mvnw -Pbenchmark,virtual-threads -DskipTests test-compile exec:exec -Djmh.args="RequestThreadingBenchmark"
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Fork(1)
+@Threads(512)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 3, time = 10)
+public class RequestThreadingBenchmark {
+
+    @Param({"platform", "virtual"})
+    private String threads;
+
+    private Path uploadDir;
+    private ConfigurableApplicationContext context;
+    private HttpClient client;
+    private String baseUrl;
+    private List<Long> facilityIds;
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        boolean virtual = "virtual".equals(threads);
+        if (virtual && Runtime.version().feature() < 21) {
+            throw new IllegalStateException("Virtual threads need Java 21, running on " + Runtime.version());
+        }
+
+        uploadDir = BenchmarkApplication.createUploadDir();
+        context = virtual
+                ? BenchmarkApplication.startServer(uploadDir, "--spring.profiles.active=virtual-threads")
+                : BenchmarkApplication.startServer(uploadDir);
+        baseUrl = "http://localhost:" + BenchmarkApplication.port(context);
+        facilityIds = BenchmarkApplication.ids(context, "facilities");
+        client = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws Exception {
+        context.close();
+        BenchmarkApplication.deleteRecursively(uploadDir);
+    }
+
+    @Benchmark
+    public int facilityReviewPage() throws Exception {
+        Long facilityId = facilityIds.get(ThreadLocalRandom.current().nextInt(facilityIds.size()));
+        return get("/api/reviews/facility/" + facilityId);
+    }
+
+    @Benchmark
+    public int approvedReviewPage() throws Exception {
+        return get("/api/reviews?size=20");
+    }
+
+    private int get(String path) throws Exception {
+        HttpRequest request = HttpRequest.newBuilder(URI.create(baseUrl + path)).GET().build();
+        HttpResponse<Void> response = client.send(request, HttpResponse.BodyHandlers.discarding());
+        if (response.statusCode() != 200) {
+            throw new IllegalStateException(path + " returned " + response.statusCode());
+        }
+        return response.statusCode();
+    }
+}
@@ -0,0 +1,121 @@
+package org.example.tesis_yorum.benchmark;
+
+import com.fasterxml.jackson.databind.Module;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.module.blackbird.BlackbirdModule;
+import org.example.tesis_yorum.dto.AdminReviewView;
+import org.example.tesis_yorum.dto.PublicReviewView;
+import org.example.tesis_yorum.dto.ReviewView;
+import org.example.tesis_yorum.entity.Review;
+import org.example.tesis_yorum.repository.ReviewRepository;
+import org.example.tesis_yorum.service.ReviewQueryService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.nio.file.Path;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Aynı sayfa yorumun JSON'a çevrilme süresi: entity (eski yanıt) ile herkese açık, sahip ve admin yanıt modelleri,
+ * Blackbird modülüyle ve modülsüz. Sayfadaki her yoruma bir dosya eki eklenir; yük boyutları kurulumda yazdırılır.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class ReviewSerializationBenchmark {
+
+    private static final int PAGE_SIZE = ReviewQueryService.MAX_PAGE_SIZE;
+
+    @Param({"blackbird", "reflection"})
+    public String accessors;
+
+    private Path uploadDir;
+    private ConfigurableApplicationContext context;
+    private ObjectMapper objectMapper;
+    private List<Review> entityPage;
+    private List<PublicReviewView> publicPage;
+    private List<ReviewView> ownerPage;
+    private List<AdminReviewView> adminPage;
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        uploadDir = BenchmarkApplication.createUploadDir();
+        context = BenchmarkApplication.start(uploadDir);
+        objectMapper = "blackbird".equals(accessors) ? context.getBean(ObjectMapper.class) : mapperWithoutBlackbird();
+
+        List<Long> ids = context.getBean(JdbcTemplate.class).queryForList(
+                "SELECT id FROM reviews WHERE status = 'APPROVED' ORDER BY id DESC LIMIT " + PAGE_SIZE, Long.class);
+        addAttachments(ids);
+
+        entityPage = context.getBean(ReviewRepository.class).findAllById(ids);
+        publicPage = entityPage.stream().map(PublicReviewView::of).collect(Collectors.toList());
+        ownerPage = entityPage.stream().map(ReviewView::of).collect(Collectors.toList());
+        adminPage = AdminReviewView.listOf(entityPage);
+
+        System.out.printf("%nPayload per page of %d reviews: entity=%d, public=%d, owner=%d, admin=%d bytes%n",
+                entityPage.size(),
+                objectMapper.writeValueAsBytes(entityPage).length,
+                objectMapper.writeValueAsBytes(publicPage).length,
+                objectMapper.writeValueAsBytes(ownerPage).length,
+                objectMapper.writeValueAsBytes(adminPage).length);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws Exception {
+        context.close();
+        BenchmarkApplication.deleteRecursively(uploadDir);
+    }
+
+    @Benchmark
+    public byte[] serializeEntityPage() throws Exception {
+        return objectMapper.writeValueAsBytes(entityPage);
+    }
+
+    @Benchmark
+    public byte[] serializePublicPage() throws Exception {
+        return objectMapper.writeValueAsBytes(publicPage);
+    }
+
+    @Benchmark
+    public byte[] serializeOwnerPage() throws Exception {
+        return objectMapper.writeValueAsBytes(ownerPage);
+    }
+
+    @Benchmark
+    public byte[] serializeAdminPage() throws Exception {
+        return objectMapper.writeValueAsBytes(adminPage);
+    }
+
+    /**
+     * Uygulamanın ObjectMapper'ıyla aynı ayarlar, Blackbird hariç.
+     */
+    private ObjectMapper mapperWithoutBlackbird() {
+        Module[] modules = context.getBeansOfType(Module.class).values().stream()
+                .filter(module -> !(module instanceof BlackbirdModule))
+                .toArray(Module[]::new);
+        return context.getBean(Jackson2ObjectMapperBuilder.class).modulesToInstall(modules).build();
+    }
+
+    private void addAttachments(List<Long> reviewIds) {
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        List<Object[]> attachments = new ArrayList<>(reviewIds.size());
+        for (Long reviewId : reviewIds) {
+            String stored = "bench-" + reviewId + ".jpg";
+            attachments.add(new Object[]{reviewId, "havuz-" + reviewId + ".jpg", stored,
+                    uploadDir.resolve(stored).toString(), 204800L, now, now});
+        }
+        context.getBean(JdbcTemplate.class).batchUpdate("INSERT INTO file_attachments (id, review_id, " +
+                "original_filename, stored_filename, file_path, content_type, file_size, status, created_at, updated_at) " +
+                "VALUES (NEXT VALUE FOR file_attachments_seq, ?, ?, ?, ?, 'image/jpeg', ?, 'READY', ?, ?)", attachments);
+    }
+}
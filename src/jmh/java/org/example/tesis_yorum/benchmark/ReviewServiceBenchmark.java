@@ -0,0 +1,78 @@
+package org.example.tesis_yorum.benchmark;
+
+import org.example.tesis_yorum.entity.Review;
+import org.example.tesis_yorum.service.ReviewService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class ReviewServiceBenchmark {
+
+    private static final String CONTENT = "Benchmark yorumu: temiz, ferah ve güler yüzlü bir yer";
+    private static final int ATTACHMENT_SIZE = 256 * 1024;
+
+    private Path uploadDir;
+    private ConfigurableApplicationContext context;
+    private ReviewService reviewService;
+    private List<Long> userIds;
+    private List<Long> facilityIds;
+    private List<MultipartFile> attachments;
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        uploadDir = BenchmarkApplication.createUploadDir();
+        context = BenchmarkApplication.start(uploadDir);
+        reviewService = context.getBean(ReviewService.class);
+        userIds = BenchmarkApplication.ids(context, "users");
+        facilityIds = BenchmarkApplication.ids(context, "facilities");
+        attachments = List.of(new MockMultipartFile("files", "photo.jpg", "image/jpeg", jpegBytes(ATTACHMENT_SIZE)));
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws Exception {
+        context.close();
+        BenchmarkApplication.deleteRecursively(uploadDir);
+    }
+
+    @Benchmark
+    public Review createReviewWithoutAttachments() {
+        return reviewService.createReview(randomId(userIds), randomId(facilityIds), CONTENT, 4);
+    }
+
+    @Benchmark
+    public Review createReviewWithAttachments() {
+        return reviewService.createReview(randomId(userIds), randomId(facilityIds), CONTENT, 4, attachments);
+    }
+
+    @Benchmark
+    public ReviewService.ReviewStatistics getReviewStatistics() {
+        return reviewService.getReviewStatistics(randomId(facilityIds));
+    }
+
+    private static Long randomId(List<Long> ids) {
+        return ids.get(ThreadLocalRandom.current().nextInt(ids.size()));
+    }
+
+    static byte[] jpegBytes(int size) {
+        byte[] bytes = new byte[size];
+        new Random(7).nextBytes(bytes);
+        bytes[0] = (byte) 0xFF;
+        bytes[1] = (byte) 0xD8;
+        bytes[2] = (byte) 0xFF;
+        bytes[3] = (byte) 0xE0;
+        return bytes;
+    }
+}
@@ -0,0 +1,59 @@
+package org.example.tesis_yorum.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.util.concurrent.RejectedExecutionHandler;
+import java.util.concurrent.ThreadPoolExecutor;
+
+/**
+ * Dosya eklerini ve küçük resimleri istek thread'i dışında işleyen sınırlı iş parçacığı havuzları.
+ *
+ * Ek kuyruğu dolduğunda iş reddedilir; ek PENDING kalır ve periyodik yeniden kuyruğa alma tarafından işlenir
+ * (bkz. {@code AttachmentProcessingService}). İş, gönderen thread'de çalıştırılmaz: gönderen, yorumu kaydeden
+ * isteğin thread'idir. Küçük resim kuyruğu dolduğunda iş gönderen thread'de çalışır (CallerRunsPolicy); o thread
+ * sonucu zaten beklemektedir veya bir ek işçisidir.
+ * Sanal thread modunda işçiler sanal thread'dir (bkz. {@link ExecutorThreads}).
+ */
+@Configuration
+public class AttachmentProcessingConfig {
+
+    public static final String ATTACHMENT_EXECUTOR = "attachmentExecutor";
+    public static final String THUMBNAIL_EXECUTOR = "thumbnailExecutor";
+
+    private final Environment environment;
+
+    public AttachmentProcessingConfig(Environment environment) {
+        this.environment = environment;
+    }
+
+    @Bean(name = ATTACHMENT_EXECUTOR)
+    public ThreadPoolTaskExecutor attachmentExecutor(@Value("${app.attachments.worker-threads:2}") int workerThreads,
+                                                     @Value("${app.attachments.queue-capacity:100}") int queueCapacity) {
+        return boundedExecutor("attachment-", workerThreads, queueCapacity, new ThreadPoolExecutor.AbortPolicy());
+    }
+
+    // Decoding large photos is memory hungry, so this pool stays small
+    @Bean(name = THUMBNAIL_EXECUTOR)
+    public ThreadPoolTaskExecutor thumbnailExecutor(@Value("${app.thumbnails.worker-threads:2}") int workerThreads,
+                                                    @Value("${app.thumbnails.queue-capacity:100}") int queueCapacity) {
+        return boundedExecutor("thumbnail-", workerThreads, queueCapacity, new ThreadPoolExecutor.CallerRunsPolicy());
+    }
+
+
+    private ThreadPoolTaskExecutor boundedExecutor(String threadNamePrefix, int workerThreads, int queueCapacity,
+                                                   RejectedExecutionHandler rejectedExecutionHandler) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(workerThreads);
+        executor.setMaxPoolSize(workerThreads);
+        executor.setQueueCapacity(queueCapacity);
+        ExecutorThreads.configure(executor, environment, threadNamePrefix);
+        executor.setRejectedExecutionHandler(rejectedExecutionHandler);
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.setAwaitTerminationSeconds(30);
+        return executor;
+    }
+}
@@ -0,0 +1,41 @@
+package org.example.tesis_yorum.config;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.cache.transaction.TransactionAwareCacheManagerProxy;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Kullanıcı ve tesis sorguları için boyut ve süre sınırlı bellek içi önbellek.
+ *
+ * Önbellekler transaction'a duyarlıdır: güncelleme/silme sonrası temizleme (evict) işlemi commit'ten sonra yapılır,
+ * böylece commit öncesi başka bir istek eski veriyi tekrar önbelleğe koyamaz.
+ */
+@Configuration
+@EnableCaching
+public class CacheConfig {
+
+    public static final String USERS = "users";
+    public static final String USER_ADMIN_FLAGS = "userAdminFlags";
+    public static final String FACILITIES = "facilities";
+
+    @Bean
+    public CacheManager cacheManager(@Value("${app.cache.maximum-size:10000}") long maximumSize,
+                                     @Value("${app.cache.expire-after-write:10m}") Duration expireAfterWrite) {
+        CaffeineCacheManager caffeineCacheManager = new CaffeineCacheManager();
+        caffeineCacheManager.setCaffeine(Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(expireAfterWrite)
+                .recordStats());
+        caffeineCacheManager.setCacheNames(List.of(USERS, USER_ADMIN_FLAGS, FACILITIES));
+        caffeineCacheManager.setAllowNullValues(false);
+        return new TransactionAwareCacheManagerProxy(caffeineCacheManager);
+    }
+}
@@ -0,0 +1,93 @@
+package org.example.tesis_yorum.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnThreading;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.http.HttpHeaders;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.time.Duration;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Sanal thread modunda aynı anda işlenen istek sayısını bağlantı havuzu boyutuyla sınırlar.
+ *
+ * Platform thread modunda Tomcat havuzu (200 thread) bu sınırı doğal olarak koyar; sanal thread'lerde ise her istek
+ * kendi thread'ini alır ve binlercesi aynı anda havuzdan bağlantı ister. H2 sürücüsü JDBC çağrılarını synchronized
+ * bloklar içinde çalıştırdığı için bu thread'ler taşıyıcı thread'e çakılı kalır (pinning) ve diğer sanal thread'leri de
+ * bekletir. Fazla istekler burada bir {@link Semaphore}'da bekler: semafor beklemesi sanal thread'i taşıyıcıdan indirir.
+ *
+ * İstek boyunca bağlantı tutulduğundan (open-in-view) varsayılan sınır Hikari havuzunun boyutudur.
+ * {@code app.virtual-threads.acquire-timeout} içinde sıra gelmezse 503 ve Retry-After döner.
+ */
+@Component
+@ConditionalOnThreading(Threading.VIRTUAL)
+public class ConnectionPoolConcurrencyFilter extends OncePerRequestFilter {
+
+    private static final Logger log = LoggerFactory.getLogger(ConnectionPoolConcurrencyFilter.class);
+
+    private final Semaphore permits;
+    private final long acquireTimeoutMillis;
+    private final Counter rejected;
+
+    public ConnectionPoolConcurrencyFilter(DataSource dataSource,
+                                           MeterRegistry registry,
+                                           @Value("${app.virtual-threads.max-concurrent-requests:0}") int maxConcurrentRequests,
+                                           @Value("${app.virtual-threads.acquire-timeout:5s}") Duration acquireTimeout) {
+        int limit = maxConcurrentRequests > 0 ? maxConcurrentRequests : poolSizeOf(dataSource);
+        this.permits = new Semaphore(limit, true);
+        this.acquireTimeoutMillis = acquireTimeout.toMillis();
+        this.rejected = Counter.builder("tesis.requests.concurrency.rejected")
+                .description("Requests rejected because no connection-pool slot became free in time")
+                .register(registry);
+        Gauge.builder("tesis.requests.concurrency.waiting", permits, Semaphore::getQueueLength)
+                .description("Requests waiting for a connection-pool slot")
+                .register(registry);
+        log.info("Virtual threads enabled, at most {} requests run concurrently", limit);
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+        boolean acquired;
+        try {
+            acquired = permits.tryAcquire(acquireTimeoutMillis, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ServletException("Interrupted while waiting for a request slot", e);
+        }
+        if (!acquired) {
+            rejected.increment();
+            response.setHeader(HttpHeaders.RETRY_AFTER, "1");
+            response.sendError(HttpServletResponse.SC_SERVICE_UNAVAILABLE, "Server is busy");
+            return;
+        }
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            permits.release();
+        }
+    }
+
+    private static int poolSizeOf(DataSource dataSource) {
+        if (dataSource instanceof HikariDataSource hikari) {
+            return hikari.getMaximumPoolSize();
+        }
+        throw new IllegalStateException("app.virtual-threads.max-concurrent-requests must be set for "
+                + dataSource.getClass().getName());
+    }
+}
@@ -0,0 +1,25 @@
+package org.example.tesis_yorum.config;
+
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.core.env.Environment;
+import org.springframework.core.task.VirtualThreadTaskExecutor;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+/**
+ * Uygulamanın kendi iş havuzları için thread türü.
+ *
+ * Sanal thread modunda ({@code spring.threads.virtual.enabled=true}, Java 21) havuzlar aynı boyut ve kuyruk
+ * sınırlarıyla kalır, sadece işçiler sanal thread olur. Böylece dosya/JDBC beklemeleri taşıyıcı thread'i tutmaz
+ * ama aynı anda çalışan iş sayısı (ör. bellek yiyen küçük resim üretimi) yine havuz boyutuyla sınırlıdır.
+ */
+final class ExecutorThreads {
+
+    private ExecutorThreads() {}
+
+    static void configure(ThreadPoolTaskExecutor executor, Environment environment, String threadNamePrefix) {
+        executor.setThreadNamePrefix(threadNamePrefix);
+        if (Threading.VIRTUAL.isActive(environment)) {
+            executor.setThreadFactory(new VirtualThreadTaskExecutor(threadNamePrefix).getVirtualThreadFactory());
+        }
+    }
+}
@@ -0,0 +1,22 @@
+package org.example.tesis_yorum.config;
+
+import com.fasterxml.jackson.databind.Module;
+import com.fasterxml.jackson.module.blackbird.BlackbirdModule;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * JSON yazma/okuma hızı için Jackson Blackbird modülü.
+ *
+ * Jackson alanlara ve getter'lara varsayılan olarak reflection ile erişir; Blackbird bunların yerine
+ * açılışta LambdaMetafactory ile üretilen erişimcileri kullanır. Spring Boot, context'teki {@link Module}
+ * bean'lerini uygulamanın ObjectMapper'ına kendisi ekler.
+ */
+@Configuration
+public class JacksonConfig {
+
+    @Bean
+    public Module blackbirdModule() {
+        return new BlackbirdModule();
+    }
+}
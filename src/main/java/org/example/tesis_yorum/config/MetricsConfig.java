@@ -0,0 +1,21 @@
+package org.example.tesis_yorum.config;
+
+import io.micrometer.core.aop.TimedAspect;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * {@code @Timed} ile işaretlenen servis metotlarını ölçer.
+ *
+ * Repository çağrıları Spring Boot tarafından {@code spring.data.repository.invocations} adıyla
+ * ayrıca ölçülür.
+ */
+@Configuration
+public class MetricsConfig {
+
+    @Bean
+    public TimedAspect timedAspect(MeterRegistry registry) {
+        return new TimedAspect(registry);
+    }
+}
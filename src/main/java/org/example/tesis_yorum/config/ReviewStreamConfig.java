@@ -0,0 +1,50 @@
+package org.example.tesis_yorum.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+/**
+ * Canlı yorum akışının (SSE) gönderim havuzları.
+ *
+ * Olayı yayınlayan thread sadece istemci kuyruklarına ekler; kuyrukları boşaltmak işçi havuzunda yapılır.
+ * Kuyruk dolarsa iş reddedilir (CallerRunsPolicy kullanılmaz), yayınlayan thread hiçbir zaman beklemez.
+ * Ağa yazma ayrı bir havuzda yapılır ve işçi en fazla {@code app.review-stream.send-timeout} kadar bekler;
+ * okumayan bir istemcide takılan yazma işçi havuzunu tutmaz.
+ */
+@Configuration
+public class ReviewStreamConfig {
+
+    public static final String REVIEW_STREAM_EXECUTOR = "reviewStreamExecutor";
+    public static final String REVIEW_STREAM_SEND_EXECUTOR = "reviewStreamSendExecutor";
+
+    @Bean(name = REVIEW_STREAM_EXECUTOR)
+    public ThreadPoolTaskExecutor reviewStreamExecutor(@Value("${app.review-stream.worker-threads:2}") int workerThreads,
+                                                       @Value("${app.review-stream.queue-capacity:10000}") int queueCapacity,
+                                                       Environment environment) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(workerThreads);
+        executor.setMaxPoolSize(workerThreads);
+        executor.setQueueCapacity(queueCapacity);
+        ExecutorThreads.configure(executor, environment, "review-stream-");
+        return executor;
+    }
+
+    /**
+     * Her işçinin en fazla bir bekleyen yazması olur; ek thread'ler sadece süresi aşılıp bırakılan yazmalar
+     * (sunucunun yazma zaman aşımına kadar) için açılır.
+     */
+    @Bean(name = REVIEW_STREAM_SEND_EXECUTOR)
+    public ThreadPoolTaskExecutor reviewStreamSendExecutor(@Value("${app.review-stream.worker-threads:2}") int workerThreads,
+                                                           @Value("${app.review-stream.max-stalled-sends:64}") int maxStalledSends,
+                                                           Environment environment) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(workerThreads);
+        executor.setMaxPoolSize(workerThreads + maxStalledSends);
+        executor.setQueueCapacity(0);
+        ExecutorThreads.configure(executor, environment, "review-stream-send-");
+        return executor;
+    }
+}
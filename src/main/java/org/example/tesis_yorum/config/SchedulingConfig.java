@@ -0,0 +1,12 @@
+package org.example.tesis_yorum.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * Zamanlanmış bakım görevlerini (ör. süresi dolan moderasyon kiralamalarının temizlenmesi) açar.
+ */
+@Configuration
+@EnableScheduling
+public class SchedulingConfig {
+}
@@ -0,0 +1,22 @@
+package org.example.tesis_yorum.config;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Bir uç noktanın istek başına çalıştırabileceği SQL ifadesi sayısı.
+ *
+ * İşaretlenmeyen uç noktalar {@code app.sql.statement-budget} değerini kullanır; toplu içe aktarım gibi
+ * ifade sayısı girdiyle büyüyen uç noktalar kendi sınırını burada belirtir.
+ * Sınır aşıldığında {@link SqlStatementCountFilter} uyarı loglar ve sayaç artırır.
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+public @interface SqlStatementBudget {
+
+    int value();
+}
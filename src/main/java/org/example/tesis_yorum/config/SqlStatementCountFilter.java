@@ -0,0 +1,100 @@
+package org.example.tesis_yorum.config;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+
+/**
+ * Her HTTP isteği için SQL ifade sayacını sıfırlar, istek bitince sayıyı uç nokta bazında ölçer
+ * ve bütçeyi aşan istekleri uyarı olarak loglar.
+ *
+ * Bütçe varsayılan olarak {@code app.sql.statement-budget}'tır; uç nokta {@link SqlStatementBudget} ile kendi
+ * sınırını verebilir. Sayaç isteği işleyen thread'e aittir: arka plan işleri (dosya işleme, canlı akış) sayılmaz.
+ */
+@Component
+public class SqlStatementCountFilter extends OncePerRequestFilter {
+
+    private static final Logger log = LoggerFactory.getLogger(SqlStatementCountFilter.class);
+
+    // Requests that matched no handler (404, static resources) share one tag value to keep cardinality bounded
+    private static final String UNKNOWN_ENDPOINT = "UNKNOWN";
+
+    private final SqlStatementCounter statementCounter;
+    private final MeterRegistry registry;
+    private final int defaultBudget;
+
+    public SqlStatementCountFilter(SqlStatementCounter statementCounter,
+                                   MeterRegistry registry,
+                                   @Value("${app.sql.statement-budget:10}") int defaultBudget) {
+        if (defaultBudget < 1) {
+            throw new IllegalArgumentException("app.sql.statement-budget must be positive");
+        }
+        this.statementCounter = statementCounter;
+        this.registry = registry;
+        this.defaultBudget = defaultBudget;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+        statementCounter.reset();
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            record(request, statementCounter.getCount());
+        }
+    }
+
+    private void record(HttpServletRequest request, int count) {
+        String method = request.getMethod();
+        String endpoint = endpointOf(request);
+
+        DistributionSummary.builder("tesis.sql.statements")
+                .description("SQL statements executed per HTTP request")
+                .tag("method", method)
+                .tag("uri", endpoint)
+                .register(registry)
+                .record(count);
+
+        int budget = budgetOf(request);
+        if (count > budget) {
+            Counter.builder("tesis.sql.statement.budget.exceeded")
+                    .description("HTTP requests that executed more SQL statements than their budget")
+                    .tag("method", method)
+                    .tag("uri", endpoint)
+                    .register(registry)
+                    .increment();
+            log.warn("{} {} executed {} SQL statements, budget is {}", method, request.getRequestURI(), count, budget);
+        } else {
+            log.debug("{} {} executed {} SQL statements", method, request.getRequestURI(), count);
+        }
+    }
+
+    private static String endpointOf(HttpServletRequest request) {
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        return pattern != null ? pattern.toString() : UNKNOWN_ENDPOINT;
+    }
+
+    private int budgetOf(HttpServletRequest request) {
+        if (request.getAttribute(HandlerMapping.BEST_MATCHING_HANDLER_ATTRIBUTE) instanceof HandlerMethod handler) {
+            SqlStatementBudget budget = handler.getMethodAnnotation(SqlStatementBudget.class);
+            if (budget != null) {
+                return budget.value();
+            }
+        }
+        return defaultBudget;
+    }
+}
@@ -0,0 +1,46 @@
+package org.example.tesis_yorum.config;
+
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.regex.Pattern;
+
+/**
+ * Hibernate'in hazırladığı her SQL ifadesini çalışan thread için sayar.
+ *
+ * HTTP isteği başında {@link #reset()} çağrılır; istek boyunca sayaç o isteğin ifade sayısını verir.
+ * ID sequence'inden değer çekme sayılmaz: pooled üretici 50 kayıtta bir sorar, hangi isteğe denk geleceği
+ * rastlantısaldır ve sorgu kalıbı hakkında bilgi vermez.
+ */
+@Component
+public class SqlStatementCounter implements StatementInspector, HibernatePropertiesCustomizer {
+
+    private static final ThreadLocal<int[]> COUNT = ThreadLocal.withInitial(() -> new int[1]);
+
+    // "next value for seq" (H2, HSQLDB, SQL Server, DB2) and "nextval('seq')" (PostgreSQL)
+    private static final Pattern SEQUENCE_CALL = Pattern.compile("(?i)next value for|nextval\\(");
+
+    @Override
+    public String inspect(String sql) {
+        if (!SEQUENCE_CALL.matcher(sql).find()) {
+            COUNT.get()[0]++;
+        }
+        return sql;
+    }
+
+    @Override
+    public void customize(Map<String, Object> hibernateProperties) {
+        hibernateProperties.put(AvailableSettings.STATEMENT_INSPECTOR, this);
+    }
+
+    public void reset() {
+        COUNT.get()[0] = 0;
+    }
+
+    public int getCount() {
+        return COUNT.get()[0];
+    }
+}
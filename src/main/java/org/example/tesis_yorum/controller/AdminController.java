@@ -3,12 +3,31 @@ package org.example.tesis_yorum.controller;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
+import org.example.tesis_yorum.config.SqlStatementBudget;
+import org.example.tesis_yorum.dto.AdminReviewView;
+import org.example.tesis_yorum.dto.BatchModerationResponse;
+import org.example.tesis_yorum.dto.CacheStatistics;
+import org.example.tesis_yorum.dto.ImportReport;
 import org.example.tesis_yorum.entity.Review;
+import org.example.tesis_yorum.entity.ReviewStatus;
+import org.example.tesis_yorum.export.ReviewExportFormat;
+import org.example.tesis_yorum.export.ReviewExportService;
+import org.example.tesis_yorum.importer.BulkImportService;
+import org.example.tesis_yorum.importer.ImportEntityType;
+import org.example.tesis_yorum.importer.ImportFormat;
+import org.example.tesis_yorum.service.CacheStatisticsService;
 import org.example.tesis_yorum.service.ReviewService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.LocalDateTime;
 import java.util.List;
 
 @RestController
@@ -18,10 +37,19 @@ import java.util.List;
 public class AdminController {
 
     private final ReviewService reviewService;
+    private final ReviewExportService reviewExportService;
+    private final CacheStatisticsService cacheStatisticsService;
+    private final BulkImportService bulkImportService;
 
     @Autowired
-    public AdminController(ReviewService reviewService) {
+    public AdminController(ReviewService reviewService,
+                           ReviewExportService reviewExportService,
+                           CacheStatisticsService cacheStatisticsService,
+                           BulkImportService bulkImportService) {
         this.reviewService = reviewService;
+        this.reviewExportService = reviewExportService;
+        this.cacheStatisticsService = cacheStatisticsService;
+        this.bulkImportService = bulkImportService;
     }
 
 
@@ -29,9 +57,34 @@ public class AdminController {
             summary = "Onay Bekleyen Yorumları Göster",
             description = "Onay Bekleyen Yorumları Gösterir.")
     @GetMapping("/reviews/pending")
-    public ResponseEntity<List<Review>> getPendingReviews() {
+    public ResponseEntity<List<AdminReviewView>> getPendingReviews() {
         List<Review> pendingReviews = reviewService.getPendingReviews();
-        return ResponseEntity.ok(pendingReviews);
+        return ResponseEntity.ok(AdminReviewView.listOf(pendingReviews));
+    }
+
+
+    @Operation(
+            summary = "Onay Bekleyen Yorumları Üstlen",
+            description = "Sıradaki en eski, başka bir admin tarafından üstlenilmemiş bekleyen yorumları (en fazla " +
+                    ReviewService.MAX_CLAIM_SIZE + ") süreli olarak admine ayırır. Süre dolunca yorumlar sıraya geri döner.")
+    @PostMapping("/reviews/claim")
+    public ResponseEntity<List<AdminReviewView>> claimPendingReviews(
+            @RequestParam Long adminId,
+            @RequestParam(defaultValue = "10") int count) {
+
+        return ResponseEntity.ok(AdminReviewView.listOf(reviewService.claimPendingReviews(adminId, count)));
+    }
+
+
+    @Operation(
+            summary = "Üstlenilen Yorumu Bırak",
+            description = "Admin'in üstlendiği yorumu onaylamadan veya reddetmeden sıraya geri bırakır.")
+    @PostMapping("/reviews/{reviewId}/release")
+    public ResponseEntity<AdminReviewView> releaseReview(
+            @PathVariable Long reviewId,
+            @RequestParam Long adminId) {
+
+        return ResponseEntity.ok(AdminReviewView.of(reviewService.releaseClaim(reviewId, adminId)));
     }
 
 
@@ -39,12 +92,12 @@ public class AdminController {
             summary = "Onay Bekleyen Yorumu Onayla",
             description = "Onay Bekleyen Yorumu girilen Yorum ID'sine göre onayla.")
     @PostMapping("/reviews/{reviewId}/approve")
-    public ResponseEntity<Review> approveReview(
+    public ResponseEntity<AdminReviewView> approveReview(
             @PathVariable Long reviewId,
             @RequestParam Long adminId) {
 
         Review approvedReview = reviewService.approveReview(reviewId, adminId);
-        return ResponseEntity.ok(approvedReview);
+        return ResponseEntity.ok(AdminReviewView.of(approvedReview));
     }
 
 
@@ -52,13 +105,39 @@ public class AdminController {
             summary = "Onay Bekleyen Yorumu Reddet",
             description = "Onay Bekleyen Yorumu girilen Yorum ID'sine göre reddet.")
     @PostMapping("/reviews/{reviewId}/reject")
-    public ResponseEntity<Review> rejectReview(
+    public ResponseEntity<AdminReviewView> rejectReview(
             @PathVariable Long reviewId,
             @RequestParam Long adminId,
             @Valid @RequestBody RejectReviewRequest request) {
 
         Review rejectedReview = reviewService.rejectReview(reviewId, adminId, request.getAdminNotes());
-        return ResponseEntity.ok(rejectedReview);
+        return ResponseEntity.ok(AdminReviewView.of(rejectedReview));
+    }
+
+
+    @Operation(
+            summary = "Yorumları Toplu Onayla",
+            description = "Girilen Yorum ID'lerinden bekleyenleri tek seferde onaylar (en fazla " +
+                    ReviewService.MAX_BATCH_SIZE + "). Her ID için sonuç döner: APPROVED, NOT_PENDING, CLAIMED_BY_OTHER veya NOT_FOUND.")
+    @PostMapping("/reviews/batch/approve")
+    public ResponseEntity<BatchModerationResponse> approveReviews(
+            @RequestParam Long adminId,
+            @RequestBody BatchApproveRequest request) {
+
+        return ResponseEntity.ok(reviewService.approveReviews(request.getReviewIds(), adminId));
+    }
+
+
+    @Operation(
+            summary = "Yorumları Toplu Reddet",
+            description = "Girilen Yorum ID'lerinden bekleyenleri aynı admin notuyla tek seferde reddeder (en fazla " +
+                    ReviewService.MAX_BATCH_SIZE + "). Her ID için sonuç döner: REJECTED, NOT_PENDING, CLAIMED_BY_OTHER veya NOT_FOUND.")
+    @PostMapping("/reviews/batch/reject")
+    public ResponseEntity<BatchModerationResponse> rejectReviews(
+            @RequestParam Long adminId,
+            @RequestBody BatchRejectRequest request) {
+
+        return ResponseEntity.ok(reviewService.rejectReviews(request.getReviewIds(), adminId, request.getAdminNotes()));
     }
 
 
@@ -66,12 +145,62 @@ public class AdminController {
             summary = "Bütün Yorumları Göster",
             description = "Bütün Yorumları Onaysız veya Onaylı Farketmeden Gösterir.")
     @GetMapping("/reviews/all")
-    public ResponseEntity<List<Review>> getAllReviewsForAdmin() {
+    public ResponseEntity<List<AdminReviewView>> getAllReviewsForAdmin() {
 
 
         // For admin, we can show all reviews regardless of status
         List<Review> reviews = reviewService.getAllReviews();
-        return ResponseEntity.ok(reviews);
+        return ResponseEntity.ok(AdminReviewView.listOf(reviews));
+    }
+
+    @Operation(
+            summary = "Yorumları Dışa Aktar",
+            description = "Yorumları veritabanından akış halinde NDJSON veya gzip'li sütun formatında (COLUMNAR) indirir. " +
+                    "Durum ve oluşturulma tarihi aralığına göre filtrelenebilir.")
+    @GetMapping("/reviews/export")
+    public ResponseEntity<StreamingResponseBody> exportReviews(
+            @RequestParam Long adminId,
+            @RequestParam(defaultValue = "NDJSON") ReviewExportFormat format,
+            @RequestParam(required = false) ReviewStatus status,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to) {
+
+        // Checked up front so a 403 or 400 is returned before the streamed body starts
+        reviewExportService.validateExportPermission(adminId);
+        reviewExportService.validateExportRange(from, to);
+
+        StreamingResponseBody body = out -> reviewExportService.export(format, status, from, to, out);
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(format.getContentType()))
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + format.getFilename() + "\"")
+                .body(body);
+    }
+
+    @Operation(
+            summary = "Toplu İçe Aktar",
+            description = "Tesis, kullanıcı veya yorumları istek gövdesinden akış halinde NDJSON veya CSV (ilk satır alan adları) " +
+                    "olarak içe aktarır. Kayıtlar " + BulkImportService.CHUNK_SIZE + "'lük gruplar halinde doğrulanıp toplu eklenir; " +
+                    "hatalı satırlar satır numarası ve sebebiyle raporlanır.")
+    // Form content types are excluded: the servlet container would consume the body as request parameters
+    // A few statements per chunk, so the count grows with the input size
+    @SqlStatementBudget(1000)
+    @PostMapping(value = "/import", consumes = {"application/x-ndjson", "text/csv", MediaType.TEXT_PLAIN_VALUE,
+            MediaType.APPLICATION_OCTET_STREAM_VALUE})
+    public ResponseEntity<ImportReport> importRecords(
+            @RequestParam Long adminId,
+            @RequestParam ImportEntityType type,
+            @RequestParam(defaultValue = "NDJSON") ImportFormat format,
+            InputStream body) throws IOException {
+
+        return ResponseEntity.ok(bulkImportService.importRecords(type, format, body, adminId));
+    }
+
+    @Operation(
+            summary = "Önbellek İstatistiklerini Göster",
+            description = "Kullanıcı ve tesis önbelleklerinin boyut, isabet, ıska ve tahliye sayılarını gösterir.")
+    @GetMapping("/cache/stats")
+    public ResponseEntity<List<CacheStatistics>> getCacheStatistics(@RequestParam Long adminId) {
+        return ResponseEntity.ok(cacheStatisticsService.getStatistics(adminId));
     }
 
     @Operation(
@@ -87,6 +216,16 @@ public class AdminController {
     }
 
 
+    @Operation(
+            summary = "Tesis Puan İstatistiklerini Yeniden Hesapla",
+            description = "Bütün tesislerin puan özetlerini onaylı yorumlardan baştan hesaplar.")
+    @PostMapping("/statistics/rebuild")
+    public ResponseEntity<RebuildStatisticsResponse> rebuildStatistics(@RequestParam Long adminId) {
+        int rebuiltFacilities = reviewService.rebuildRatingAggregates(adminId);
+        return ResponseEntity.ok(new RebuildStatisticsResponse(rebuiltFacilities));
+    }
+
+
     // Request/Response DTOs
     public static class RejectReviewRequest {
         private String adminNotes;
@@ -95,6 +234,34 @@ public class AdminController {
         public void setAdminNotes(String adminNotes) { this.adminNotes = adminNotes; }
     }
 
+    public static class BatchApproveRequest {
+        private List<Long> reviewIds;
+
+        public List<Long> getReviewIds() { return reviewIds; }
+        public void setReviewIds(List<Long> reviewIds) { this.reviewIds = reviewIds; }
+    }
+
+    public static class BatchRejectRequest {
+        private List<Long> reviewIds;
+        private String adminNotes;
+
+        public List<Long> getReviewIds() { return reviewIds; }
+        public void setReviewIds(List<Long> reviewIds) { this.reviewIds = reviewIds; }
+
+        public String getAdminNotes() { return adminNotes; }
+        public void setAdminNotes(String adminNotes) { this.adminNotes = adminNotes; }
+    }
+
+    public static class RebuildStatisticsResponse {
+        private final int rebuiltFacilities;
+
+        public RebuildStatisticsResponse(int rebuiltFacilities) {
+            this.rebuiltFacilities = rebuiltFacilities;
+        }
+
+        public int getRebuiltFacilities() { return rebuiltFacilities; }
+    }
+
 
 
 
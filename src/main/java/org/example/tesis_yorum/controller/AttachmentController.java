@@ -0,0 +1,85 @@
+package org.example.tesis_yorum.controller;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.example.tesis_yorum.entity.FileAttachment;
+import org.example.tesis_yorum.entity.ReviewStatus;
+import org.example.tesis_yorum.service.FileStorageService;
+import org.example.tesis_yorum.service.ReviewService;
+import org.example.tesis_yorum.thumbnail.ThumbnailService;
+import org.example.tesis_yorum.thumbnail.ThumbnailSize;
+import org.example.tesis_yorum.web.FileResponseWriter;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.web.bind.annotation.*;
+
+import java.io.IOException;
+
+@RestController
+@RequestMapping("/api/attachments")
+@CrossOrigin(origins = "*")
+@Tag(name = "Dosya Ekleri", description = "Yorum dosya eklerinin ve küçük resimlerinin indirilmesi")
+public class AttachmentController {
+
+    private final ReviewService reviewService;
+    private final FileStorageService fileStorageService;
+    private final ThumbnailService thumbnailService;
+    private final FileResponseWriter fileResponseWriter;
+
+    @Autowired
+    public AttachmentController(ReviewService reviewService,
+                                FileStorageService fileStorageService,
+                                ThumbnailService thumbnailService,
+                                FileResponseWriter fileResponseWriter) {
+        this.reviewService = reviewService;
+        this.fileStorageService = fileStorageService;
+        this.thumbnailService = thumbnailService;
+        this.fileResponseWriter = fileResponseWriter;
+    }
+
+
+    @Operation(
+            summary = "Dosya Ekini İndir",
+            description = "Girilen Ek ID'sine göre dosyayı döner. Range (kısmi indirme) ve If-None-Match (304) desteklenir; " +
+                    "ETag dosyanın SHA-256 özetidir. Onaylanmamış yorumların ekleri sadece yorumun sahibine ve adminlere " +
+                    "gösterilir (userId ile).")
+    @RequestMapping(value = "/{id}/content", method = {RequestMethod.GET, RequestMethod.HEAD})
+    public void downloadAttachment(@PathVariable Long id,
+                                   @RequestParam(required = false) Long userId,
+                                   HttpServletRequest request,
+                                   HttpServletResponse response) throws IOException {
+        FileAttachment attachment = reviewService.getVisibleAttachment(id, userId);
+        fileResponseWriter.write(request, response,
+                fileStorageService.resolveStoredFile(attachment.getStoredFilename()),
+                attachment.getContentType(),
+                "\"" + attachment.getContentHash() + "\"",
+                attachment.getOriginalFilename(),
+                isPublic(attachment));
+    }
+
+
+    @Operation(
+            summary = "Dosya Ekinin Küçük Resmini Getir",
+            description = "Girilen Ek ID'sine göre small (160px), medium (480px) veya large (1024px) küçük resmi döner. " +
+                    "Küçük resim henüz yoksa ilk istekte üretilir. Görünürlük kuralları dosya ekiyle aynıdır.")
+    @RequestMapping(value = "/{id}/thumbnails/{size}", method = {RequestMethod.GET, RequestMethod.HEAD})
+    public void downloadThumbnail(@PathVariable Long id,
+                                  @PathVariable String size,
+                                  @RequestParam(required = false) Long userId,
+                                  HttpServletRequest request,
+                                  HttpServletResponse response) throws IOException {
+        ThumbnailSize thumbnailSize = ThumbnailSize.fromName(size);
+        FileAttachment attachment = reviewService.getVisibleAttachment(id, userId);
+        fileResponseWriter.write(request, response,
+                thumbnailService.getThumbnail(attachment.getStoredFilename(), attachment.getContentType(), thumbnailSize),
+                attachment.getContentType(),
+                "\"" + attachment.getContentHash() + "-" + thumbnailSize.getSuffix() + "\"",
+                null,
+                isPublic(attachment));
+    }
+
+    private static boolean isPublic(FileAttachment attachment) {
+        return attachment.getReview().getStatus() == ReviewStatus.APPROVED;
+    }
+}
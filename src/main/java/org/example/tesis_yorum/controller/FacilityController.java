@@ -3,13 +3,19 @@ package org.example.tesis_yorum.controller;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
+import org.example.tesis_yorum.dto.LeaderboardEntry;
+import org.example.tesis_yorum.dto.ResourceVersion;
 import org.example.tesis_yorum.entity.Facility;
 import org.example.tesis_yorum.entity.FacilityType;
+import org.example.tesis_yorum.leaderboard.FacilityLeaderboard;
+import org.example.tesis_yorum.service.FacilityRatingService;
 import org.example.tesis_yorum.service.FacilityService;
+import org.example.tesis_yorum.web.ConditionalRequests;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.NativeWebRequest;
 
 import java.util.List;
 
@@ -20,10 +26,16 @@ import java.util.List;
 public class FacilityController {
 
     private final FacilityService facilityService;
+    private final FacilityLeaderboard facilityLeaderboard;
+    private final FacilityRatingService facilityRatingService;
 
     @Autowired
-    public FacilityController(FacilityService facilityService) {
+    public FacilityController(FacilityService facilityService,
+                              FacilityLeaderboard facilityLeaderboard,
+                              FacilityRatingService facilityRatingService) {
         this.facilityService = facilityService;
+        this.facilityLeaderboard = facilityLeaderboard;
+        this.facilityRatingService = facilityRatingService;
     }
 
 
@@ -47,9 +59,12 @@ public class FacilityController {
 
     @Operation(
             summary = "Bütün Tesisleri Göster",
-            description = "Bütün Tesisleri Gösterir.")
+            description = "Bütün Tesisleri Gösterir. ETag gönderir; If-None-Match eşleşirse 304 döner.")
     @GetMapping
-    public ResponseEntity<List<Facility>> getAllFacilities() {
+    public ResponseEntity<List<Facility>> getAllFacilities(NativeWebRequest request) {
+        if (ConditionalRequests.checkCollectionNotModified(request, facilityService.getFacilitiesVersion())) {
+            return null;
+        }
         List<Facility> facilities = facilityService.getAllFacilities();
         return ResponseEntity.ok(facilities);
     }
@@ -57,10 +72,14 @@ public class FacilityController {
 
     @Operation(
             summary = "ID'ye göre Tesis Göster",
-            description = "Girilen ID parametresine göre Tesis Gösterir.")
+            description = "Girilen ID parametresine göre Tesis Gösterir. " +
+                    "ETag ve Last-Modified gönderir; If-None-Match / If-Modified-Since eşleşirse 304 döner.")
     @GetMapping("/{id}")
-    public ResponseEntity<Facility> getFacilityById(@PathVariable Long id) {
+    public ResponseEntity<Facility> getFacilityById(@PathVariable Long id, NativeWebRequest request) {
         Facility facility = facilityService.getFacilityById(id);
+        if (ConditionalRequests.checkNotModified(request, ResourceVersion.of(facility.getUpdatedAt()))) {
+            return null;
+        }
         return ResponseEntity.ok(facility);
     }
 
@@ -75,6 +94,40 @@ public class FacilityController {
     }
 
 
+    @Operation(
+            summary = "Şehir ve Türe göre En İyi Tesisler",
+            description = "Girilen şehir ve tesis türündeki tesisleri Bayes puanına göre sıralı gösterir (en fazla " +
+                    FacilityLeaderboard.MAX_LIMIT + "). Sadece en az minReviews onaylı yorumu olan tesisler listelenir.")
+    @GetMapping("/leaderboard")
+    public ResponseEntity<List<LeaderboardEntry>> getLeaderboard(
+            @RequestParam String city,
+            @RequestParam FacilityType type,
+            @RequestParam(defaultValue = "10") int limit,
+            @RequestParam(required = false) Integer minReviews) {
+
+        return ResponseEntity.ok(facilityLeaderboard.getTop(city, type, limit, minReviews));
+    }
+
+
+    @Operation(
+            summary = "Puana göre En İyi Tesisler",
+            description = "Bütün tesisleri yorum sayısını da hesaba katan Bayes puanına göre sıralı gösterir (en fazla " +
+                    FacilityRatingService.MAX_TOP_RATED_LIMIT + "). minScore ile puanı düşük tesisler elenebilir.")
+    @GetMapping("/top-rated")
+    public ResponseEntity<List<LeaderboardEntry>> getTopRated(
+            @RequestParam(defaultValue = "0") double minScore,
+            @RequestParam(defaultValue = "1") long minReviews,
+            @RequestParam(defaultValue = "20") int limit,
+            NativeWebRequest request) {
+
+        ResourceVersion version = facilityRatingService.getRatingsVersion().and(facilityService.getFacilitiesVersion());
+        if (ConditionalRequests.checkCollectionNotModified(request, version)) {
+            return null;
+        }
+        return ResponseEntity.ok(facilityRatingService.getTopRated(minScore, minReviews, limit));
+    }
+
+
     @Operation(
             summary = "Tesis Güncelle",
             description = "Girilen Tesis ID parametrelerisine göre Tesis Günceller.")
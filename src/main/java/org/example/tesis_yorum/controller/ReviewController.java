@@ -5,14 +5,25 @@ import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import jakarta.validation.constraints.Max;
 import jakarta.validation.constraints.Min;
+import org.example.tesis_yorum.dto.CursorPage;
+import org.example.tesis_yorum.dto.PublicReviewView;
+import org.example.tesis_yorum.dto.ResourceVersion;
+import org.example.tesis_yorum.dto.ReviewView;
+import org.example.tesis_yorum.entity.FileAttachment;
 import org.example.tesis_yorum.entity.Review;
-import org.example.tesis_yorum.entity.ReviewStatus;
+import org.example.tesis_yorum.service.FacilityService;
+import org.example.tesis_yorum.service.ReviewQueryService;
 import org.example.tesis_yorum.service.ReviewService;
+import org.example.tesis_yorum.stream.ReviewStreamBroadcaster;
+import org.example.tesis_yorum.web.ConditionalRequests;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.NativeWebRequest;
 import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import java.util.List;
 
@@ -23,10 +34,19 @@ import java.util.List;
 public class ReviewController {
 
     private final ReviewService reviewService;
+    private final ReviewQueryService reviewQueryService;
+    private final FacilityService facilityService;
+    private final ReviewStreamBroadcaster reviewStreamBroadcaster;
 
     @Autowired
-    public ReviewController(ReviewService reviewService) {
+    public ReviewController(ReviewService reviewService,
+                            ReviewQueryService reviewQueryService,
+                            FacilityService facilityService,
+                            ReviewStreamBroadcaster reviewStreamBroadcaster) {
         this.reviewService = reviewService;
+        this.reviewQueryService = reviewQueryService;
+        this.facilityService = facilityService;
+        this.reviewStreamBroadcaster = reviewStreamBroadcaster;
     }
 
 
@@ -34,7 +54,7 @@ public class ReviewController {
             summary = "Dosya ile yorum oluştur",
             description = "Yeni bir yorum oluşturur ve isteğe bağlı olarak dosya ekler.")
     @PostMapping(consumes = {"multipart/form-data"})
-    public ResponseEntity<Review> createReview(
+    public ResponseEntity<ReviewView> createReview(
             @RequestParam Long userId,
             @RequestParam Long facilityId,
             @RequestParam String content,
@@ -42,58 +62,103 @@ public class ReviewController {
             @RequestParam(required = false) List<MultipartFile> files) {
 
         Review review = reviewService.createReview(userId, facilityId, content, rating, files);
-        return new ResponseEntity<>(review, HttpStatus.CREATED);
+        return new ResponseEntity<>(ReviewView.of(review), HttpStatus.CREATED);
     }
 
 
     @Operation(
             summary = "Bütün Onaylanmış Yorumları Göster",
-            description = "Bütün Onaylanmış Yorumları Gösterir.")
+            description = "Onaylanmış yorumları en yeniden eskiye sayfa sayfa gösterir. " +
+                    "Sonraki sayfa için yanıttaki 'next' değeri 'cursor' olarak gönderilir. " +
+                    "ETag gönderir; If-None-Match eşleşirse 304 döner.")
     @GetMapping
-    public ResponseEntity<List<Review>> getAllReviews() {
-
-        List<Review> reviews = reviewService.getReviewsByStatus(ReviewStatus.APPROVED);
+    public ResponseEntity<CursorPage<PublicReviewView>> getAllReviews(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "" + ReviewQueryService.DEFAULT_PAGE_SIZE) int size,
+            NativeWebRequest request) {
+
+        if (ConditionalRequests.checkCollectionNotModified(request, reviewQueryService.getApprovedReviewsVersion())) {
+            return null;
+        }
+        CursorPage<PublicReviewView> reviews = reviewQueryService.getApprovedReviews(cursor, size);
         return ResponseEntity.ok(reviews);
     }
 
 
     @Operation(
             summary = "Belirli Onaylanmış bir Yorumu Göster",
-            description = "Girilen ID'ye göre Onaylanmış yorum gösterir.")
+            description = "Girilen ID'ye göre Onaylanmış yorum gösterir. " +
+                    "ETag ve Last-Modified gönderir; If-None-Match / If-Modified-Since eşleşirse 304 döner.")
     @GetMapping("/{id}")
-    public ResponseEntity<Review> getReviewById(@PathVariable Long id) {
+    public ResponseEntity<PublicReviewView> getReviewById(@PathVariable Long id, NativeWebRequest request) {
         Review review = reviewService.getReviewById(id);
-        return ResponseEntity.ok(review);
+        if (ConditionalRequests.checkNotModified(request, versionOf(review))) {
+            return null;
+        }
+        return ResponseEntity.ok(PublicReviewView.of(review));
     }
 
 
     @Operation(
             summary = "Tesisin Bütün Onaylanmış Yorumlarını Göster",
-            description = "Girilen Tesis ID'ye göre Onaylanmış yorumları gösterir.")
+            description = "Girilen Tesis ID'ye göre Onaylanmış yorumları sayfa sayfa gösterir. " +
+                    "ETag gönderir; If-None-Match eşleşirse 304 döner.")
     @GetMapping("/facility/{facilityId}")
-    public ResponseEntity<List<Review>> getReviewsByFacility(@PathVariable Long facilityId) {
-
-        List<Review> reviews = reviewService.getApprovedReviewsByFacility(facilityId);
+    public ResponseEntity<CursorPage<PublicReviewView>> getReviewsByFacility(
+            @PathVariable Long facilityId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "" + ReviewQueryService.DEFAULT_PAGE_SIZE) int size,
+            NativeWebRequest request) {
+
+        ResourceVersion version = reviewQueryService.getApprovedReviewsByFacilityVersion(facilityId);
+        if (ConditionalRequests.checkCollectionNotModified(request, version)) {
+            return null;
+        }
+        CursorPage<PublicReviewView> reviews = reviewQueryService.getApprovedReviewsByFacility(facilityId, cursor, size);
         return ResponseEntity.ok(reviews);
     }
 
 
+    @Operation(
+            summary = "Tesisin Yeni Onaylanan Yorumlarını Canlı Takip Et",
+            description = "Server-Sent Events akışı açar; tesise ait yorumlar onaylandıkça 'review' olayı olarak gönderilir. " +
+                    "Yavaş okuyan istemcilerin bağlantısı kapatılır, EventSource otomatik olarak yeniden bağlanır.")
+    @GetMapping(value = "/facility/{facilityId}/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamApprovedReviews(@PathVariable Long facilityId) {
+        facilityService.getFacilityById(facilityId);
+        return reviewStreamBroadcaster.subscribe(facilityId);
+    }
+
+
     @Operation(
             summary = "Kullanıcının Bütün Yorumlarını Göster",
-            description = "Girilen Kullanıcı ID'ye göre yorumları gösterir.")
+            description = "Girilen Kullanıcı ID'ye göre yorumları sayfa sayfa gösterir. " +
+                    "ETag gönderir; If-None-Match eşleşirse 304 döner.")
     @GetMapping("/user/{userId}")
-    public ResponseEntity<List<Review>> getReviewsByUser(@PathVariable Long userId) {
-
-        List<Review> reviews = reviewService.getReviewsByUser(userId);
+    public ResponseEntity<CursorPage<ReviewView>> getReviewsByUser(
+            @PathVariable Long userId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "" + ReviewQueryService.DEFAULT_PAGE_SIZE) int size,
+            NativeWebRequest request) {
+
+        if (ConditionalRequests.checkCollectionNotModified(request, reviewQueryService.getReviewsByUserVersion(userId))) {
+            return null;
+        }
+        CursorPage<ReviewView> reviews = reviewQueryService.getReviewsByUser(userId, cursor, size);
         return ResponseEntity.ok(reviews);
     }
 
 
     @Operation(
             summary = "Girilen Tesisin Yorum İstatistiklerini Göster",
-            description = "Girilen Tesis ID'ye göre yorum istatistiklerini gösterir.")
+            description = "Girilen Tesis ID'ye göre yorum istatistiklerini gösterir. " +
+                    "ETag ve Last-Modified gönderir; If-None-Match / If-Modified-Since eşleşirse 304 döner.")
     @GetMapping("/facility/{facilityId}/statistics")
-    public ResponseEntity<ReviewService.ReviewStatistics> getReviewStatistics(@PathVariable Long facilityId) {
+    public ResponseEntity<ReviewService.ReviewStatistics> getReviewStatistics(@PathVariable Long facilityId,
+                                                                              NativeWebRequest request) {
+        if (ConditionalRequests.checkNotModified(request, reviewService.getReviewStatisticsVersion(facilityId))) {
+            return null;
+        }
         ReviewService.ReviewStatistics stats = reviewService.getReviewStatistics(facilityId);
         return ResponseEntity.ok(stats);
     }
@@ -103,13 +168,13 @@ public class ReviewController {
             summary = "Beklemede olan yorumu güncelle",
             description = "Girilen parametrelere göre beklemede olan yorumu günceller.")
     @PutMapping("/{id}")
-    public ResponseEntity<Review> updateReview(
+    public ResponseEntity<ReviewView> updateReview(
             @PathVariable Long id,
             @RequestParam Long userId,
             @Valid @RequestBody UpdateReviewRequest request) {
 
         Review updatedReview = reviewService.updateReview(id, userId, request.getContent(), request.getRating());
-        return ResponseEntity.ok(updatedReview);
+        return ResponseEntity.ok(ReviewView.of(updatedReview));
     }
 
     @Operation(
@@ -121,6 +186,19 @@ public class ReviewController {
         return ResponseEntity.noContent().build();
     }
 
+    /**
+     * Yorum gövdesine kullanıcı, tesis ve ekler de gömülü olduğu için hepsinin güncellenme zamanı hesaba katılır.
+     */
+    private static ResourceVersion versionOf(Review review) {
+        ResourceVersion version = ResourceVersion.of(review.getUpdatedAt(),
+                review.getUser().getUpdatedAt(), review.getFacility().getUpdatedAt());
+        for (FileAttachment attachment : review.getAttachments()) {
+            version = version.and(new ResourceVersion(0, attachment.getUpdatedAt()));
+        }
+        return version;
+    }
+
+
     public static class UpdateReviewRequest {
         private String content;
         @Min(1) @Max(5)
@@ -3,13 +3,16 @@ package org.example.tesis_yorum.controller;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
+import org.example.tesis_yorum.dto.ResourceVersion;
 import org.example.tesis_yorum.entity.User;
 import org.example.tesis_yorum.entity.UserRole;
 import org.example.tesis_yorum.service.UserService;
+import org.example.tesis_yorum.web.ConditionalRequests;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.NativeWebRequest;
 
 import java.util.List;
 
@@ -44,28 +47,39 @@ public class UserController {
 
     @Operation(
             summary = "Bütün kullanıcıları göster",
-            description = "Bütün kullanıcıları gösterir.")
+            description = "Bütün kullanıcıları gösterir. ETag gönderir; If-None-Match eşleşirse 304 döner.")
     @GetMapping
-    public ResponseEntity<List<User>> getAllUsers() {
+    public ResponseEntity<List<User>> getAllUsers(NativeWebRequest request) {
+        if (ConditionalRequests.checkCollectionNotModified(request, userService.getUsersVersion())) {
+            return null;
+        }
         List<User> users = userService.getAllUsers();
         return ResponseEntity.ok(users);
     }
 
     @Operation(
             summary = "Kullanıcıları ID'ye göre göster",
-            description = "Kullanıcıları girilen ID'ye göre gösterir.")
+            description = "Kullanıcıları girilen ID'ye göre gösterir. " +
+                    "ETag ve Last-Modified gönderir; If-None-Match / If-Modified-Since eşleşirse 304 döner.")
     @GetMapping("/{id}")
-    public ResponseEntity<User> getUserById(@PathVariable Long id) {
+    public ResponseEntity<User> getUserById(@PathVariable Long id, NativeWebRequest request) {
         User user = userService.getUserById(id);
+        if (ConditionalRequests.checkNotModified(request, ResourceVersion.of(user.getUpdatedAt()))) {
+            return null;
+        }
         return ResponseEntity.ok(user);
     }
 
     @Operation(
             summary = "Kullanıcıları kullanıcı ismine göre göster",
-            description = "Kullanıcıları girilen kullanıcı ismine göre gösterir.")
+            description = "Kullanıcıları girilen kullanıcı ismine göre gösterir. " +
+                    "ETag ve Last-Modified gönderir; If-None-Match / If-Modified-Since eşleşirse 304 döner.")
     @GetMapping("/username/{username}")
-    public ResponseEntity<User> getUserByUsername(@PathVariable String username) {
+    public ResponseEntity<User> getUserByUsername(@PathVariable String username, NativeWebRequest request) {
         User user = userService.getUserByUsername(username);
+        if (ConditionalRequests.checkNotModified(request, ResourceVersion.of(user.getUpdatedAt()))) {
+            return null;
+        }
         return ResponseEntity.ok(user);
     }
 
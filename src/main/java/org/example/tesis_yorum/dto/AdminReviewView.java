@@ -0,0 +1,74 @@
+package org.example.tesis_yorum.dto;
+
+import org.example.tesis_yorum.dto.ReviewView.FacilityRef;
+import org.example.tesis_yorum.entity.Review;
+import org.example.tesis_yorum.entity.ReviewStatus;
+import org.example.tesis_yorum.entity.User;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Admin uç noktalarının yorum yanıt modeli.
+ *
+ * Yorum sahibinin gördüklerine ek olarak onay ve üstlenme (kiralama) bilgilerini ve yazarın e-postasını içerir.
+ *
+ * Örnek Yanıt:
+ * {
+ *   "id": 12,
+ *   "content": "Muazzam hizmet, Muazzam kalite",
+ *   "rating": 5,
+ *   "status": "PENDING",
+ *   "adminNotes": null,
+ *   "approvedBy": null,
+ *   "approvedAt": null,
+ *   "claimedBy": 2,
+ *   "claimExpiresAt": "2025-01-15T10:40:00",
+ *   "user": { "id": 1, "username": "zeynep_sonmez", "fullName": "Zeynep Sonmez", "email": "zeynep_sonmez34@hotmail.com" },
+ *   "facility": { "id": 1, "name": "Royal Tsar Belek" },
+ *   "attachments": []
+ * }
+ */
+public record AdminReviewView(
+        Long id,
+        String content,
+        Integer rating,
+        ReviewStatus status,
+        String adminNotes,
+        Long approvedBy,
+        LocalDateTime approvedAt,
+        Long claimedBy,
+        LocalDateTime claimExpiresAt,
+        LocalDateTime createdAt,
+        LocalDateTime updatedAt,
+        AuthorRef user,
+        FacilityRef facility,
+        List<AttachmentView> attachments) {
+
+    public record AuthorRef(Long id, String username, String fullName, String email) {
+    }
+
+    public static AdminReviewView of(Review review) {
+        User user = review.getUser();
+        return new AdminReviewView(
+                review.getId(),
+                review.getContent(),
+                review.getRating(),
+                review.getStatus(),
+                review.getAdminNotes(),
+                review.getApprovedBy(),
+                review.getApprovedAt(),
+                review.getClaimedBy(),
+                review.getClaimExpiresAt(),
+                review.getCreatedAt(),
+                review.getUpdatedAt(),
+                new AuthorRef(user.getId(), user.getUsername(), user.getFullName(), user.getEmail()),
+                new FacilityRef(review.getFacility().getId(), review.getFacility().getName()),
+                AttachmentView.listOf(review));
+    }
+
+    public static List<AdminReviewView> listOf(List<Review> reviews) {
+        return reviews.stream().map(AdminReviewView::of).collect(Collectors.toList());
+    }
+}
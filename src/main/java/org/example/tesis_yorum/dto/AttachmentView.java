@@ -0,0 +1,39 @@
+package org.example.tesis_yorum.dto;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import org.example.tesis_yorum.entity.AttachmentStatus;
+import org.example.tesis_yorum.entity.FileAttachment;
+import org.example.tesis_yorum.entity.Review;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Yorum yanıtlarında dönen dosya eki bilgisi (sunucudaki dosya yolu ve saklama adları dışarı verilmez).
+ */
+public record AttachmentView(
+        Long id,
+        @JsonIgnore Long reviewId,
+        String originalFilename,
+        String contentType,
+        Long fileSize,
+        AttachmentStatus status) {
+
+    public static AttachmentView of(FileAttachment attachment, Long reviewId) {
+        return new AttachmentView(
+                attachment.getId(),
+                reviewId,
+                attachment.getOriginalFilename(),
+                attachment.getContentType(),
+                attachment.getFileSize(),
+                attachment.getStatus());
+    }
+
+    public static List<AttachmentView> listOf(Review review) {
+        List<AttachmentView> views = new ArrayList<>(review.getAttachments().size());
+        for (FileAttachment attachment : review.getAttachments()) {
+            views.add(of(attachment, review.getId()));
+        }
+        return views;
+    }
+}
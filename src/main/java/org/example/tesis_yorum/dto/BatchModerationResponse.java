@@ -0,0 +1,9 @@
+package org.example.tesis_yorum.dto;
+
+import java.util.List;
+
+/**
+ * Toplu onay/red sonucu; {@code results} istekteki sırayla, her ID için bir kez döner.
+ */
+public record BatchModerationResponse(int requested, int moderated, List<BatchModerationResult> results) {
+}
@@ -0,0 +1,15 @@
+package org.example.tesis_yorum.dto;
+
+/**
+ * Toplu onay/red isteğindeki tek bir yorumun sonucu.
+ */
+public record BatchModerationResult(Long reviewId, Outcome outcome) {
+
+    public enum Outcome {
+        APPROVED,
+        REJECTED,
+        NOT_FOUND,
+        NOT_PENDING,
+        CLAIMED_BY_OTHER
+    }
+}
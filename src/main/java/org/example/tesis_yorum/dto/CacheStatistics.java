@@ -0,0 +1,13 @@
+package org.example.tesis_yorum.dto;
+
+/**
+ * Bir önbelleğin isabet/ıska/tahliye istatistikleri.
+ */
+public record CacheStatistics(
+        String name,
+        long size,
+        long hitCount,
+        long missCount,
+        double hitRate,
+        long evictionCount) {
+}
@@ -0,0 +1,31 @@
+package org.example.tesis_yorum.dto;
+
+import java.util.List;
+
+/**
+ * İmleç (keyset) tabanlı sayfa yanıtı.
+ *
+ * Örnek Yanıt:
+ * {
+ *   "items": [ ... ],
+ *   "size": 20,
+ *   "next": "MjAyNS0wMS0xNVQxMDozMDowMHwxMjM"
+ * }
+ *
+ * "next" null ise son sayfaya gelinmiştir; değilse bir sonraki istekte "cursor" parametresi olarak gönderilir.
+ */
+public class CursorPage<T> {
+    private final List<T> items;
+    private final int size;
+    private final String next;
+
+    public CursorPage(List<T> items, String next) {
+        this.items = items;
+        this.size = items.size();
+        this.next = next;
+    }
+
+    public List<T> getItems() { return items; }
+    public int getSize() { return size; }
+    public String getNext() { return next; }
+}
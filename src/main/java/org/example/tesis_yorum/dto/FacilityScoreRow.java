@@ -0,0 +1,20 @@
+package org.example.tesis_yorum.dto;
+
+import org.example.tesis_yorum.entity.FacilityType;
+
+/**
+ * Puana göre sıralama sorgusunun döndürdüğü düz satır (tesis + puan özeti).
+ */
+public record FacilityScoreRow(
+        Long facilityId,
+        String name,
+        String city,
+        FacilityType type,
+        long reviewCount,
+        long ratingSum,
+        double score) {
+
+    public double averageRating() {
+        return reviewCount == 0 ? 0.0 : (double) ratingSum / reviewCount;
+    }
+}
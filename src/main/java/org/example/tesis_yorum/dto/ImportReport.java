@@ -0,0 +1,24 @@
+package org.example.tesis_yorum.dto;
+
+import org.example.tesis_yorum.importer.ImportEntityType;
+
+import java.util.List;
+
+/**
+ * Toplu içe aktarım sonucu. {@code rejectedRows} en fazla ilk 1000 reddedilen satırı içerir;
+ * daha fazlası varsa {@code rejectedRowsTruncated} true olur.
+ */
+public record ImportReport(ImportEntityType type,
+                           long processed,
+                           long imported,
+                           long rejected,
+                           List<RejectedRow> rejectedRows,
+                           boolean rejectedRowsTruncated,
+                           long durationMillis) {
+
+    /**
+     * @param line kaydın girdideki satır numarası
+     */
+    public record RejectedRow(long line, String reason) {
+    }
+}
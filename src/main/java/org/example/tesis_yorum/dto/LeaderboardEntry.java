@@ -0,0 +1,16 @@
+package org.example.tesis_yorum.dto;
+
+import org.example.tesis_yorum.entity.FacilityType;
+
+/**
+ * Sıralamadaki bir tesis; {@code rank} 1'den başlar, {@code score} Bayes puanıdır.
+ */
+public record LeaderboardEntry(int rank,
+                               Long facilityId,
+                               String name,
+                               String city,
+                               FacilityType type,
+                               long reviewCount,
+                               double averageRating,
+                               double score) {
+}
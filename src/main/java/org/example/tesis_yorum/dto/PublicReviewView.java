@@ -0,0 +1,61 @@
+package org.example.tesis_yorum.dto;
+
+import org.example.tesis_yorum.dto.ReviewView.FacilityRef;
+import org.example.tesis_yorum.dto.ReviewView.UserRef;
+import org.example.tesis_yorum.entity.Review;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Onaylı yorumların herkese açık yanıt modeli: yorum listeleri, yorum detayı ve canlı akış.
+ *
+ * Sadece okuyucunun ihtiyaç duyduğu alanlar döner; kullanıcının e-postası ve rolü, tesisin adresi/açıklaması,
+ * yorumun admin notu ve durumu (her zaman APPROVED) yanıta girmez.
+ *
+ * Örnek Yanıt:
+ * {
+ *   "id": 12,
+ *   "content": "Muazzam hizmet, Muazzam kalite",
+ *   "rating": 5,
+ *   "createdAt": "2025-01-15T10:30:00",
+ *   "updatedAt": "2025-01-15T11:00:00",
+ *   "user": { "id": 1, "username": "zeynep_sonmez", "fullName": "Zeynep Sonmez" },
+ *   "facility": { "id": 1, "name": "Royal Tsar Belek" },
+ *   "attachments": [ { "id": 3, "originalFilename": "havuz.jpg", "contentType": "image/jpeg", "fileSize": 204800, "status": "READY" } ]
+ * }
+ */
+public record PublicReviewView(
+        Long id,
+        String content,
+        Integer rating,
+        LocalDateTime createdAt,
+        LocalDateTime updatedAt,
+        UserRef user,
+        FacilityRef facility,
+        List<AttachmentView> attachments) {
+
+    public static PublicReviewView of(ReviewRow row, List<AttachmentView> attachments) {
+        return new PublicReviewView(
+                row.id(),
+                row.content(),
+                row.rating(),
+                row.createdAt(),
+                row.updatedAt(),
+                new UserRef(row.userId(), row.username(), row.userFullName()),
+                new FacilityRef(row.facilityId(), row.facilityName()),
+                attachments);
+    }
+
+    public static PublicReviewView of(Review review) {
+        return new PublicReviewView(
+                review.getId(),
+                review.getContent(),
+                review.getRating(),
+                review.getCreatedAt(),
+                review.getUpdatedAt(),
+                new UserRef(review.getUser().getId(), review.getUser().getUsername(), review.getUser().getFullName()),
+                new FacilityRef(review.getFacility().getId(), review.getFacility().getName()),
+                AttachmentView.listOf(review));
+    }
+}
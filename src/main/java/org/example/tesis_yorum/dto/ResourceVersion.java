@@ -0,0 +1,52 @@
+package org.example.tesis_yorum.dto;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+
+/**
+ * Bir kaynağın ya da koleksiyonun sürümü: satır sayısı ve en son güncellenme zamanı.
+ *
+ * Yanıt gövdesi yüklenmeden/serileştirilmeden ETag üretmek için kullanılır. Her ekleme ve güncelleme
+ * en büyük {@code updatedAt} değerini, her silme satır sayısını değiştirdiği için ikisi birlikte
+ * koleksiyondaki her değişikliği yakalar.
+ */
+public record ResourceVersion(long count, LocalDateTime lastModified) {
+
+    public static final ResourceVersion EMPTY = new ResourceVersion(0, null);
+
+    /**
+     * Tek bir kaynak (ve gövdesine gömülü ilişkileri) için sürüm.
+     */
+    public static ResourceVersion of(LocalDateTime... timestamps) {
+        ResourceVersion version = EMPTY;
+        for (LocalDateTime timestamp : timestamps) {
+            version = version.and(new ResourceVersion(0, timestamp));
+        }
+        return new ResourceVersion(1, version.lastModified());
+    }
+
+    /**
+     * Yanıt birden çok tablodan besleniyorsa sürümleri birleştirir.
+     */
+    public ResourceVersion and(ResourceVersion other) {
+        LocalDateTime latest = lastModified;
+        if (latest == null || (other.lastModified != null && other.lastModified.isAfter(latest))) {
+            latest = other.lastModified;
+        }
+        return new ResourceVersion(count + other.count, latest);
+    }
+
+    /**
+     * @return epoch milisaniye, zaman yoksa -1 (Spring'in "bilinmiyor" değeri)
+     */
+    public long lastModifiedMillis() {
+        return lastModified == null ? -1 : lastModified.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+
+    /**
+     * Zayıf ETag: içerik bayt bayt aynı olmasa da (ör. sıkıştırma) anlamca aynı yanıt.
+     */
+    public String toETag() {
+        return "W/\"" + Long.toString(count, 36) + "-" + Long.toString(Math.max(lastModifiedMillis(), 0), 36) + "\"";
+    }
+}
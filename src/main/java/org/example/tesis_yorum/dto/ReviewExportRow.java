@@ -0,0 +1,24 @@
+package org.example.tesis_yorum.dto;
+
+import org.example.tesis_yorum.entity.ReviewStatus;
+
+import java.time.LocalDateTime;
+
+/**
+ * Toplu dışa aktarımda (export) yazılan tek yorum satırı.
+ *
+ * Kullanıcı ve tesis sadece ID olarak taşınır; analiz tarafı bunları kendi tablolarıyla birleştirir.
+ */
+public record ReviewExportRow(
+        Long id,
+        Long facilityId,
+        Long userId,
+        Integer rating,
+        ReviewStatus status,
+        String content,
+        String adminNotes,
+        Long approvedBy,
+        LocalDateTime approvedAt,
+        LocalDateTime createdAt,
+        LocalDateTime updatedAt) {
+}
@@ -0,0 +1,25 @@
+package org.example.tesis_yorum.dto;
+
+import org.example.tesis_yorum.entity.ReviewStatus;
+
+import java.time.LocalDateTime;
+
+/**
+ * Yorum listeleme sorgularının döndürdüğü düz satır.
+ *
+ * JPQL "SELECT new" ile doldurulur; Review entity'si ve EAGER ilişkileri hiç yüklenmez.
+ */
+public record ReviewRow(
+        Long id,
+        String content,
+        Integer rating,
+        ReviewStatus status,
+        String adminNotes,
+        LocalDateTime createdAt,
+        LocalDateTime updatedAt,
+        Long userId,
+        String username,
+        String userFullName,
+        Long facilityId,
+        String facilityName) {
+}
@@ -0,0 +1,70 @@
+package org.example.tesis_yorum.dto;
+
+import org.example.tesis_yorum.entity.Review;
+import org.example.tesis_yorum.entity.ReviewStatus;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Yorum sahibinin gördüğü yanıt modeli: kullanıcının yorum listesi, yorum oluşturma ve güncelleme.
+ *
+ * Herkese açık modelden ({@link PublicReviewView}) farkı yorumun durumu ve admin notudur (ör. ret sebebi).
+ *
+ * Örnek Yanıt:
+ * {
+ *   "id": 12,
+ *   "content": "Muazzam hizmet, Muazzam kalite",
+ *   "rating": 5,
+ *   "status": "APPROVED",
+ *   "user": { "id": 1, "username": "zeynep_sonmez", "fullName": "Zeynep Sonmez" },
+ *   "facility": { "id": 1, "name": "Royal Tsar Belek" },
+ *   "attachments": [ { "id": 3, "originalFilename": "havuz.jpg", "contentType": "image/jpeg", "fileSize": 204800 } ]
+ * }
+ */
+public record ReviewView(
+        Long id,
+        String content,
+        Integer rating,
+        ReviewStatus status,
+        String adminNotes,
+        LocalDateTime createdAt,
+        LocalDateTime updatedAt,
+        UserRef user,
+        FacilityRef facility,
+        List<AttachmentView> attachments) {
+
+    public record UserRef(Long id, String username, String fullName) {
+    }
+
+    public record FacilityRef(Long id, String name) {
+    }
+
+    public static ReviewView of(ReviewRow row, List<AttachmentView> attachments) {
+        return new ReviewView(
+                row.id(),
+                row.content(),
+                row.rating(),
+                row.status(),
+                row.adminNotes(),
+                row.createdAt(),
+                row.updatedAt(),
+                new UserRef(row.userId(), row.username(), row.userFullName()),
+                new FacilityRef(row.facilityId(), row.facilityName()),
+                attachments);
+    }
+
+    public static ReviewView of(Review review) {
+        return new ReviewView(
+                review.getId(),
+                review.getContent(),
+                review.getRating(),
+                review.getStatus(),
+                review.getAdminNotes(),
+                review.getCreatedAt(),
+                review.getUpdatedAt(),
+                new UserRef(review.getUser().getId(), review.getUser().getUsername(), review.getUser().getFullName()),
+                new FacilityRef(review.getFacility().getId(), review.getFacility().getName()),
+                AttachmentView.listOf(review));
+    }
+}
@@ -0,0 +1,22 @@
+package org.example.tesis_yorum.entity;
+
+public enum AttachmentStatus {
+    PENDING("Processing"),
+    READY("Ready"),
+    FAILED("Failed");
+
+    private final String displayName;
+
+    AttachmentStatus(String displayName) {
+        this.displayName = displayName;
+    }
+
+    public String getDisplayName() {
+        return displayName;
+    }
+
+    @Override
+    public String toString() {
+        return displayName;
+    }
+}
@@ -16,7 +16,8 @@ import java.util.List;
 public class Facility {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "facilities_seq")
+    @SequenceGenerator(name = "facilities_seq", sequenceName = "facilities_seq", allocationSize = 50)
     private Long id;
 
     @NotBlank(message = "Facility name is required")
@@ -117,6 +118,10 @@ public class Facility {
         return reviews;
     }
 
+    public LocalDateTime getUpdatedAt() {
+        return updatedAt;
+    }
+
     public void setReviews(List<Review> reviews) {
         this.reviews = reviews;
     }
@@ -0,0 +1,180 @@
+package org.example.tesis_yorum.entity;
+
+import jakarta.persistence.*;
+import org.hibernate.annotations.UpdateTimestamp;
+
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Bir tesisin onaylı yorumlarına ait özet istatistikler.
+ *
+ * Tesisle birlikte oluşturulur; yorum onaylandığında, silindiğinde veya tesis silindiğinde aynı transaction içinde
+ * güncellenir; böylece istatistik uç noktası yorum tablosunu taramadan tek satır okur.
+ *
+ * {@code score}, ortalamanın yorum sayısına göre güvenilirliğini hesaba katan Bayes puanıdır:
+ * az yorumlu tesisler bütün tesislerin ortalamasına (önsel) yakın kalır, yorum arttıkça kendi ortalamasına yaklaşır.
+ * İndeksli olduğu için puana göre sıralama ve filtreleme yorum tablosunu taramaz.
+ */
+@Entity
+@Table(name = "facility_rating_aggregates")
+public class FacilityRatingAggregate {
+
+    public static final int MIN_RATING = 1;
+    public static final int MAX_RATING = 5;
+
+    @Id
+    @Column(name = "facility_id")
+    private Long facilityId;
+
+    @Column(name = "review_count", nullable = false)
+    private long reviewCount;
+
+    @Column(name = "rating_sum", nullable = false)
+    private long ratingSum;
+
+    @Column(name = "rating_1_count", nullable = false)
+    private long rating1Count;
+
+    @Column(name = "rating_2_count", nullable = false)
+    private long rating2Count;
+
+    @Column(name = "rating_3_count", nullable = false)
+    private long rating3Count;
+
+    @Column(name = "rating_4_count", nullable = false)
+    private long rating4Count;
+
+    @Column(name = "rating_5_count", nullable = false)
+    private long rating5Count;
+
+    @Column(name = "score", nullable = false)
+    private double score;
+
+    @UpdateTimestamp
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+
+    // Constructors
+    public FacilityRatingAggregate() {}
+
+    public FacilityRatingAggregate(Long facilityId) {
+        this.facilityId = facilityId;
+    }
+
+    // Getters and Setters
+    public Long getFacilityId() {
+        return facilityId;
+    }
+
+    public void setFacilityId(Long facilityId) {
+        this.facilityId = facilityId;
+    }
+
+    public long getReviewCount() {
+        return reviewCount;
+    }
+
+    public long getRatingSum() {
+        return ratingSum;
+    }
+
+    public double getScore() {
+        return score;
+    }
+
+    public LocalDateTime getUpdatedAt() {
+        return updatedAt;
+    }
+
+    // Helper methods
+    public void addRating(int rating, long count) {
+        adjustRatingCount(rating, count);
+        this.reviewCount += count;
+        this.ratingSum += (long) rating * count;
+    }
+
+    public void removeRating(int rating, long count) {
+        if (getRatingCount(rating) < count) {
+            throw new IllegalStateException("Rating aggregate for facility " + facilityId +
+                    " has fewer than " + count + " reviews with rating " + rating);
+        }
+        adjustRatingCount(rating, -count);
+        this.reviewCount -= count;
+        this.ratingSum -= (long) rating * count;
+    }
+
+    public void clearRatings() {
+        rating1Count = 0;
+        rating2Count = 0;
+        rating3Count = 0;
+        rating4Count = 0;
+        rating5Count = 0;
+        reviewCount = 0;
+        ratingSum = 0;
+    }
+
+    public double getAverageRating() {
+        return reviewCount == 0 ? 0.0 : (double) ratingSum / reviewCount;
+    }
+
+    /**
+     * Bayes ortalaması: (priorWeight * priorMean + puan toplamı) / (priorWeight + yorum sayısı).
+     * Önsel, priorWeight kadar ortalama puanlı sanal yorum gibi davranır.
+     */
+    public void updateScore(double priorMean, double priorWeight) {
+        this.score = bayesianScore(ratingSum, reviewCount, priorMean, priorWeight);
+    }
+
+    public static double bayesianScore(long ratingSum, long reviewCount, double priorMean, double priorWeight) {
+        return (priorWeight * priorMean + ratingSum) / (priorWeight + reviewCount);
+    }
+
+    public long getRatingCount(int rating) {
+        switch (rating) {
+            case 1: return rating1Count;
+            case 2: return rating2Count;
+            case 3: return rating3Count;
+            case 4: return rating4Count;
+            case 5: return rating5Count;
+            default: throw new IllegalArgumentException("Rating must be between 1 and 5: " + rating);
+        }
+    }
+
+    /**
+     * Sadece en az bir yorumu olan puanları döner (eski GROUP BY sorgusuyla aynı şekil).
+     */
+    public Map<Integer, Long> getRatingCounts() {
+        Map<Integer, Long> counts = new LinkedHashMap<>();
+        for (int rating = MIN_RATING; rating <= MAX_RATING; rating++) {
+            long count = getRatingCount(rating);
+            if (count > 0) {
+                counts.put(rating, count);
+            }
+        }
+        return counts;
+    }
+
+    private void adjustRatingCount(int rating, long delta) {
+        switch (rating) {
+            case 1: rating1Count += delta; break;
+            case 2: rating2Count += delta; break;
+            case 3: rating3Count += delta; break;
+            case 4: rating4Count += delta; break;
+            case 5: rating5Count += delta; break;
+            default: throw new IllegalArgumentException("Rating must be between 1 and 5: " + rating);
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "FacilityRatingAggregate{" +
+                "facilityId=" + facilityId +
+                ", reviewCount=" + reviewCount +
+                ", ratingSum=" + ratingSum +
+                ", score=" + score +
+                ", ratingCounts=" + getRatingCounts() +
+                '}';
+    }
+}
@@ -6,6 +6,7 @@ import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.Positive;
 import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.UpdateTimestamp;
 
 import java.time.LocalDateTime;
 
@@ -14,19 +15,20 @@ import java.time.LocalDateTime;
 public class FileAttachment {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "file_attachments_seq")
+    @SequenceGenerator(name = "file_attachments_seq", sequenceName = "file_attachments_seq", allocationSize = 50)
     private Long id;
 
     @NotBlank(message = "Original filename is required")
     @Column(name = "original_filename", nullable = false)
     private String originalFilename;
 
-    @NotBlank(message = "Stored filename is required")
-    @Column(name = "stored_filename", nullable = false, unique = true)
+    // Content-addressed: attachments with identical bytes share the same stored file.
+    // Stored filename and path stay empty until the attachment is READY.
+    @Column(name = "stored_filename")
     private String storedFilename;
 
-    @NotBlank(message = "File path is required")
-    @Column(name = "file_path", nullable = false)
+    @Column(name = "file_path")
     private String filePath;
 
     @NotBlank(message = "Content type is required")
@@ -38,6 +40,21 @@ public class FileAttachment {
     @Column(name = "file_size", nullable = false)
     private Long fileSize;
 
+    @Column(name = "content_sha256", length = 64)
+    private String contentHash;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private AttachmentStatus status = AttachmentStatus.PENDING;
+
+    // Name of the upload in the staging area while the attachment is PENDING
+    @JsonIgnore
+    @Column(name = "staged_filename")
+    private String stagedFilename;
+
+    @Column(name = "failure_reason")
+    private String failureReason;
+
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "review_id", nullable = false)
     @JsonIgnore  // Completely ignore review to prevent circular reference
@@ -47,16 +64,21 @@ public class FileAttachment {
     @Column(name = "created_at", nullable = false, updatable = false)
     private LocalDateTime createdAt;
 
+    // Bumped when processing marks the attachment READY/FAILED; part of the review list ETags
+    @UpdateTimestamp
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+
     // Constructors
     public FileAttachment() {}
 
-    public FileAttachment(String originalFilename, String storedFilename, String filePath,
-                          String contentType, Long fileSize, Review review) {
+    public FileAttachment(String originalFilename, String contentType, Long fileSize,
+                          String contentHash, String stagedFilename, Review review) {
         this.originalFilename = originalFilename;
-        this.storedFilename = storedFilename;
-        this.filePath = filePath;
         this.contentType = contentType;
         this.fileSize = fileSize;
+        this.contentHash = contentHash;
+        this.stagedFilename = stagedFilename;
         this.review = review;
     }
 
@@ -109,6 +131,38 @@ public class FileAttachment {
         this.fileSize = fileSize;
     }
 
+    public String getContentHash() {
+        return contentHash;
+    }
+
+    public void setContentHash(String contentHash) {
+        this.contentHash = contentHash;
+    }
+
+    public AttachmentStatus getStatus() {
+        return status;
+    }
+
+    public void setStatus(AttachmentStatus status) {
+        this.status = status;
+    }
+
+    public String getStagedFilename() {
+        return stagedFilename;
+    }
+
+    public void setStagedFilename(String stagedFilename) {
+        this.stagedFilename = stagedFilename;
+    }
+
+    public String getFailureReason() {
+        return failureReason;
+    }
+
+    public void setFailureReason(String failureReason) {
+        this.failureReason = failureReason;
+    }
+
     public Review getReview() {
         return review;
     }
@@ -121,10 +175,34 @@ public class FileAttachment {
         return createdAt;
     }
 
+    public LocalDateTime getUpdatedAt() {
+        return updatedAt;
+    }
+
     public void setCreatedAt(LocalDateTime createdAt) {
         this.createdAt = createdAt;
     }
 
+    // Helper methods
+    @JsonIgnore
+    public boolean isPending() {
+        return status == AttachmentStatus.PENDING;
+    }
+
+    public void markReady(String storedFilename, String filePath, String contentHash, Long fileSize) {
+        this.storedFilename = storedFilename;
+        this.filePath = filePath;
+        this.contentHash = contentHash;
+        this.fileSize = fileSize;
+        this.stagedFilename = null;
+        this.status = AttachmentStatus.READY;
+    }
+
+    public void markFailed(String failureReason) {
+        this.failureReason = failureReason;
+        this.stagedFilename = null;
+        this.status = AttachmentStatus.FAILED;
+    }
 
 
     @Override
@@ -135,6 +213,8 @@ public class FileAttachment {
                 ", storedFilename='" + storedFilename + '\'' +
                 ", contentType='" + contentType + '\'' +
                 ", fileSize=" + fileSize +
+                ", contentHash='" + contentHash + '\'' +
+                ", status=" + status +
                 ", createdAt=" + createdAt +
                 '}';
     }
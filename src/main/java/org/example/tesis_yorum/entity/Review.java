@@ -6,7 +6,6 @@ import jakarta.validation.constraints.Max;
 import jakarta.validation.constraints.Min;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.Size;
-import org.hibernate.annotations.CreationTimestamp;
 import org.hibernate.annotations.UpdateTimestamp;
 
 import java.time.LocalDateTime;
@@ -18,7 +17,8 @@ import java.util.List;
 public class Review {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "reviews_seq")
+    @SequenceGenerator(name = "reviews_seq", sequenceName = "reviews_seq", allocationSize = 50)
     private Long id;
 
     @NotBlank(message = "Review content is required")
@@ -59,7 +59,14 @@ public class Review {
     @Column(name = "approved_at")
     private LocalDateTime approvedAt;
 
-    @CreationTimestamp
+    // Moderation lease: the admin working on this pending review and when the lease lapses
+    @Column(name = "claimed_by")
+    private Long claimedBy;
+
+    @Column(name = "claim_expires_at")
+    private LocalDateTime claimExpiresAt;
+
+    // Set on insert unless already given (bulk import keeps the original review date)
     @Column(name = "created_at", nullable = false, updatable = false)
     private LocalDateTime createdAt;
 
@@ -158,6 +165,22 @@ public class Review {
         this.approvedAt = approvedAt;
     }
 
+    public Long getClaimedBy() {
+        return claimedBy;
+    }
+
+    public void setClaimedBy(Long claimedBy) {
+        this.claimedBy = claimedBy;
+    }
+
+    public LocalDateTime getClaimExpiresAt() {
+        return claimExpiresAt;
+    }
+
+    public void setClaimExpiresAt(LocalDateTime claimExpiresAt) {
+        this.claimExpiresAt = claimExpiresAt;
+    }
+
     public LocalDateTime getCreatedAt() {
         return createdAt;
     }
@@ -174,11 +197,19 @@ public class Review {
         this.updatedAt = updatedAt;
     }
 
+    @PrePersist
+    void onCreate() {
+        if (createdAt == null) {
+            createdAt = LocalDateTime.now();
+        }
+    }
+
     // Helper methods
     public void approve(Long adminId) {
         this.status = ReviewStatus.APPROVED;
         this.approvedBy = adminId;
         this.approvedAt = LocalDateTime.now();
+        release();
     }
 
     public void reject(Long adminId, String notes) {
@@ -186,6 +217,25 @@ public class Review {
         this.approvedBy = adminId;
         this.adminNotes = notes;
         this.approvedAt = LocalDateTime.now();
+        release();
+    }
+
+    public void claim(Long adminId, LocalDateTime expiresAt) {
+        this.claimedBy = adminId;
+        this.claimExpiresAt = expiresAt;
+    }
+
+    public void release() {
+        this.claimedBy = null;
+        this.claimExpiresAt = null;
+    }
+
+    /**
+     * Başka bir admin, süresi dolmamış bir kiralamayla bu yorum üzerinde çalışıyorsa true.
+     */
+    public boolean isClaimedByOther(Long adminId, LocalDateTime now) {
+        return claimedBy != null && !claimedBy.equals(adminId)
+                && claimExpiresAt != null && claimExpiresAt.isAfter(now);
     }
 
     @Override
@@ -0,0 +1,95 @@
+package org.example.tesis_yorum.entity;
+
+import jakarta.persistence.*;
+import org.hibernate.annotations.CreationTimestamp;
+
+import java.time.LocalDateTime;
+
+/**
+ * Diskte bir kez saklanan dosya içeriği (SHA-256 ile adreslenir).
+ *
+ * Aynı içerik birden fazla yoruma eklendiğinde dosya tekrar yazılmaz, sadece referans sayısı artar.
+ * Son referans silindiğinde fiziksel dosya da silinir.
+ */
+@Entity
+@Table(name = "stored_blobs")
+public class StoredBlob {
+
+    @Id
+    @Column(name = "sha256", length = 64)
+    private String sha256;
+
+    @Column(name = "stored_filename", nullable = false)
+    private String storedFilename;
+
+    @Column(name = "content_type", nullable = false)
+    private String contentType;
+
+    @Column(name = "file_size", nullable = false)
+    private Long fileSize;
+
+    @Column(name = "reference_count", nullable = false)
+    private long referenceCount;
+
+    @CreationTimestamp
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+
+    // Constructors
+    public StoredBlob() {}
+
+    public StoredBlob(String sha256, String storedFilename, String contentType, Long fileSize) {
+        this.sha256 = sha256;
+        this.storedFilename = storedFilename;
+        this.contentType = contentType;
+        this.fileSize = fileSize;
+    }
+
+    // Getters and Setters
+    public String getSha256() {
+        return sha256;
+    }
+
+    public String getStoredFilename() {
+        return storedFilename;
+    }
+
+    public String getContentType() {
+        return contentType;
+    }
+
+    public Long getFileSize() {
+        return fileSize;
+    }
+
+    public long getReferenceCount() {
+        return referenceCount;
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+
+    // Helper methods
+    public void acquire() {
+        this.referenceCount++;
+    }
+
+    public void release(long references) {
+        this.referenceCount = Math.max(0, this.referenceCount - references);
+    }
+
+    public boolean isUnreferenced() {
+        return referenceCount == 0;
+    }
+
+    @Override
+    public String toString() {
+        return "StoredBlob{" +
+                "sha256='" + sha256 + '\'' +
+                ", storedFilename='" + storedFilename + '\'' +
+                ", fileSize=" + fileSize +
+                ", referenceCount=" + referenceCount +
+                '}';
+    }
+}
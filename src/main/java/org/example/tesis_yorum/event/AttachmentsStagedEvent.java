@@ -0,0 +1,9 @@
+package org.example.tesis_yorum.event;
+
+import java.util.List;
+
+/**
+ * Bir yorumun dosyaları için PENDING ekler oluşturulduğunda yayınlanır; ekler commit sonrasında arka planda işlenir.
+ */
+public record AttachmentsStagedEvent(List<Long> attachmentIds) {
+}
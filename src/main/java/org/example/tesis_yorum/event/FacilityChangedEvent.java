@@ -0,0 +1,27 @@
+package org.example.tesis_yorum.event;
+
+import org.example.tesis_yorum.entity.Facility;
+import org.example.tesis_yorum.entity.FacilityType;
+
+/**
+ * Bir tesis oluşturulduğunda veya güncellendiğinde yayınlanır.
+ *
+ * Entity yerine alanların kopyasını taşır; dinleyiciler transaction bittikten sonra çalıştığı için
+ * yönetilen (managed) entity'ye dokunmamalıdır.
+ */
+public record FacilityChangedEvent(
+        Long facilityId,
+        String name,
+        String description,
+        String city,
+        FacilityType type) {
+
+    public static FacilityChangedEvent of(Facility facility) {
+        return new FacilityChangedEvent(
+                facility.getId(),
+                facility.getName(),
+                facility.getDescription(),
+                facility.getCity(),
+                facility.getType());
+    }
+}
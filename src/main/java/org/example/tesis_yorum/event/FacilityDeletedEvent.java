@@ -0,0 +1,7 @@
+package org.example.tesis_yorum.event;
+
+/**
+ * Bir tesis silindiğinde yayınlanır.
+ */
+public record FacilityDeletedEvent(Long facilityId) {
+}
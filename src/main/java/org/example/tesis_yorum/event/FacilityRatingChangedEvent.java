@@ -0,0 +1,27 @@
+package org.example.tesis_yorum.event;
+
+import org.example.tesis_yorum.entity.FacilityRatingAggregate;
+
+/**
+ * Bir tesisin puan özeti değiştiğinde (yorum onaylandığında veya onaylı yorum silindiğinde) yayınlanır.
+ *
+ * Özetin commit edilen değerlerini taşır; dinleyiciler commit'ten sonra veritabanına tekrar gitmez.
+ * {@code revision} özet satırı kilitliyken verilir: aynı tesise art arda gelen olaylar farklı sırayla işlenirse
+ * dinleyici numarası küçük olanı yok sayar.
+ */
+public record FacilityRatingChangedEvent(
+        Long facilityId,
+        long reviewCount,
+        long ratingSum,
+        double score,
+        long revision) {
+
+    public static FacilityRatingChangedEvent of(FacilityRatingAggregate aggregate, long revision) {
+        return new FacilityRatingChangedEvent(
+                aggregate.getFacilityId(),
+                aggregate.getReviewCount(),
+                aggregate.getRatingSum(),
+                aggregate.getScore(),
+                revision);
+    }
+}
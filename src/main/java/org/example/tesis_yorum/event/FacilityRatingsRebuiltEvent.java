@@ -0,0 +1,12 @@
+package org.example.tesis_yorum.event;
+
+import java.util.List;
+
+/**
+ * Bütün tesis puan özetleri yorum tablosundan yeniden hesaplandığında yayınlanır.
+ *
+ * @param ratings onaylı yorumu olan bütün tesislerin yeni özetleri; listede olmayan tesislerin onaylı yorumu yoktur
+ * @param revision listedeki özetlerin numarası (bkz. {@link FacilityRatingChangedEvent#revision()})
+ */
+public record FacilityRatingsRebuiltEvent(List<FacilityRatingChangedEvent> ratings, long revision) {
+}
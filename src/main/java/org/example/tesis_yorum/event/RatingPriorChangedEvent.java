@@ -0,0 +1,8 @@
+package org.example.tesis_yorum.event;
+
+/**
+ * Bayes puanının önseli değişip puanlar yeniden hesaplandığında yayınlanır.
+ * Yorum sayıları ve toplamları değişmez; dinleyiciler puanları bu önselle kendileri hesaplar.
+ */
+public record RatingPriorChangedEvent(double priorMean, double priorWeight) {
+}
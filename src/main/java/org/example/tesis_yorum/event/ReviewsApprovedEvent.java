@@ -0,0 +1,16 @@
+package org.example.tesis_yorum.event;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Bir veya birden çok yorum onaylandığında yayınlanır (tekli ve toplu onay).
+ *
+ * @param reviewIdsByFacility tesis ID'si → o tesiste onaylanan yorum ID'leri
+ */
+public record ReviewsApprovedEvent(Map<Long, List<Long>> reviewIdsByFacility) {
+
+    public static ReviewsApprovedEvent of(Long facilityId, Long reviewId) {
+        return new ReviewsApprovedEvent(Map.of(facilityId, List.of(reviewId)));
+    }
+}
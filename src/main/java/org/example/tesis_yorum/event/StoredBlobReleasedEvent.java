@@ -0,0 +1,7 @@
+package org.example.tesis_yorum.event;
+
+/**
+ * Bir dosya içeriğinin son referansı silindiğinde yayınlanır; fiziksel dosya ve referanssız satır commit sonrasında silinir.
+ */
+public record StoredBlobReleasedEvent(String sha256) {
+}
@@ -9,9 +9,11 @@ import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
 import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.context.request.async.AsyncRequestNotUsableException;
 import org.springframework.web.multipart.MaxUploadSizeExceededException;
 import org.springframework.web.multipart.MultipartException;
 
+import java.io.IOException;
 import java.time.LocalDateTime;
 import java.util.HashMap;
 import java.util.Map;
@@ -265,6 +267,15 @@ public class GlobalExceptionHandler {
         return new ResponseEntity<>(errorResponse, HttpStatus.INTERNAL_SERVER_ERROR);
     }
 
+    /**
+     * İstemci bağlantıyı kapattığında (ör. canlı yorum akışı veya toplu dışa aktarım yarıda bırakıldığında)
+     * yazılacak bir yanıt kalmaz; hata gövdesi yazmaya çalışmak yeni bir hataya yol açar.
+     */
+    @ExceptionHandler({AsyncRequestNotUsableException.class, IOException.class})
+    public void handleClientDisconnected(Exception ex) {
+        // Nothing to send: the connection is already gone
+    }
+
     /**
      * 500: Diğer Tüm Hatalar
      *
@@ -0,0 +1,145 @@
+package org.example.tesis_yorum.export;
+
+import org.example.tesis_yorum.dto.ReviewExportRow;
+
+import java.io.Closeable;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Yorumları gzip'li, blok blok sütun düzeninde (columnar) ikili formatta yazar.
+ *
+ * Format (gzip açıldıktan sonra):
+ * <pre>
+ * "TYRC" (4 bayt) | sürüm (1 bayt)
+ * blok*:  satır sayısı (varint, > 0) | sütunlar, her biri bloktaki bütün satırlar için art arda
+ *   id, facilityId, userId       zigzag varint, bloktaki bir önceki değere göre fark (delta)
+ *   rating                       1 bayt
+ *   status                       1 bayt (ReviewStatus sırası: 0 PENDING, 1 APPROVED, 2 REJECTED)
+ *   createdAt, updatedAt         epoch milisaniye (saat UTC kabul edilir), zigzag varint delta
+ *   approvedBy, approvedAt       0 = null, aksi halde değer + 1 (varint)
+ *   content, adminNotes          varint uzunluk + UTF-8; adminNotes için 0 = null, aksi halde uzunluk + 1
+ * son:    0 (varint)
+ * </pre>
+ * Bellekte en fazla bir blok ({@link #BLOCK_SIZE} satır) tutulur.
+ */
+public class ReviewColumnarWriter implements Closeable {
+
+    public static final int BLOCK_SIZE = 4096;
+    private static final byte[] MAGIC = "TYRC".getBytes(StandardCharsets.US_ASCII);
+    private static final int VERSION = 1;
+
+    private final GZIPOutputStream gzip;
+    private final DataOutputStream out;
+    private final List<ReviewExportRow> block = new ArrayList<>(BLOCK_SIZE);
+
+    public ReviewColumnarWriter(OutputStream target) throws IOException {
+        this.gzip = new GZIPOutputStream(target, 64 * 1024);
+        this.out = new DataOutputStream(gzip);
+        out.write(MAGIC);
+        out.writeByte(VERSION);
+    }
+
+    public void write(ReviewExportRow row) throws IOException {
+        block.add(row);
+        if (block.size() == BLOCK_SIZE) {
+            flushBlock();
+        }
+    }
+
+    /**
+     * Son bloğu ve gzip sonunu yazar; hedef akışı kapatmaz.
+     */
+    @Override
+    public void close() throws IOException {
+        flushBlock();
+        writeVarLong(0);
+        out.flush();
+        gzip.finish();
+    }
+
+    private void flushBlock() throws IOException {
+        if (block.isEmpty()) {
+            return;
+        }
+        writeVarLong(block.size());
+
+        long previous = 0;
+        for (ReviewExportRow row : block) {
+            previous = writeDelta(row.id(), previous);
+        }
+        previous = 0;
+        for (ReviewExportRow row : block) {
+            previous = writeDelta(row.facilityId(), previous);
+        }
+        previous = 0;
+        for (ReviewExportRow row : block) {
+            previous = writeDelta(row.userId(), previous);
+        }
+        for (ReviewExportRow row : block) {
+            out.writeByte(row.rating());
+        }
+        for (ReviewExportRow row : block) {
+            out.writeByte(row.status().ordinal());
+        }
+        previous = 0;
+        for (ReviewExportRow row : block) {
+            previous = writeDelta(toEpochMillis(row.createdAt()), previous);
+        }
+        previous = 0;
+        for (ReviewExportRow row : block) {
+            previous = writeDelta(toEpochMillis(row.updatedAt()), previous);
+        }
+        for (ReviewExportRow row : block) {
+            writeNullableLong(row.approvedBy());
+        }
+        for (ReviewExportRow row : block) {
+            writeNullableLong(row.approvedAt() == null ? null : toEpochMillis(row.approvedAt()));
+        }
+        for (ReviewExportRow row : block) {
+            byte[] bytes = row.content().getBytes(StandardCharsets.UTF_8);
+            writeVarLong(bytes.length);
+            out.write(bytes);
+        }
+        for (ReviewExportRow row : block) {
+            if (row.adminNotes() == null) {
+                writeVarLong(0);
+            } else {
+                byte[] bytes = row.adminNotes().getBytes(StandardCharsets.UTF_8);
+                writeVarLong(bytes.length + 1L);
+                out.write(bytes);
+            }
+        }
+
+        block.clear();
+    }
+
+    private long writeDelta(long value, long previous) throws IOException {
+        long delta = value - previous;
+        writeVarLong((delta << 1) ^ (delta >> 63));
+        return value;
+    }
+
+    private void writeNullableLong(Long value) throws IOException {
+        writeVarLong(value == null ? 0 : value + 1);
+    }
+
+    private void writeVarLong(long value) throws IOException {
+        while ((value & ~0x7FL) != 0) {
+            out.writeByte((int) ((value & 0x7F) | 0x80));
+            value >>>= 7;
+        }
+        out.writeByte((int) value);
+    }
+
+    private static long toEpochMillis(LocalDateTime dateTime) {
+        return dateTime == null ? 0 : dateTime.toInstant(ZoneOffset.UTC).toEpochMilli();
+    }
+}
@@ -0,0 +1,22 @@
+package org.example.tesis_yorum.export;
+
+public enum ReviewExportFormat {
+    NDJSON("application/x-ndjson", "reviews.ndjson"),
+    COLUMNAR("application/gzip", "reviews.tyrc.gz");
+
+    private final String contentType;
+    private final String filename;
+
+    ReviewExportFormat(String contentType, String filename) {
+        this.contentType = contentType;
+        this.filename = filename;
+    }
+
+    public String getContentType() {
+        return contentType;
+    }
+
+    public String getFilename() {
+        return filename;
+    }
+}
@@ -0,0 +1,108 @@
+package org.example.tesis_yorum.export;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import org.example.tesis_yorum.dto.ReviewExportRow;
+import org.example.tesis_yorum.entity.ReviewStatus;
+import org.example.tesis_yorum.exceptions.UnauthorizedException;
+import org.example.tesis_yorum.repository.ReviewRepository;
+import org.example.tesis_yorum.service.UserService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.LocalDateTime;
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+/**
+ * Yorumları veritabanı imlecinden okuyup doğrudan yanıt akışına yazar.
+ *
+ * Satırlar tek tek işlenir; bellek kullanımı tablo boyutundan bağımsızdır.
+ */
+@Service
+public class ReviewExportService {
+
+    private static final int FLUSH_EVERY_ROWS = ReviewRepository.EXPORT_FETCH_SIZE;
+
+    private final ReviewRepository reviewRepository;
+    private final UserService userService;
+    private final ObjectMapper objectMapper;
+    private final ObjectWriter rowWriter;
+
+    @Autowired
+    public ReviewExportService(ReviewRepository reviewRepository,
+                               UserService userService,
+                               ObjectMapper objectMapper) {
+        this.reviewRepository = reviewRepository;
+        this.userService = userService;
+        this.objectMapper = objectMapper;
+        this.rowWriter = objectMapper.writerFor(ReviewExportRow.class);
+    }
+
+
+    public void validateExportPermission(Long adminId) {
+        if (!userService.isAdmin(adminId)) {
+            throw new UnauthorizedException("Admin privileges required for this operation");
+        }
+    }
+
+
+    public void validateExportRange(LocalDateTime from, LocalDateTime to) {
+        if (from != null && to != null && !from.isBefore(to)) {
+            throw new IllegalArgumentException("'from' must be before 'to'");
+        }
+    }
+
+
+    @Transactional(readOnly = true)
+    public long export(ReviewExportFormat format, ReviewStatus status, LocalDateTime from, LocalDateTime to,
+                       OutputStream out) throws IOException {
+        validateExportRange(from, to);
+
+        try (Stream<ReviewExportRow> rows = reviewRepository.streamForExport(status, from, to)) {
+            switch (format) {
+                case NDJSON:
+                    return writeNdjson(rows.iterator(), out);
+                case COLUMNAR:
+                    return writeColumnar(rows.iterator(), out);
+                default:
+                    throw new IllegalArgumentException("Unsupported export format: " + format);
+            }
+        }
+    }
+
+
+    private long writeNdjson(Iterator<ReviewExportRow> rows, OutputStream out) throws IOException {
+        long written = 0;
+        try (JsonGenerator generator = objectMapper.getFactory().createGenerator(out)) {
+            generator.setRootValueSeparator(new SerializedString("\n"));
+            generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            while (rows.hasNext()) {
+                rowWriter.writeValue(generator, rows.next());
+                if (++written % FLUSH_EVERY_ROWS == 0) {
+                    generator.flush();
+                }
+            }
+            if (written > 0) {
+                generator.writeRaw('\n');
+            }
+        }
+        return written;
+    }
+
+    private long writeColumnar(Iterator<ReviewExportRow> rows, OutputStream out) throws IOException {
+        long written = 0;
+        try (ReviewColumnarWriter writer = new ReviewColumnarWriter(out)) {
+            while (rows.hasNext()) {
+                writer.write(rows.next());
+                written++;
+            }
+        }
+        return written;
+    }
+}
@@ -0,0 +1,391 @@
+package org.example.tesis_yorum.importer;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import org.example.tesis_yorum.dto.ImportReport;
+import org.example.tesis_yorum.entity.Facility;
+import org.example.tesis_yorum.entity.FacilityType;
+import org.example.tesis_yorum.entity.Review;
+import org.example.tesis_yorum.entity.ReviewStatus;
+import org.example.tesis_yorum.entity.User;
+import org.example.tesis_yorum.entity.UserRole;
+import org.example.tesis_yorum.event.FacilityChangedEvent;
+import org.example.tesis_yorum.exceptions.UnauthorizedException;
+import org.example.tesis_yorum.repository.FacilityRepository;
+import org.example.tesis_yorum.repository.UserRepository;
+import org.example.tesis_yorum.service.FacilityRatingService;
+import org.example.tesis_yorum.service.UserService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.core.NestedExceptionUtils;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.stream.Collectors;
+
+/**
+ * Tesis, kullanıcı ve yorumları NDJSON veya CSV girdiden toplu olarak içe aktarır.
+ *
+ * Girdi akış halinde okunur ve {@value #CHUNK_SIZE} kayıtlık gruplar halinde işlenir: her grup önce
+ * doğrulanır (alan kuralları, tekrar eden kullanıcı adı/e-posta, var olmayan kullanıcı/tesis referansları
+ * grup başına tek sorguyla), geçerli kayıtlar ardından kendi transaction'ında JDBC batch ile eklenir.
+ * Her grubun sonunda persistence context temizlenir; bellek kullanımı girdi boyutuyla büyümez.
+ * Geçersiz satırlar raporlanır, içe aktarımı durdurmaz.
+ */
+@Service
+public class BulkImportService {
+
+    public static final int CHUNK_SIZE = 500;
+    private static final int MAX_REPORTED_REJECTIONS = 1000;
+    private static final int LOG_EVERY_CHUNKS = 10;
+
+    private static final Logger log = LoggerFactory.getLogger(BulkImportService.class);
+
+    private final UserService userService;
+    private final UserRepository userRepository;
+    private final FacilityRepository facilityRepository;
+    private final FacilityRatingService facilityRatingService;
+    private final ApplicationEventPublisher eventPublisher;
+    private final Validator validator;
+    private final TransactionTemplate transactionTemplate;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Autowired
+    public BulkImportService(UserService userService,
+                             UserRepository userRepository,
+                             FacilityRepository facilityRepository,
+                             FacilityRatingService facilityRatingService,
+                             ApplicationEventPublisher eventPublisher,
+                             Validator validator,
+                             PlatformTransactionManager transactionManager) {
+        this.userService = userService;
+        this.userRepository = userRepository;
+        this.facilityRepository = facilityRepository;
+        this.facilityRatingService = facilityRatingService;
+        this.eventPublisher = eventPublisher;
+        this.validator = validator;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+
+    public ImportReport importRecords(ImportEntityType type, ImportFormat format, InputStream in, Long adminId)
+            throws IOException {
+        if (!userService.isAdmin(adminId)) {
+            throw new UnauthorizedException("Admin privileges required for this operation");
+        }
+
+        long startNanos = System.nanoTime();
+        Progress progress = new Progress(type);
+        try (ImportRecordReader reader = ImportRecordReader.open(format, in)) {
+            List<ImportRecord> chunk = new ArrayList<>(CHUNK_SIZE);
+            while (true) {
+                ImportRecord record;
+                try {
+                    record = reader.next();
+                } catch (ImportRecordReader.MalformedRecordException ex) {
+                    progress.processed++;
+                    progress.reject(ex.getLine(), ex.getMessage());
+                    continue;
+                }
+                if (record == null) {
+                    break;
+                }
+                chunk.add(record);
+                if (chunk.size() == CHUNK_SIZE) {
+                    importChunk(type, chunk, adminId, progress);
+                    chunk.clear();
+                }
+            }
+            if (!chunk.isEmpty()) {
+                importChunk(type, chunk, adminId, progress);
+            }
+        }
+
+        long durationMillis = (System.nanoTime() - startNanos) / 1_000_000;
+        log.info("Import of {} finished in {} ms: {} processed, {} imported, {} rejected",
+                type, durationMillis, progress.processed, progress.imported, progress.rejected);
+        return progress.toReport(durationMillis);
+    }
+
+
+    private void importChunk(ImportEntityType type, List<ImportRecord> records, Long adminId, Progress progress) {
+        List<Candidate<?>> candidates;
+        switch (type) {
+            case FACILITIES:
+                candidates = validateFacilities(records, progress);
+                break;
+            case USERS:
+                candidates = validateUsers(records, progress);
+                break;
+            case REVIEWS:
+                candidates = validateReviews(records, progress);
+                break;
+            default:
+                throw new IllegalArgumentException("Unsupported import type: " + type);
+        }
+
+        if (!candidates.isEmpty()) {
+            try {
+                transactionTemplate.executeWithoutResult(status -> persist(type, candidates, adminId));
+                progress.imported += candidates.size();
+            } catch (RuntimeException ex) {
+                // A constraint hit by a concurrent writer fails the whole chunk; its rows are reported, the import goes on
+                String reason = "Chunk could not be saved: " + NestedExceptionUtils.getMostSpecificCause(ex).getMessage();
+                candidates.forEach(candidate -> progress.reject(candidate.line(), reason));
+            }
+        }
+
+        if (++progress.chunks % LOG_EVERY_CHUNKS == 0) {
+            log.info("Import of {}: {} processed, {} imported, {} rejected",
+                    type, progress.processed, progress.imported, progress.rejected);
+        }
+    }
+
+    private void persist(ImportEntityType type, List<Candidate<?>> candidates, Long adminId) {
+        // Sorted so concurrent imports and moderation lock facility aggregates in the same order
+        Map<Long, Map<Integer, Long>> approvedRatingsByFacility = new TreeMap<>();
+
+        for (Candidate<?> candidate : candidates) {
+            Object entity = candidate.entity();
+            if (entity instanceof Review review) {
+                Long userId = review.getUser().getId();
+                Long facilityId = review.getFacility().getId();
+                review.setUser(entityManager.getReference(User.class, userId));
+                review.setFacility(entityManager.getReference(Facility.class, facilityId));
+                if (review.getStatus() == ReviewStatus.APPROVED) {
+                    review.approve(adminId);
+                    approvedRatingsByFacility.computeIfAbsent(facilityId, id -> new TreeMap<>())
+                            .merge(review.getRating(), 1L, Long::sum);
+                } else if (review.getStatus() == ReviewStatus.REJECTED) {
+                    review.reject(adminId, review.getAdminNotes());
+                }
+            }
+            entityManager.persist(entity);
+        }
+        entityManager.flush();
+
+        if (type == ImportEntityType.FACILITIES) {
+            List<Long> facilityIds = new ArrayList<>(candidates.size());
+            for (Candidate<?> candidate : candidates) {
+                Facility facility = (Facility) candidate.entity();
+                facilityIds.add(facility.getId());
+                eventPublisher.publishEvent(FacilityChangedEvent.of(facility));
+            }
+            facilityRatingService.createAggregates(facilityIds);
+        }
+        approvedRatingsByFacility.forEach(facilityRatingService::recordApproved);
+
+        // Open-in-view shares one persistence context across chunks; without this every imported row stays
+        // managed and each flush dirty-checks all earlier chunks again
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+
+    private List<Candidate<?>> validateFacilities(List<ImportRecord> records, Progress progress) {
+        List<Candidate<?>> candidates = new ArrayList<>(records.size());
+        for (ImportRecord record : records) {
+            progress.processed++;
+            try {
+                Facility facility = new Facility(record.get("name"), record.get("description"),
+                        record.get("address"), record.get("city"),
+                        parseEnum(FacilityType.class, "type", required(record, "type")));
+                checkConstraints(facility);
+                candidates.add(new Candidate<>(record.line(), facility));
+            } catch (IllegalArgumentException ex) {
+                progress.reject(record.line(), ex.getMessage());
+            }
+        }
+        return candidates;
+    }
+
+    private List<Candidate<?>> validateUsers(List<ImportRecord> records, Progress progress) {
+        List<Candidate<User>> parsed = new ArrayList<>(records.size());
+        for (ImportRecord record : records) {
+            progress.processed++;
+            try {
+                User user = new User(required(record, "username"), required(record, "email"), required(record, "fullName"));
+                String role = record.get("role");
+                if (role != null) {
+                    user.setRole(parseEnum(UserRole.class, "role", role));
+                }
+                checkConstraints(user);
+                parsed.add(new Candidate<>(record.line(), user));
+            } catch (IllegalArgumentException ex) {
+                progress.reject(record.line(), ex.getMessage());
+            }
+        }
+        if (parsed.isEmpty()) {
+            return new ArrayList<>();
+        }
+
+        Set<String> takenUsernames = new HashSet<>(userRepository.findExistingUsernames(
+                parsed.stream().map(candidate -> candidate.entity().getUsername()).collect(Collectors.toSet())));
+        Set<String> takenEmails = new HashSet<>(userRepository.findExistingEmails(
+                parsed.stream().map(candidate -> candidate.entity().getEmail()).collect(Collectors.toSet())));
+
+        List<Candidate<?>> candidates = new ArrayList<>(parsed.size());
+        for (Candidate<User> candidate : parsed) {
+            User user = candidate.entity();
+            // Adding to the taken sets also rejects later duplicates within the same chunk
+            if (!takenUsernames.add(user.getUsername())) {
+                progress.reject(candidate.line(), "Username already exists: " + user.getUsername());
+            } else if (!takenEmails.add(user.getEmail())) {
+                progress.reject(candidate.line(), "Email already exists: " + user.getEmail());
+            } else {
+                candidates.add(candidate);
+            }
+        }
+        return candidates;
+    }
+
+    private List<Candidate<?>> validateReviews(List<ImportRecord> records, Progress progress) {
+        List<Candidate<Review>> parsed = new ArrayList<>(records.size());
+        for (ImportRecord record : records) {
+            progress.processed++;
+            try {
+                User user = new User();
+                user.setId(parseLong("userId", required(record, "userId")));
+                Facility facility = new Facility();
+                facility.setId(parseLong("facilityId", required(record, "facilityId")));
+
+                Review review = new Review(required(record, "content"),
+                        parseInteger("rating", required(record, "rating")), user, facility);
+                String status = record.get("status");
+                if (status != null) {
+                    review.setStatus(parseEnum(ReviewStatus.class, "status", status));
+                }
+                review.setAdminNotes(record.get("adminNotes"));
+                String createdAt = record.get("createdAt");
+                if (createdAt != null) {
+                    review.setCreatedAt(parseDateTime("createdAt", createdAt));
+                }
+                checkConstraints(review);
+                parsed.add(new Candidate<>(record.line(), review));
+            } catch (IllegalArgumentException ex) {
+                progress.reject(record.line(), ex.getMessage());
+            }
+        }
+        if (parsed.isEmpty()) {
+            return new ArrayList<>();
+        }
+
+        Set<Long> existingUserIds = new HashSet<>(userRepository.findExistingIds(
+                parsed.stream().map(candidate -> candidate.entity().getUser().getId()).collect(Collectors.toSet())));
+        Set<Long> existingFacilityIds = new HashSet<>(facilityRepository.findExistingIds(
+                parsed.stream().map(candidate -> candidate.entity().getFacility().getId()).collect(Collectors.toSet())));
+
+        List<Candidate<?>> candidates = new ArrayList<>(parsed.size());
+        for (Candidate<Review> candidate : parsed) {
+            Review review = candidate.entity();
+            if (!existingUserIds.contains(review.getUser().getId())) {
+                progress.reject(candidate.line(), "User not found with id: " + review.getUser().getId());
+            } else if (!existingFacilityIds.contains(review.getFacility().getId())) {
+                progress.reject(candidate.line(), "Facility not found with id: " + review.getFacility().getId());
+            } else {
+                candidates.add(candidate);
+            }
+        }
+        return candidates;
+    }
+
+
+    private void checkConstraints(Object entity) {
+        Set<ConstraintViolation<Object>> violations = validator.validate(entity);
+        if (!violations.isEmpty()) {
+            throw new IllegalArgumentException(violations.stream()
+                    .map(violation -> violation.getPropertyPath() + ": " + violation.getMessage())
+                    .sorted()
+                    .collect(Collectors.joining("; ")));
+        }
+    }
+
+    private static String required(ImportRecord record, String field) {
+        String value = record.get(field);
+        if (value == null) {
+            throw new IllegalArgumentException("Field '" + field + "' is required");
+        }
+        return value;
+    }
+
+    private static Long parseLong(String field, String value) {
+        try {
+            return Long.valueOf(value.trim());
+        } catch (NumberFormatException ex) {
+            throw new IllegalArgumentException("Field '" + field + "' must be a number: " + value);
+        }
+    }
+
+    private static Integer parseInteger(String field, String value) {
+        try {
+            return Integer.valueOf(value.trim());
+        } catch (NumberFormatException ex) {
+            throw new IllegalArgumentException("Field '" + field + "' must be a number: " + value);
+        }
+    }
+
+    private static LocalDateTime parseDateTime(String field, String value) {
+        try {
+            return LocalDateTime.parse(value.trim());
+        } catch (DateTimeParseException ex) {
+            throw new IllegalArgumentException("Field '" + field + "' must be an ISO date-time: " + value);
+        }
+    }
+
+    private static <E extends Enum<E>> E parseEnum(Class<E> type, String field, String value) {
+        try {
+            return Enum.valueOf(type, value.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException ex) {
+            throw new IllegalArgumentException("Invalid value for '" + field + "': " + value);
+        }
+    }
+
+
+    private record Candidate<T>(long line, T entity) {
+    }
+
+    private static final class Progress {
+        private final ImportEntityType type;
+        private final List<ImportReport.RejectedRow> rejectedRows = new ArrayList<>();
+        private long processed;
+        private long imported;
+        private long rejected;
+        private long chunks;
+
+        private Progress(ImportEntityType type) {
+            this.type = type;
+        }
+
+        private void reject(long line, String reason) {
+            rejected++;
+            if (rejectedRows.size() < MAX_REPORTED_REJECTIONS) {
+                rejectedRows.add(new ImportReport.RejectedRow(line, reason));
+            }
+        }
+
+        private ImportReport toReport(long durationMillis) {
+            rejectedRows.sort(Comparator.comparingLong(ImportReport.RejectedRow::line));
+            return new ImportReport(type, processed, imported, rejected, rejectedRows,
+                    rejected > rejectedRows.size(), durationMillis);
+        }
+    }
+}
@@ -0,0 +1,106 @@
+package org.example.tesis_yorum.importer;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * RFC 4180 CSV okuyucu. İlk satır alan adlarını içerir; tırnak içindeki alanlar virgül,
+ * çift tırnak ("") ve satır sonu içerebilir.
+ */
+class CsvRecordReader extends ImportRecordReader {
+
+    private final List<String> header;
+
+    CsvRecordReader(InputStream in) throws IOException {
+        super(in);
+        String firstLine = readLine();
+        if (firstLine == null) {
+            this.header = List.of();
+            return;
+        }
+        // A UTF-8 byte order mark written by spreadsheet tools would otherwise end up in the first field name
+        if (firstLine.startsWith("\uFEFF")) {
+            firstLine = firstLine.substring(1);
+        }
+        List<String> names = new ArrayList<>();
+        for (String name : parseRow(firstLine)) {
+            names.add(name.trim());
+        }
+        this.header = names;
+    }
+
+    @Override
+    public ImportRecord next() throws IOException {
+        String line;
+        do {
+            line = readLine();
+            if (line == null) {
+                return null;
+            }
+        } while (line.isBlank());
+
+        long startLine = lineNumber;
+        List<String> values = parseRow(line);
+        if (values.size() != header.size()) {
+            throw new MalformedRecordException(startLine,
+                    "Expected " + header.size() + " columns but found " + values.size());
+        }
+
+        Map<String, String> fields = new HashMap<>();
+        for (int i = 0; i < header.size(); i++) {
+            fields.put(header.get(i), emptyToNull(values.get(i)));
+        }
+        return new ImportRecord(startLine, fields);
+    }
+
+    /**
+     * Bir kaydı ayrıştırır; tırnak içinde satır sonu varsa sonraki satırlar da okunur.
+     */
+    private List<String> parseRow(String line) throws IOException {
+        long startLine = lineNumber;
+        List<String> values = new ArrayList<>();
+        StringBuilder value = new StringBuilder();
+        boolean quoted = false;
+        int i = 0;
+        while (true) {
+            if (i == line.length()) {
+                if (!quoted) {
+                    break;
+                }
+                String continuation = readLine();
+                if (continuation == null) {
+                    throw new MalformedRecordException(startLine, "Unterminated quoted field");
+                }
+                value.append('\n');
+                line = continuation;
+                i = 0;
+                continue;
+            }
+
+            char c = line.charAt(i++);
+            if (quoted) {
+                if (c != '"') {
+                    value.append(c);
+                } else if (i < line.length() && line.charAt(i) == '"') {
+                    value.append('"');
+                    i++;
+                } else {
+                    quoted = false;
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                values.add(value.toString());
+                value.setLength(0);
+            } else {
+                value.append(c);
+            }
+        }
+        values.add(value.toString());
+        return values;
+    }
+}
@@ -0,0 +1,20 @@
+package org.example.tesis_yorum.importer;
+
+/**
+ * İçe aktarılabilen kayıt türleri ve her birinin beklenen alanları.
+ */
+public enum ImportEntityType {
+    FACILITIES("name", "type", "description", "address", "city"),
+    USERS("username", "email", "fullName", "role"),
+    REVIEWS("userId", "facilityId", "content", "rating", "status", "adminNotes", "createdAt");
+
+    private final String[] fields;
+
+    ImportEntityType(String... fields) {
+        this.fields = fields;
+    }
+
+    public String[] getFields() {
+        return fields.clone();
+    }
+}
@@ -0,0 +1,6 @@
+package org.example.tesis_yorum.importer;
+
+public enum ImportFormat {
+    NDJSON,
+    CSV
+}
@@ -0,0 +1,15 @@
+package org.example.tesis_yorum.importer;
+
+import java.util.Map;
+
+/**
+ * Girdideki tek bir kayıt. Alan değerleri metin olarak tutulur; boş alanlar null'dır.
+ *
+ * @param line kaydın girdide başladığı satır (1'den başlar)
+ */
+public record ImportRecord(long line, Map<String, String> fields) {
+
+    public String get(String field) {
+        return fields.get(field);
+    }
+}
@@ -0,0 +1,71 @@
+package org.example.tesis_yorum.importer;
+
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Girdiyi kayıt kayıt okur; bütün dosya hiçbir zaman belleğe alınmaz.
+ *
+ * Bozuk bir kayıt {@link MalformedRecordException} fırlatır ve okuma bir sonraki kayıttan devam edebilir.
+ */
+public abstract class ImportRecordReader implements Closeable {
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    protected final BufferedReader reader;
+    protected long lineNumber;
+
+    protected ImportRecordReader(InputStream in) {
+        this.reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8), BUFFER_SIZE);
+    }
+
+    public static ImportRecordReader open(ImportFormat format, InputStream in) throws IOException {
+        switch (format) {
+            case NDJSON:
+                return new NdjsonRecordReader(in);
+            case CSV:
+                return new CsvRecordReader(in);
+            default:
+                throw new IllegalArgumentException("Unsupported import format: " + format);
+        }
+    }
+
+    /**
+     * @return sıradaki kayıt, girdi bittiyse null
+     */
+    public abstract ImportRecord next() throws IOException;
+
+    @Override
+    public void close() throws IOException {
+        reader.close();
+    }
+
+    protected String readLine() throws IOException {
+        String line = reader.readLine();
+        if (line != null) {
+            lineNumber++;
+        }
+        return line;
+    }
+
+    protected static String emptyToNull(String value) {
+        return value == null || value.isBlank() ? null : value;
+    }
+
+    public static class MalformedRecordException extends IOException {
+        private final long line;
+
+        public MalformedRecordException(long line, String message) {
+            super(message);
+            this.line = line;
+        }
+
+        public long getLine() {
+            return line;
+        }
+    }
+}
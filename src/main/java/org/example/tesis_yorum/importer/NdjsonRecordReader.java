@@ -0,0 +1,56 @@
+package org.example.tesis_yorum.importer;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+
+/**
+ * Her satırı bir JSON nesnesi olan (NDJSON) girdiyi okur. Boş satırlar atlanır.
+ */
+class NdjsonRecordReader extends ImportRecordReader {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    NdjsonRecordReader(InputStream in) {
+        super(in);
+    }
+
+    @Override
+    public ImportRecord next() throws IOException {
+        String line;
+        do {
+            line = readLine();
+            if (line == null) {
+                return null;
+            }
+        } while (line.isBlank());
+
+        JsonNode node;
+        try {
+            node = MAPPER.readTree(line);
+        } catch (JsonProcessingException ex) {
+            throw new MalformedRecordException(lineNumber, "Invalid JSON: " + ex.getOriginalMessage());
+        }
+        if (!node.isObject()) {
+            throw new MalformedRecordException(lineNumber, "Expected a JSON object");
+        }
+
+        Map<String, String> fields = new HashMap<>();
+        Iterator<Map.Entry<String, JsonNode>> entries = node.fields();
+        while (entries.hasNext()) {
+            Map.Entry<String, JsonNode> entry = entries.next();
+            JsonNode value = entry.getValue();
+            if (value.isContainerNode()) {
+                throw new MalformedRecordException(lineNumber, "Field '" + entry.getKey() + "' must be a scalar value");
+            }
+            fields.put(entry.getKey(), value.isNull() ? null : emptyToNull(value.asText()));
+        }
+        return new ImportRecord(lineNumber, fields);
+    }
+}
@@ -0,0 +1,305 @@
+package org.example.tesis_yorum.leaderboard;
+
+import org.example.tesis_yorum.dto.LeaderboardEntry;
+import org.example.tesis_yorum.entity.Facility;
+import org.example.tesis_yorum.entity.FacilityRatingAggregate;
+import org.example.tesis_yorum.entity.FacilityType;
+import org.example.tesis_yorum.event.FacilityChangedEvent;
+import org.example.tesis_yorum.event.FacilityDeletedEvent;
+import org.example.tesis_yorum.event.FacilityRatingChangedEvent;
+import org.example.tesis_yorum.event.FacilityRatingsRebuiltEvent;
+import org.example.tesis_yorum.event.RatingPriorChangedEvent;
+import org.example.tesis_yorum.repository.FacilityRatingAggregateRepository;
+import org.example.tesis_yorum.repository.FacilityRepository;
+import org.example.tesis_yorum.search.TurkishTextNormalizer;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.TreeSet;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Şehir ve tesis türüne göre bellek içi tesis sıralamaları ("Antalya'nın en iyi otelleri").
+ *
+ * - Her (şehir, tür) için tesisler Bayes puanına göre sıralı tutulur; eşitlikte yorum sayısı fazla olan önce gelir
+ *   (tek 5 yıldızlı yorumu olan tesis, 4.8 ortalamalı 900 yorumlu tesisin önüne geçmez)
+ * - Şehir adları {@link TurkishTextNormalizer} ile karşılaştırılır ("İzmir" ve "izmir" aynı şehirdir)
+ * - Bir yorum onaylandığında veya silindiğinde sadece o tesisin yeri güncellenir; istek başına yorum tablosu taranmaz
+ *
+ * Sıralamalar uygulama açılırken tesislerden ve puan özetlerinden kurulur. Sonraki değişiklikler olaylarla
+ * gelen değerlerden uygulanır; commit sonrası dinleyiciler veritabanına gitmez (istek başına tek bağlantı).
+ * Kurulum sürerken gelen olaylar kaydedilir ve yeni sıralamalar yerleştikten sonra tekrar uygulanır; okunan
+ * veriden daha yeni bir değişiklik kurulumla ezilmez.
+ */
+@Component
+public class FacilityLeaderboard {
+
+    public static final int MAX_LIMIT = 100;
+
+    // Highest score first, then the better-supported facility, then the older one
+    private static final Comparator<Entry> RANKING = Entry::compareRank;
+
+    private final FacilityRepository facilityRepository;
+    private final FacilityRatingAggregateRepository aggregateRepository;
+    private final int defaultMinReviews;
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private Map<Long, Entry> entries = new HashMap<>();
+    private Map<BoardKey, NavigableSet<Entry>> boards = new HashMap<>();
+    // Changes applied while a rebuild reads the database, replayed on top of what it read; null otherwise
+    private List<Runnable> changesDuringRebuild;
+
+    public FacilityLeaderboard(FacilityRepository facilityRepository,
+                               FacilityRatingAggregateRepository aggregateRepository,
+                               @Value("${app.leaderboard.min-reviews:3}") int defaultMinReviews) {
+        this.facilityRepository = facilityRepository;
+        this.aggregateRepository = aggregateRepository;
+        this.defaultMinReviews = defaultMinReviews;
+    }
+
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public void rebuild() {
+        lock.writeLock().lock();
+        try {
+            changesDuringRebuild = new ArrayList<>();
+        } finally {
+            lock.writeLock().unlock();
+        }
+
+        try {
+            Map<Long, Entry> newEntries = new HashMap<>();
+            Map<BoardKey, NavigableSet<Entry>> newBoards = new HashMap<>();
+            load(newEntries, newBoards);
+
+            lock.writeLock().lock();
+            try {
+                entries = newEntries;
+                boards = newBoards;
+                changesDuringRebuild.forEach(Runnable::run);
+            } finally {
+                lock.writeLock().unlock();
+            }
+        } finally {
+            lock.writeLock().lock();
+            try {
+                changesDuringRebuild = null;
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+    }
+
+    private void load(Map<Long, Entry> newEntries, Map<BoardKey, NavigableSet<Entry>> newBoards) {
+        Map<Long, FacilityRatingAggregate> aggregates = new HashMap<>();
+        for (FacilityRatingAggregate aggregate : aggregateRepository.findAll()) {
+            aggregates.put(aggregate.getFacilityId(), aggregate);
+        }
+
+        for (Facility facility : facilityRepository.findAll()) {
+            FacilityRatingAggregate aggregate = aggregates.get(facility.getId());
+            Entry entry = new Entry(facility.getId(), facility.getName(), facility.getCity(), facility.getType(),
+                    aggregate == null ? 0 : aggregate.getReviewCount(),
+                    aggregate == null ? 0 : aggregate.getRatingSum(),
+                    aggregate == null ? 0 : aggregate.getScore(), 0);
+            add(newEntries, newBoards, entry);
+        }
+    }
+
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onFacilityRatingsRebuilt(FacilityRatingsRebuiltEvent event) {
+        Map<Long, FacilityRatingChangedEvent> ratings = new HashMap<>();
+        for (FacilityRatingChangedEvent rating : event.ratings()) {
+            ratings.put(rating.facilityId(), rating);
+        }
+
+        update(() -> {
+            for (Entry previous : new ArrayList<>(entries.values())) {
+                FacilityRatingChangedEvent rating = ratings.get(previous.facilityId());
+                remove(previous.facilityId());
+                add(entries, boards, rating == null
+                        ? previous.withRatings(0, 0, 0, event.revision())
+                        : previous.withRatings(rating.reviewCount(), rating.ratingSum(), rating.score(), rating.revision()));
+            }
+        });
+    }
+
+
+    /**
+     * Sayılar değişmediği için puanlar bellekte, veritabanındaki toplu güncellemeyle aynı formülle yeniden hesaplanır.
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onRatingPriorChanged(RatingPriorChangedEvent event) {
+        update(() -> {
+            for (Entry previous : new ArrayList<>(entries.values())) {
+                if (previous.reviewCount() == 0) {
+                    continue;
+                }
+                double score = FacilityRatingAggregate.bayesianScore(previous.ratingSum(), previous.reviewCount(),
+                        event.priorMean(), event.priorWeight());
+                remove(previous.facilityId());
+                add(entries, boards, previous.withRatings(previous.reviewCount(), previous.ratingSum(), score,
+                        previous.revision()));
+            }
+        });
+    }
+
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onFacilityChanged(FacilityChangedEvent event) {
+        update(() -> {
+            Entry previous = remove(event.facilityId());
+            long reviewCount = previous == null ? 0 : previous.reviewCount();
+            long ratingSum = previous == null ? 0 : previous.ratingSum();
+            double score = previous == null ? 0 : previous.score();
+            long revision = previous == null ? 0 : previous.revision();
+            add(entries, boards, new Entry(event.facilityId(), event.name(), event.city(), event.type(),
+                    reviewCount, ratingSum, score, revision));
+        });
+    }
+
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onFacilityDeleted(FacilityDeletedEvent event) {
+        update(() -> remove(event.facilityId()));
+    }
+
+    /**
+     * Olaydaki değerler uygulanır; aynı tesise ait daha yeni bir olay önce işlendiyse eskisi yok sayılır.
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onFacilityRatingChanged(FacilityRatingChangedEvent event) {
+        update(() -> {
+            Entry previous = entries.get(event.facilityId());
+            if (previous == null || previous.revision() > event.revision()) {
+                return;
+            }
+            remove(event.facilityId());
+            add(entries, boards, previous.withRatings(event.reviewCount(), event.ratingSum(), event.score(),
+                    event.revision()));
+        });
+    }
+
+
+    public List<LeaderboardEntry> getTop(String city, FacilityType type, int limit, Integer minReviews) {
+        if (city == null || city.isBlank()) {
+            throw new IllegalArgumentException("City is required");
+        }
+        if (type == null) {
+            throw new IllegalArgumentException("Facility type is required");
+        }
+        if (limit < 1 || limit > MAX_LIMIT) {
+            throw new IllegalArgumentException("Limit must be between 1 and " + MAX_LIMIT);
+        }
+        int threshold = minReviews == null ? defaultMinReviews : minReviews;
+        if (threshold < 1) {
+            throw new IllegalArgumentException("Minimum review count must be at least 1");
+        }
+
+        List<LeaderboardEntry> top = new ArrayList<>(limit);
+        lock.readLock().lock();
+        try {
+            NavigableSet<Entry> board = boards.get(new BoardKey(TurkishTextNormalizer.fold(city), type));
+            if (board == null) {
+                return top;
+            }
+            for (Entry entry : board) {
+                if (entry.reviewCount() < threshold) {
+                    continue;
+                }
+                top.add(new LeaderboardEntry(top.size() + 1, entry.facilityId(), entry.name(), entry.city(),
+                        entry.type(), entry.reviewCount(), entry.averageRating(), entry.score()));
+                if (top.size() == limit) {
+                    break;
+                }
+            }
+            return top;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+
+    /**
+     * Değişikliği mevcut sıralamalara uygular; kurulum sürüyorsa yeni sıralamalara da uygulanmak üzere kaydeder.
+     */
+    private void update(Runnable change) {
+        lock.writeLock().lock();
+        try {
+            change.run();
+            if (changesDuringRebuild != null) {
+                changesDuringRebuild.add(change);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private static void add(Map<Long, Entry> entries, Map<BoardKey, NavigableSet<Entry>> boards, Entry entry) {
+        entries.put(entry.facilityId(), entry);
+        if (entry.city() != null && entry.type() != null) {
+            boards.computeIfAbsent(entry.boardKey(), key -> new TreeSet<>(RANKING)).add(entry);
+        }
+    }
+
+    private Entry remove(Long facilityId) {
+        Entry entry = entries.remove(facilityId);
+        if (entry != null && entry.city() != null && entry.type() != null) {
+            NavigableSet<Entry> board = boards.get(entry.boardKey());
+            if (board != null) {
+                board.remove(entry);
+                if (board.isEmpty()) {
+                    boards.remove(entry.boardKey());
+                }
+            }
+        }
+        return entry;
+    }
+
+
+    private record BoardKey(String city, FacilityType type) {
+    }
+
+    /**
+     * Sıralamadaki bir tesisin değişmez anlık görüntüsü; değiştiğinde kümeden çıkarılıp yenisi eklenir.
+     *
+     * @param revision puanların geldiği son olayın numarası (açılışta okunanlar için 0)
+     */
+    private record Entry(Long facilityId, String name, String city, FacilityType type,
+                         long reviewCount, long ratingSum, double score, long revision) {
+
+        BoardKey boardKey() {
+            return new BoardKey(TurkishTextNormalizer.fold(city), type);
+        }
+
+        double averageRating() {
+            return reviewCount == 0 ? 0.0 : (double) ratingSum / reviewCount;
+        }
+
+        Entry withRatings(long newReviewCount, long newRatingSum, double newScore, long newRevision) {
+            return new Entry(facilityId, name, city, type, newReviewCount, newRatingSum, newScore, newRevision);
+        }
+
+        int compareRank(Entry other) {
+            int byScore = Double.compare(other.score, score);
+            if (byScore != 0) {
+                return byScore;
+            }
+            int byCount = Long.compare(other.reviewCount, reviewCount);
+            return byCount != 0 ? byCount : Long.compare(facilityId, other.facilityId);
+        }
+    }
+}
@@ -0,0 +1,87 @@
+package org.example.tesis_yorum.repository;
+
+import jakarta.persistence.LockModeType;
+import org.example.tesis_yorum.dto.FacilityScoreRow;
+import org.example.tesis_yorum.dto.ResourceVersion;
+import org.example.tesis_yorum.entity.FacilityRatingAggregate;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface FacilityRatingAggregateRepository extends JpaRepository<FacilityRatingAggregate, Long> {
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT a FROM FacilityRatingAggregate a WHERE a.facilityId = :facilityId")
+    Optional<FacilityRatingAggregate> findByIdForUpdate(@Param("facilityId") Long facilityId);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT a FROM FacilityRatingAggregate a")
+    List<FacilityRatingAggregate> findAllForUpdate();
+
+    /**
+     * Verilen tesislerden özeti olmayanlara boş özet ekler; özeti olan tesislere dokunmaz.
+     */
+    @Modifying
+    @Query("INSERT INTO FacilityRatingAggregate (facilityId, reviewCount, ratingSum, rating1Count, rating2Count, " +
+            "rating3Count, rating4Count, rating5Count, score, updatedAt) " +
+            "SELECT f.id, 0L, 0L, 0L, 0L, 0L, 0L, 0L, :score, CURRENT_TIMESTAMP FROM Facility f " +
+            "WHERE f.id IN :facilityIds " +
+            "AND NOT EXISTS (SELECT a.facilityId FROM FacilityRatingAggregate a WHERE a.facilityId = f.id)")
+    int insertEmptyAggregates(@Param("facilityIds") Collection<Long> facilityIds, @Param("score") double score);
+
+    /**
+     * Özeti olmayan bütün tesislere boş özet ekler (onarım; tesisler özetleriyle birlikte oluşturulur).
+     */
+    @Modifying
+    @Query("INSERT INTO FacilityRatingAggregate (facilityId, reviewCount, ratingSum, rating1Count, rating2Count, " +
+            "rating3Count, rating4Count, rating5Count, score, updatedAt) " +
+            "SELECT f.id, 0L, 0L, 0L, 0L, 0L, 0L, 0L, :score, CURRENT_TIMESTAMP FROM Facility f " +
+            "WHERE NOT EXISTS (SELECT a.facilityId FROM FacilityRatingAggregate a WHERE a.facilityId = f.id)")
+    int insertMissingAggregates(@Param("score") double score);
+
+    /**
+     * @return tek satır: [toplam puan, toplam yorum sayısı] bütün tesisler için
+     */
+    @Query("SELECT COALESCE(SUM(a.ratingSum), 0), COALESCE(SUM(a.reviewCount), 0) FROM FacilityRatingAggregate a")
+    List<Object[]> sumRatingsAndCounts();
+
+    /**
+     * Önsel değiştiğinde bütün puanları tek UPDATE ile yeniden hesaplar; puanı değişmeyen satırlara dokunmaz,
+     * böylece {@code updatedAt} (ve ondan türeyen ETag'ler) önsel aynı kaldıkça değişmez.
+     * Formül {@link FacilityRatingAggregate#updateScore(double, double)} ile aynıdır.
+     */
+    @Modifying
+    // Casts keep the parameters from being bound as longs next to the long columns (integer division).
+    // H2 evaluates the expression as an exact decimal while the column holds a double, so an exact comparison
+    // never matches; the tolerance also absorbs last-bit differences from scores computed in Java.
+    @Query("UPDATE FacilityRatingAggregate a " +
+            "SET a.score = (CAST(:priorTotal AS double) + a.ratingSum) / (CAST(:priorWeight AS double) + a.reviewCount), " +
+            "a.updatedAt = CURRENT_TIMESTAMP " +
+            "WHERE ABS(a.score - (CAST(:priorTotal AS double) + a.ratingSum) / (CAST(:priorWeight AS double) + a.reviewCount)) > 1e-9")
+    int updateScores(@Param("priorTotal") double priorTotal, @Param("priorWeight") double priorWeight);
+
+    /**
+     * Onaylı yorum koleksiyonunun sürümü: her onay ve onaylı yorum silme bir özet satırını günceller.
+     */
+    @Query("SELECT new org.example.tesis_yorum.dto.ResourceVersion(COALESCE(SUM(a.reviewCount), 0), MAX(a.updatedAt)) FROM FacilityRatingAggregate a")
+    ResourceVersion findVersion();
+
+    @Query("SELECT new org.example.tesis_yorum.dto.FacilityScoreRow(" +
+            "f.id, f.name, f.city, f.type, a.reviewCount, a.ratingSum, a.score) " +
+            "FROM FacilityRatingAggregate a JOIN Facility f ON f.id = a.facilityId " +
+            "WHERE a.score >= :minScore AND a.reviewCount >= :minReviews " +
+            "ORDER BY a.score DESC, a.reviewCount DESC, a.facilityId")
+    List<FacilityScoreRow> findTopByScore(@Param("minScore") double minScore,
+                                          @Param("minReviews") long minReviews,
+                                          Limit limit);
+
+}
@@ -1,14 +1,47 @@
 package org.example.tesis_yorum.repository;
 
+import jakarta.persistence.LockModeType;
+import org.example.tesis_yorum.dto.AttachmentView;
+import org.example.tesis_yorum.entity.AttachmentStatus;
 import org.example.tesis_yorum.entity.FileAttachment;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
 @Repository
 public interface FileAttachmentRepository extends JpaRepository<FileAttachment, Long> {
 
     List<FileAttachment> findByReviewId(Long reviewId);
 
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT a FROM FileAttachment a WHERE a.id = :id")
+    Optional<FileAttachment> findByIdForUpdate(@Param("id") Long id);
+
+    @Query("SELECT a.id FROM FileAttachment a WHERE a.status = :status ORDER BY a.id")
+    List<Long> findIdsByStatus(@Param("status") AttachmentStatus status);
+
+    @Query("SELECT new org.example.tesis_yorum.dto.AttachmentView(" +
+            "a.id, a.review.id, a.originalFilename, a.contentType, a.fileSize, a.status) " +
+            "FROM FileAttachment a WHERE a.review.id IN :reviewIds ORDER BY a.id")
+    List<AttachmentView> findViewsByReviewIdIn(@Param("reviewIds") Collection<Long> reviewIds);
+
+    // Rows are [contentHash, referenceCount]; used before cascading deletes of facilities and users
+    @Query("SELECT a.contentHash, COUNT(a) FROM FileAttachment a " +
+            "WHERE a.review.facility.id = :facilityId AND a.status = org.example.tesis_yorum.entity.AttachmentStatus.READY GROUP BY a.contentHash")
+    List<Object[]> countContentHashesByFacilityId(@Param("facilityId") Long facilityId);
+
+    @Query("SELECT a.contentHash, COUNT(a) FROM FileAttachment a " +
+            "WHERE a.review.user.id = :userId AND a.status = org.example.tesis_yorum.entity.AttachmentStatus.READY GROUP BY a.contentHash")
+    List<Object[]> countContentHashesByUserId(@Param("userId") Long userId);
+
+    @Query("SELECT MAX(a.updatedAt) FROM FileAttachment a")
+    LocalDateTime findLastModified();
+
 }
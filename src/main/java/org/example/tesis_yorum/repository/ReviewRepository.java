@@ -1,13 +1,28 @@
 package org.example.tesis_yorum.repository;
 
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.example.tesis_yorum.dto.ResourceVersion;
+import org.example.tesis_yorum.dto.ReviewExportRow;
+import org.example.tesis_yorum.dto.ReviewRow;
 import org.example.tesis_yorum.entity.Review;
 import org.example.tesis_yorum.entity.ReviewStatus;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
 public interface ReviewRepository extends JpaRepository<Review, Long> {
@@ -20,12 +35,148 @@ public interface ReviewRepository extends JpaRepository<Review, Long> {
 
     List<Review> findByFacilityIdAndStatus(Long facilityId, ReviewStatus status);
 
+    int EXPORT_FETCH_SIZE = 500;
+
+    String REVIEW_ROW_SELECT = "SELECT new org.example.tesis_yorum.dto.ReviewRow(" +
+            "r.id, r.content, r.rating, r.status, r.adminNotes, r.createdAt, r.updatedAt, " +
+            "u.id, u.username, u.fullName, f.id, f.name) " +
+            "FROM Review r JOIN r.user u JOIN r.facility f ";
+
+    String NOT_CLAIMED_BY_OTHER =
+            " AND (r.claimedBy IS NULL OR r.claimedBy = :adminId OR r.claimExpiresAt <= :moderatedAt)";
+
+    String NEWEST_FIRST = " ORDER BY r.createdAt DESC, r.id DESC";
+
+    String AFTER_CURSOR = " AND (r.createdAt < :createdAt OR (r.createdAt = :createdAt AND r.id < :id))";
+
+    // Keyset pagination over (createdAt, id), newest first. The "After" variants continue from a cursor.
+    @Query(REVIEW_ROW_SELECT + "WHERE r.status = :status" + NEWEST_FIRST)
+    List<ReviewRow> findPageByStatus(@Param("status") ReviewStatus status, Limit limit);
+
+    @Query(REVIEW_ROW_SELECT + "WHERE r.status = :status" + AFTER_CURSOR + NEWEST_FIRST)
+    List<ReviewRow> findPageByStatusAfter(@Param("status") ReviewStatus status,
+                                          @Param("createdAt") LocalDateTime createdAt,
+                                          @Param("id") Long id,
+                                          Limit limit);
+
+    @Query(REVIEW_ROW_SELECT + "WHERE f.id = :facilityId AND r.status = :status" + NEWEST_FIRST)
+    List<ReviewRow> findPageByFacilityIdAndStatus(@Param("facilityId") Long facilityId,
+                                                  @Param("status") ReviewStatus status,
+                                                  Limit limit);
+
+    @Query(REVIEW_ROW_SELECT + "WHERE f.id = :facilityId AND r.status = :status" + AFTER_CURSOR + NEWEST_FIRST)
+    List<ReviewRow> findPageByFacilityIdAndStatusAfter(@Param("facilityId") Long facilityId,
+                                                       @Param("status") ReviewStatus status,
+                                                       @Param("createdAt") LocalDateTime createdAt,
+                                                       @Param("id") Long id,
+                                                       Limit limit);
+
+    @Query(REVIEW_ROW_SELECT + "WHERE r.id IN :ids ORDER BY r.id")
+    List<ReviewRow> findRowsByIdIn(@Param("ids") Collection<Long> ids);
+
+    @Query("SELECT new org.example.tesis_yorum.dto.ResourceVersion(COUNT(r), MAX(r.updatedAt)) " +
+            "FROM Review r WHERE r.user.id = :userId")
+    ResourceVersion findVersionByUserId(@Param("userId") Long userId);
+
+    @Query(REVIEW_ROW_SELECT + "WHERE u.id = :userId" + NEWEST_FIRST)
+    List<ReviewRow> findPageByUserId(@Param("userId") Long userId, Limit limit);
+
+    @Query(REVIEW_ROW_SELECT + "WHERE u.id = :userId" + AFTER_CURSOR + NEWEST_FIRST)
+    List<ReviewRow> findPageByUserIdAfter(@Param("userId") Long userId,
+                                          @Param("createdAt") LocalDateTime createdAt,
+                                          @Param("id") Long id,
+                                          Limit limit);
+
+    /**
+     * Forward-only stream for the bulk export. Rows are projections, so nothing piles up in the
+     * persistence context, and the fetch size bounds how many rows the driver buffers at a time.
+     * Must be consumed inside a transaction and closed.
+     */
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "" + EXPORT_FETCH_SIZE),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT new org.example.tesis_yorum.dto.ReviewExportRow(" +
+            "r.id, r.facility.id, r.user.id, r.rating, r.status, r.content, r.adminNotes, " +
+            "r.approvedBy, r.approvedAt, r.createdAt, r.updatedAt) " +
+            "FROM Review r WHERE (:status IS NULL OR r.status = :status) " +
+            "AND (:from IS NULL OR r.createdAt >= :from) AND (:to IS NULL OR r.createdAt < :to) " +
+            "ORDER BY r.id")
+    Stream<ReviewExportRow> streamForExport(@Param("status") ReviewStatus status,
+                                            @Param("from") LocalDateTime from,
+                                            @Param("to") LocalDateTime to);
+
     long countByFacilityIdAndStatus(Long facilityId, ReviewStatus status);
 
+    long countByStatus(ReviewStatus status);
+
+    @Query("SELECT MIN(r.createdAt) FROM Review r WHERE r.status = :status")
+    LocalDateTime findOldestCreatedAtByStatus(@Param("status") ReviewStatus status);
+
     @Query("SELECT AVG(r.rating) FROM Review r WHERE r.facility.id = :facilityId AND r.status = 'APPROVED'")
     Double calculateAverageRatingByFacilityId(@Param("facilityId") Long facilityId);
 
     @Query("SELECT r.rating, COUNT(r) FROM Review r WHERE r.facility.id = :facilityId AND r.status = 'APPROVED' GROUP BY r.rating ORDER BY r.rating")
     List<Object[]> getReviewStatisticsByFacility(@Param("facilityId") Long facilityId);
 
+    @Query("SELECT r.facility.id, r.rating, COUNT(r) FROM Review r WHERE r.status = 'APPROVED' GROUP BY r.facility.id, r.rating")
+    List<Object[]> countApprovedRatingsGroupedByFacility();
+
+    @Query("SELECT r.facility.id, r.rating, COUNT(r) FROM Review r WHERE r.user.id = :userId AND r.status = 'APPROVED' " +
+            "GROUP BY r.facility.id, r.rating")
+    List<Object[]> countApprovedRatingsOfUserGroupedByFacility(@Param("userId") Long userId);
+
+    /**
+     * Oldest pending reviews without a live lease. Rows locked by another claiming transaction are
+     * skipped (lock timeout -2 = SKIP LOCKED), so concurrent moderators never receive the same review.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @QueryHints(@QueryHint(name = AvailableSettings.JAKARTA_LOCK_TIMEOUT, value = "-2"))
+    @Query("SELECT r FROM Review r WHERE r.status = org.example.tesis_yorum.entity.ReviewStatus.PENDING " +
+            "AND (r.claimedBy IS NULL OR r.claimExpiresAt <= :now) ORDER BY r.createdAt ASC, r.id ASC")
+    List<Review> findClaimable(@Param("now") LocalDateTime now, Limit limit);
+
+    // Single-review moderation checks the status on the locked row, so concurrent moderations of a review serialize.
+    // The eager associations are fetched in the same statement, as findById does
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT r FROM Review r JOIN FETCH r.user JOIN FETCH r.facility LEFT JOIN FETCH r.attachments " +
+            "WHERE r.id = :id")
+    Optional<Review> findByIdForUpdate(@Param("id") Long id);
+
+    @Modifying
+    @Query("UPDATE Review r SET r.claimedBy = NULL, r.claimExpiresAt = NULL " +
+            "WHERE r.claimedBy IS NOT NULL AND r.claimExpiresAt <= :now")
+    int releaseExpiredClaims(@Param("now") LocalDateTime now);
+
+    // Bulk moderation: rows are [id, status, claimedBy, claimExpiresAt] / [id, facilityId, rating]
+    @Query("SELECT r.id, r.status, r.claimedBy, r.claimExpiresAt FROM Review r WHERE r.id IN :ids")
+    List<Object[]> findStatusesByIdIn(@Param("ids") Collection<Long> ids);
+
+    // Guarded by status so a review moderated concurrently is never transitioned twice
+    @Modifying
+    @Query("UPDATE Review r SET r.status = org.example.tesis_yorum.entity.ReviewStatus.APPROVED, " +
+            "r.approvedBy = :adminId, r.approvedAt = :moderatedAt, r.updatedAt = :moderatedAt, " +
+            "r.claimedBy = NULL, r.claimExpiresAt = NULL " +
+            "WHERE r.id IN :ids AND r.status = org.example.tesis_yorum.entity.ReviewStatus.PENDING" + NOT_CLAIMED_BY_OTHER)
+    int approvePendingByIdIn(@Param("ids") Collection<Long> ids,
+                             @Param("adminId") Long adminId,
+                             @Param("moderatedAt") LocalDateTime moderatedAt);
+
+    @Modifying
+    @Query("UPDATE Review r SET r.status = org.example.tesis_yorum.entity.ReviewStatus.REJECTED, " +
+            "r.approvedBy = :adminId, r.adminNotes = :adminNotes, r.approvedAt = :moderatedAt, r.updatedAt = :moderatedAt, " +
+            "r.claimedBy = NULL, r.claimExpiresAt = NULL " +
+            "WHERE r.id IN :ids AND r.status = org.example.tesis_yorum.entity.ReviewStatus.PENDING" + NOT_CLAIMED_BY_OTHER)
+    int rejectPendingByIdIn(@Param("ids") Collection<Long> ids,
+                            @Param("adminId") Long adminId,
+                            @Param("adminNotes") String adminNotes,
+                            @Param("moderatedAt") LocalDateTime moderatedAt);
+
+    @Query("SELECT r.id, r.facility.id, r.rating FROM Review r WHERE r.id IN :ids AND r.status = :status " +
+            "AND r.approvedBy = :adminId AND r.approvedAt = :moderatedAt")
+    List<Object[]> findModeratedByIdIn(@Param("ids") Collection<Long> ids,
+                                       @Param("status") ReviewStatus status,
+                                       @Param("adminId") Long adminId,
+                                       @Param("moderatedAt") LocalDateTime moderatedAt);
+
 }
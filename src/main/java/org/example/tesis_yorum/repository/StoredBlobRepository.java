@@ -0,0 +1,24 @@
+package org.example.tesis_yorum.repository;
+
+import jakarta.persistence.LockModeType;
+import org.example.tesis_yorum.entity.StoredBlob;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface StoredBlobRepository extends JpaRepository<StoredBlob, String> {
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT b FROM StoredBlob b WHERE b.sha256 = :sha256")
+    Optional<StoredBlob> findByIdForUpdate(@Param("sha256") String sha256);
+
+    @Query("SELECT b.sha256 FROM StoredBlob b WHERE b.referenceCount = :referenceCount")
+    List<String> findSha256ByReferenceCount(@Param("referenceCount") long referenceCount);
+
+}
@@ -1,9 +1,14 @@
 package org.example.tesis_yorum.repository;
 
+import org.example.tesis_yorum.dto.ResourceVersion;
 import org.example.tesis_yorum.entity.User;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 @Repository
@@ -15,5 +20,18 @@ public interface UserRepository extends JpaRepository<User, Long> {
 
     boolean existsByEmail(String email);
 
+    // Bulk import: one lookup per chunk instead of one per row
+    @Query("SELECT u.id FROM User u WHERE u.id IN :ids")
+    List<Long> findExistingIds(@Param("ids") Collection<Long> ids);
+
+    @Query("SELECT u.username FROM User u WHERE u.username IN :usernames")
+    List<String> findExistingUsernames(@Param("usernames") Collection<String> usernames);
+
+    @Query("SELECT u.email FROM User u WHERE u.email IN :emails")
+    List<String> findExistingEmails(@Param("emails") Collection<String> emails);
+
+    // Conditional GET validator for user lists
+    @Query("SELECT new org.example.tesis_yorum.dto.ResourceVersion(COUNT(u), MAX(u.updatedAt)) FROM User u")
+    ResourceVersion findVersion();
 
 }
\ No newline at end of file
@@ -0,0 +1,191 @@
+package org.example.tesis_yorum.search;
+
+import org.example.tesis_yorum.entity.Facility;
+import org.example.tesis_yorum.event.FacilityChangedEvent;
+import org.example.tesis_yorum.event.FacilityDeletedEvent;
+import org.example.tesis_yorum.repository.FacilityRepository;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Tesis adı ve açıklaması üzerinde bellek içi ters indeks (inverted index).
+ *
+ * - Kelimeler {@link TurkishTextNormalizer} ile sadeleştirilir ("İzmir" ve "izmir" aynı kelimedir)
+ * - Çok kelimeli aramalarda bütün kelimeler eşleşmelidir (AND)
+ * - Her kelime tam kelime ya da kelime başı (prefix) olarak eşleşir: "bel" → "belek"
+ * - Sonuçlar ağırlıklı TF-IDF puanına göre sıralanır; isimde geçen kelime açıklamadakinden değerlidir
+ *
+ * İndeks, tesis değişiklikleri commit edildikten sonra güncellenir ve uygulama açılırken veritabanından kurulur.
+ */
+@Component
+public class FacilitySearchIndex {
+
+    private static final int NAME_WEIGHT = 3;
+    private static final int DESCRIPTION_WEIGHT = 1;
+    private static final double PREFIX_MATCH_FACTOR = 0.5;
+
+    private final FacilityRepository facilityRepository;
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    // term -> (facilityId -> weighted term frequency)
+    private TreeMap<String, Map<Long, Integer>> postings = new TreeMap<>();
+    private Map<Long, Set<String>> termsByFacility = new HashMap<>();
+
+    public FacilitySearchIndex(FacilityRepository facilityRepository) {
+        this.facilityRepository = facilityRepository;
+    }
+
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        TreeMap<String, Map<Long, Integer>> newPostings = new TreeMap<>();
+        Map<Long, Set<String>> newTermsByFacility = new HashMap<>();
+        for (Facility facility : facilityRepository.findAll()) {
+            addDocument(newPostings, newTermsByFacility, facility.getId(), facility.getName(), facility.getDescription());
+        }
+
+        lock.writeLock().lock();
+        try {
+            postings = newPostings;
+            termsByFacility = newTermsByFacility;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onFacilityChanged(FacilityChangedEvent event) {
+        lock.writeLock().lock();
+        try {
+            removeDocument(event.facilityId());
+            addDocument(postings, termsByFacility, event.facilityId(), event.name(), event.description());
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onFacilityDeleted(FacilityDeletedEvent event) {
+        lock.writeLock().lock();
+        try {
+            removeDocument(event.facilityId());
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * @return eşleşen tesis ID'leri, en alakalıdan başlayarak
+     */
+    public List<Long> search(String query) {
+        Set<String> queryTerms = new LinkedHashSet<>(TurkishTextNormalizer.tokenize(query));
+        if (queryTerms.isEmpty()) {
+            return new ArrayList<>();
+        }
+
+        lock.readLock().lock();
+        try {
+            Map<Long, Double> scores = null;
+            for (String queryTerm : queryTerms) {
+                Map<Long, Double> termScores = scoreTerm(queryTerm);
+                if (scores == null) {
+                    scores = termScores;
+                } else {
+                    scores.keySet().retainAll(termScores.keySet());
+                    scores.replaceAll((facilityId, score) -> score + termScores.get(facilityId));
+                }
+                if (scores.isEmpty()) {
+                    break;
+                }
+            }
+
+            List<Map.Entry<Long, Double>> ranked = new ArrayList<>(scores.entrySet());
+            ranked.sort(Map.Entry.<Long, Double>comparingByValue(Comparator.reverseOrder())
+                    .thenComparing(Map.Entry.comparingByKey()));
+
+            List<Long> facilityIds = new ArrayList<>(ranked.size());
+            for (Map.Entry<Long, Double> entry : ranked) {
+                facilityIds.add(entry.getKey());
+            }
+            return facilityIds;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return termsByFacility.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+
+    private Map<Long, Double> scoreTerm(String queryTerm) {
+        Map<Long, Double> termScores = new HashMap<>();
+        int documentCount = termsByFacility.size();
+
+        // Every indexed term starting with the query term; the exact term itself scores highest
+        Map<String, Map<Long, Integer>> matches =
+                postings.subMap(queryTerm, true, queryTerm + Character.MAX_VALUE, false);
+        for (Map.Entry<String, Map<Long, Integer>> match : matches.entrySet()) {
+            Map<Long, Integer> posting = match.getValue();
+            double idf = Math.log(1.0 + (double) documentCount / posting.size());
+            double factor = match.getKey().equals(queryTerm) ? 1.0 : PREFIX_MATCH_FACTOR;
+            for (Map.Entry<Long, Integer> entry : posting.entrySet()) {
+                termScores.merge(entry.getKey(), entry.getValue() * idf * factor, Double::sum);
+            }
+        }
+        return termScores;
+    }
+
+    private static void addDocument(TreeMap<String, Map<Long, Integer>> postings,
+                                    Map<Long, Set<String>> termsByFacility,
+                                    Long facilityId, String name, String description) {
+        Map<String, Integer> weights = new HashMap<>();
+        for (String term : TurkishTextNormalizer.tokenize(name)) {
+            weights.merge(term, NAME_WEIGHT, Integer::sum);
+        }
+        for (String term : TurkishTextNormalizer.tokenize(description)) {
+            weights.merge(term, DESCRIPTION_WEIGHT, Integer::sum);
+        }
+
+        for (Map.Entry<String, Integer> entry : weights.entrySet()) {
+            postings.computeIfAbsent(entry.getKey(), term -> new HashMap<>()).put(facilityId, entry.getValue());
+        }
+        termsByFacility.put(facilityId, weights.keySet());
+    }
+
+    private void removeDocument(Long facilityId) {
+        Set<String> terms = termsByFacility.remove(facilityId);
+        if (terms == null) {
+            return;
+        }
+        for (String term : terms) {
+            Map<Long, Integer> posting = postings.get(term);
+            if (posting != null) {
+                posting.remove(facilityId);
+                if (posting.isEmpty()) {
+                    postings.remove(term);
+                }
+            }
+        }
+    }
+}
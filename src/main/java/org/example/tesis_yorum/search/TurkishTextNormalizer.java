@@ -0,0 +1,61 @@
+package org.example.tesis_yorum.search;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Arama için metni Türkçe kurallarına göre küçük harfe çevirip sadeleştirir.
+ *
+ * Örnek:
+ * - "İSTANBUL", "Istanbul", "ıstanbul" → "istanbul"
+ * - "Güneşli Çarşı Oteli" → ["gunesli", "carsi", "oteli"]
+ */
+public final class TurkishTextNormalizer {
+
+    private static final Locale TURKISH = Locale.forLanguageTag("tr-TR");
+
+    private TurkishTextNormalizer() {}
+
+    public static String fold(String text) {
+        if (text == null) {
+            return "";
+        }
+
+        // Turkish lower-casing maps İ→i and I→ı; ı is then folded to i so both spellings meet
+        String lower = text.toLowerCase(TURKISH);
+        StringBuilder folded = new StringBuilder(lower.length());
+        for (int i = 0; i < lower.length(); i++) {
+            char c = lower.charAt(i);
+            switch (c) {
+                case 'ı': folded.append('i'); break;
+                case 'ğ': folded.append('g'); break;
+                case 'ü': folded.append('u'); break;
+                case 'ş': folded.append('s'); break;
+                case 'ö': folded.append('o'); break;
+                case 'ç': folded.append('c'); break;
+                default: folded.append(c);
+            }
+        }
+
+        // Strip remaining diacritics (â, î, é ...) and the dot left over from lower-cased İ
+        return Normalizer.normalize(folded, Normalizer.Form.NFD).replaceAll("\\p{M}+", "");
+    }
+
+    public static List<String> tokenize(String text) {
+        List<String> tokens = new ArrayList<>();
+        String folded = fold(text);
+        int start = -1;
+        for (int i = 0; i <= folded.length(); i++) {
+            boolean wordChar = i < folded.length() && Character.isLetterOrDigit(folded.charAt(i));
+            if (wordChar && start < 0) {
+                start = i;
+            } else if (!wordChar && start >= 0) {
+                tokens.add(folded.substring(start, i));
+                start = -1;
+            }
+        }
+        return tokens;
+    }
+}
@@ -0,0 +1,91 @@
+package org.example.tesis_yorum.seed;
+
+import org.example.tesis_yorum.entity.Facility;
+import org.example.tesis_yorum.entity.FacilityType;
+import org.example.tesis_yorum.entity.User;
+import org.example.tesis_yorum.service.FacilityService;
+import org.example.tesis_yorum.service.ReviewService;
+import org.example.tesis_yorum.service.UserService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.stereotype.Component;
+
+/**
+ * Geliştirme için örnek veriyi (2 kullanıcı, 2 tesis, 2 yorum) oluşturur.
+ *
+ * Sadece {@code seed} profiliyle ({@code app.seed-data.enabled=true}) çalışır; normal açılış ve yeniden başlatmalar
+ * veri yazmaz. Koşul bean tanımında değil çalışma anında kontrol edilir: AOT ile derlenen uygulamada bean tanımları
+ * derleme sırasında sabitlenir ve {@code @Profile} artık açılışta değerlendirilmez.
+ */
+@Component
+public class SeedDataInitializer implements ApplicationRunner {
+
+    private static final Logger log = LoggerFactory.getLogger(SeedDataInitializer.class);
+
+    private final UserService userService;
+    private final FacilityService facilityService;
+    private final ReviewService reviewService;
+    private final boolean enabled;
+
+    public SeedDataInitializer(UserService userService,
+                               FacilityService facilityService,
+                               ReviewService reviewService,
+                               @Value("${app.seed-data.enabled:false}") boolean enabled) {
+        this.userService = userService;
+        this.facilityService = facilityService;
+        this.reviewService = reviewService;
+        this.enabled = enabled;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        if (!enabled) {
+            return;
+        }
+        try {
+            seed();
+            log.info("Seed data created: 2 users, 2 facilities, 2 reviews");
+        } catch (RuntimeException e) {
+            // Usually the data is already there (e.g. a second start against a file database)
+            log.warn("Seed data was not created: {}", e.getMessage());
+        }
+    }
+
+    private void seed() {
+        User regularUser = userService.createRegularUser("zeynep_sonmez", "zeynep_sonmez34@hotmail.com", "Zeynep Sonmez");
+        userService.createAdminUser("admin", "admin07@hotmail.com", "Admin");
+
+        Facility hotel = facilityService.createFacility(
+                "Royal Tsar Belek",
+                FacilityType.HOTEL,
+                "5 Yıldızlı all-inclusive aile oteli",
+                "Belek, Serik/Antalya",
+                "Antalya"
+        );
+
+        Facility restaurant = facilityService.createFacility(
+                "Five Guys",
+                FacilityType.RESTAURANT,
+                "New York merkezli Hamburger zinciri",
+                "Levent",
+                "Istanbul"
+        );
+
+        reviewService.createReview(
+                regularUser.getId(),
+                hotel.getId(),
+                "Muazzam hizmet, Muazzam kalite",
+                5
+        );
+
+        reviewService.createReview(
+                regularUser.getId(),
+                restaurant.getId(),
+                "Fiyatlar biraz tuzlu ama lezzetli",
+                4
+        );
+    }
+}
@@ -0,0 +1,175 @@
+package org.example.tesis_yorum.service;
+
+import org.example.tesis_yorum.config.AttachmentProcessingConfig;
+import org.example.tesis_yorum.entity.FileAttachment;
+import org.example.tesis_yorum.event.AttachmentsStagedEvent;
+import org.example.tesis_yorum.event.StoredBlobReleasedEvent;
+import org.example.tesis_yorum.metrics.ReviewMetrics;
+import org.example.tesis_yorum.thumbnail.ThumbnailService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+
+/**
+ * Geçici alana alınmış dosya eklerini arka planda işler.
+ *
+ * Yorum, ekler saklanmayı beklemeden commit edilir. Her ek için dosya geçici alandan içerik adresine
+ * taşınır, ek READY olur ve küçük resimleri üretilmeye başlanır; dosya işlenemezse ek FAILED olarak işaretlenir.
+ * İşlemler kısa transaction'larla yapılır, dosya işlemleri sırasında veritabanı bağlantısı tutulmaz.
+ *
+ * Kuyruk doluysa ek PENDING kalır; açılışta ve {@code app.attachments.requeue-interval} aralığıyla PENDING ekler
+ * yeniden kuyruğa alınır. Kuyrukta bekleyen veya işlenen bir ek ikinci kez kuyruğa alınmaz.
+ *
+ * Son referansı bırakılan içeriğin dosyası da bu havuzda silinir: commit sonrasında istek thread'inde ikinci bir
+ * bağlantı açılmaz. Kuyruk doluysa satır sıfır referansla kalır ve yeniden kuyruğa almada silinir.
+ */
+@Service
+public class AttachmentProcessingService {
+
+    private static final Logger log = LoggerFactory.getLogger(AttachmentProcessingService.class);
+
+    private final FileAttachmentService fileAttachmentService;
+    private final ThumbnailService thumbnailService;
+    private final ReviewMetrics reviewMetrics;
+    private final TaskExecutor attachmentExecutor;
+
+    private final Set<Long> queuedIds = ConcurrentHashMap.newKeySet();
+    private final Set<String> queuedBlobHashes = ConcurrentHashMap.newKeySet();
+
+    @Autowired
+    public AttachmentProcessingService(FileAttachmentService fileAttachmentService,
+                                       ThumbnailService thumbnailService,
+                                       ReviewMetrics reviewMetrics,
+                                       @Qualifier(AttachmentProcessingConfig.ATTACHMENT_EXECUTOR) TaskExecutor attachmentExecutor) {
+        this.fileAttachmentService = fileAttachmentService;
+        this.thumbnailService = thumbnailService;
+        this.reviewMetrics = reviewMetrics;
+        this.attachmentExecutor = attachmentExecutor;
+    }
+
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onAttachmentsStaged(AttachmentsStagedEvent event) {
+        submit(event.attachmentIds());
+    }
+
+
+    // The deleting request still holds its connection after commit, so the cleanup runs on the pool
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onStoredBlobReleased(StoredBlobReleasedEvent event) {
+        submitBlobCleanup(List.of(event.sha256()));
+    }
+
+
+    /**
+     * Uygulama kapanırken yarım kalan ve kuyruk dolu olduğu için reddedilen ekleri ve silinmeyi bekleyen
+     * dosyaları yeniden kuyruğa alır.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(fixedDelayString = "${app.attachments.requeue-interval:PT1M}",
+            initialDelayString = "${app.attachments.requeue-interval:PT1M}")
+    public void resumePendingAttachments() {
+        int submitted = submit(fileAttachmentService.getPendingAttachmentIds());
+        if (submitted > 0) {
+            log.info("Resuming {} pending attachments", submitted);
+        }
+        int cleanups = submitBlobCleanup(fileAttachmentService.getUnreferencedBlobHashes());
+        if (cleanups > 0) {
+            log.info("Resuming cleanup of {} unreferenced files", cleanups);
+        }
+    }
+
+
+    public void processAttachment(Long attachmentId) {
+        Optional<FileAttachment> pending = fileAttachmentService.findPendingAttachment(attachmentId);
+        if (pending.isEmpty()) {
+            return;
+        }
+
+        FileAttachment attachment = pending.get();
+        try {
+            Optional<FileStorageService.StoredFile> stored = fileAttachmentService.completeFileAttachment(attachmentId);
+            if (stored.isEmpty()) {
+                return;
+            }
+            FileStorageService.StoredFile storedFile = stored.get();
+            if (!storedFile.deduplicated()) {
+                reviewMetrics.bytesStored(storedFile.size());
+            }
+            thumbnailService.generateAll(storedFile.storedFilename(), attachment.getContentType());
+        } catch (RuntimeException ex) {
+            log.warn("Could not process attachment {}: {}", attachmentId, ex.getMessage());
+            fileAttachmentService.failFileAttachment(attachmentId, ex.getMessage());
+        }
+    }
+
+
+    private int submit(List<Long> attachmentIds) {
+        int submitted = 0;
+        int rejected = 0;
+        for (Long attachmentId : attachmentIds) {
+            if (!queuedIds.add(attachmentId)) {
+                continue;
+            }
+            try {
+                attachmentExecutor.execute(() -> {
+                    try {
+                        processAttachment(attachmentId);
+                    } finally {
+                        queuedIds.remove(attachmentId);
+                    }
+                });
+                submitted++;
+            } catch (RejectedExecutionException ex) {
+                queuedIds.remove(attachmentId);
+                rejected++;
+            }
+        }
+        if (rejected > 0) {
+            log.warn("Attachment queue is full, {} attachments stay pending until the next requeue", rejected);
+        }
+        return submitted;
+    }
+
+    private int submitBlobCleanup(List<String> hashes) {
+        int submitted = 0;
+        int rejected = 0;
+        for (String sha256 : hashes) {
+            if (!queuedBlobHashes.add(sha256)) {
+                continue;
+            }
+            try {
+                attachmentExecutor.execute(() -> {
+                    try {
+                        fileAttachmentService.deleteBlobIfUnreferenced(sha256);
+                    } catch (RuntimeException ex) {
+                        log.warn("Could not delete unreferenced file {}: {}", sha256, ex.getMessage());
+                    } finally {
+                        queuedBlobHashes.remove(sha256);
+                    }
+                });
+                submitted++;
+            } catch (RejectedExecutionException ex) {
+                queuedBlobHashes.remove(sha256);
+                rejected++;
+            }
+        }
+        if (rejected > 0) {
+            log.warn("Attachment queue is full, {} unreferenced files stay until the next requeue", rejected);
+        }
+        return submitted;
+    }
+}
@@ -0,0 +1,49 @@
+package org.example.tesis_yorum.service;
+
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import org.example.tesis_yorum.dto.CacheStatistics;
+import org.example.tesis_yorum.exceptions.UnauthorizedException;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.caffeine.CaffeineCache;
+import org.springframework.cache.transaction.TransactionAwareCacheDecorator;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Service
+public class CacheStatisticsService {
+
+    private final CacheManager cacheManager;
+    private final UserService userService;
+
+    @Autowired
+    public CacheStatisticsService(CacheManager cacheManager, UserService userService) {
+        this.cacheManager = cacheManager;
+        this.userService = userService;
+    }
+
+
+    public List<CacheStatistics> getStatistics(Long adminId) {
+        if (!userService.isAdmin(adminId)) {
+            throw new UnauthorizedException("Admin privileges required for this operation");
+        }
+
+        List<CacheStatistics> statistics = new ArrayList<>();
+        for (String name : cacheManager.getCacheNames()) {
+            Cache cache = cacheManager.getCache(name);
+            if (cache instanceof TransactionAwareCacheDecorator decorator) {
+                cache = decorator.getTargetCache();
+            }
+            if (cache instanceof CaffeineCache caffeineCache) {
+                com.github.benmanes.caffeine.cache.Cache<Object, Object> nativeCache = caffeineCache.getNativeCache();
+                CacheStats stats = nativeCache.stats();
+                statistics.add(new CacheStatistics(name, nativeCache.estimatedSize(), stats.hitCount(),
+                        stats.missCount(), stats.hitRate(), stats.evictionCount()));
+            }
+        }
+        return statistics;
+    }
+}
@@ -0,0 +1,257 @@
+package org.example.tesis_yorum.service;
+
+import org.example.tesis_yorum.dto.FacilityScoreRow;
+import org.example.tesis_yorum.dto.LeaderboardEntry;
+import org.example.tesis_yorum.dto.ResourceVersion;
+import org.example.tesis_yorum.entity.FacilityRatingAggregate;
+import org.example.tesis_yorum.event.FacilityRatingChangedEvent;
+import org.example.tesis_yorum.event.FacilityRatingsRebuiltEvent;
+import org.example.tesis_yorum.event.RatingPriorChangedEvent;
+import org.example.tesis_yorum.repository.FacilityRatingAggregateRepository;
+import org.example.tesis_yorum.repository.ReviewRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+/**
+ * Tesis puan özetlerini ve Bayes puanını günceller.
+ *
+ * Bayes puanının önseli (bütün onaylı yorumların ortalaması) her yorumda değil, belirli aralıklarla
+ * yeniden hesaplanır; arada yapılan güncellemeler bilinen son önseli kullanır.
+ */
+@Service
+@Transactional
+public class FacilityRatingService {
+
+    private static final Logger log = LoggerFactory.getLogger(FacilityRatingService.class);
+
+    public static final int MAX_TOP_RATED_LIMIT = 100;
+
+    // Prior mean used until there is at least one approved review (middle of the 1-5 scale)
+    static final double DEFAULT_PRIOR_MEAN = 3.0;
+
+    private final FacilityRatingAggregateRepository aggregateRepository;
+    private final ReviewRepository reviewRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final double priorWeight;
+
+    private volatile double priorMean = DEFAULT_PRIOR_MEAN;
+    private final AtomicLong ratingsRevision = new AtomicLong();
+
+    @Autowired
+    public FacilityRatingService(FacilityRatingAggregateRepository aggregateRepository,
+                                 ReviewRepository reviewRepository,
+                                 ApplicationEventPublisher eventPublisher,
+                                 @Value("${app.rating.prior-weight:10}") double priorWeight) {
+        if (priorWeight <= 0) {
+            throw new IllegalArgumentException("app.rating.prior-weight must be positive");
+        }
+        this.aggregateRepository = aggregateRepository;
+        this.reviewRepository = reviewRepository;
+        this.eventPublisher = eventPublisher;
+        this.priorWeight = priorWeight;
+    }
+
+
+    /**
+     * Tesis oluşturulurken aynı transaction'da çağrılır: puan güncellemeleri kilitleyecek satırı her zaman bulur.
+     */
+    public void createAggregate(Long facilityId) {
+        createAggregates(List.of(facilityId));
+    }
+
+
+    public void createAggregates(Collection<Long> facilityIds) {
+        if (!facilityIds.isEmpty()) {
+            aggregateRepository.insertEmptyAggregates(facilityIds, emptyScore());
+        }
+    }
+
+
+    public void recordApproved(Long facilityId, int rating) {
+        FacilityRatingAggregate aggregate = lockAggregate(facilityId);
+        aggregate.addRating(rating, 1);
+        save(aggregate);
+    }
+
+
+    /**
+     * Toplu onayda bir tesisin bütün yeni puanlarını tek kilit ve tek güncellemeyle ekler.
+     */
+    public void recordApproved(Long facilityId, Map<Integer, Long> ratingCounts) {
+        FacilityRatingAggregate aggregate = lockAggregate(facilityId);
+        ratingCounts.forEach(aggregate::addRating);
+        save(aggregate);
+    }
+
+
+    public void recordRemoved(Long facilityId, int rating) {
+        FacilityRatingAggregate aggregate = lockAggregate(facilityId);
+        aggregate.removeRating(rating, 1);
+        save(aggregate);
+    }
+
+
+    /**
+     * Bir tesisten birden çok onaylı yorum aynı anda kalktığında (ör. kullanıcı silinince) tek güncellemeyle düşer.
+     */
+    public void recordRemoved(Long facilityId, Map<Integer, Long> ratingCounts) {
+        FacilityRatingAggregate aggregate = lockAggregate(facilityId);
+        ratingCounts.forEach(aggregate::removeRating);
+        save(aggregate);
+    }
+
+
+    /**
+     * Kullanıcı silinmeden önce çağrılır: kullanıcının onaylı yorumları, silme cascade ile yorum tablosundan
+     * kalkmadan önce ilgili tesis özetlerinden düşülür.
+     */
+    public void removeRatingsOfUser(Long userId) {
+        // Sorted so concurrent updates lock facility aggregates in the same order
+        Map<Long, Map<Integer, Long>> ratingsByFacility = new TreeMap<>();
+        for (Object[] row : reviewRepository.countApprovedRatingsOfUserGroupedByFacility(userId)) {
+            ratingsByFacility.computeIfAbsent((Long) row[0], facilityId -> new TreeMap<>())
+                    .put((Integer) row[1], ((Number) row[2]).longValue());
+        }
+        ratingsByFacility.forEach(this::recordRemoved);
+    }
+
+
+    public void deleteAggregate(Long facilityId) {
+        aggregateRepository.deleteById(facilityId);
+    }
+
+
+    @Transactional(readOnly = true)
+    public FacilityRatingAggregate getAggregate(Long facilityId) {
+        return aggregateRepository.findById(facilityId)
+                .orElseGet(() -> {
+                    FacilityRatingAggregate empty = new FacilityRatingAggregate(facilityId);
+                    empty.updateScore(priorMean, priorWeight);
+                    return empty;
+                });
+    }
+
+    /**
+     * Bayes puanına göre en iyi tesisler; puan indeksinden okunur.
+     */
+    @Transactional(readOnly = true)
+    public List<LeaderboardEntry> getTopRated(double minScore, long minReviews, int limit) {
+        if (limit < 1 || limit > MAX_TOP_RATED_LIMIT) {
+            throw new IllegalArgumentException("Limit must be between 1 and " + MAX_TOP_RATED_LIMIT);
+        }
+        if (minReviews < 0) {
+            throw new IllegalArgumentException("Minimum review count must not be negative");
+        }
+
+        List<FacilityScoreRow> rows = aggregateRepository.findTopByScore(minScore, minReviews, Limit.of(limit));
+        List<LeaderboardEntry> top = new ArrayList<>(rows.size());
+        for (FacilityScoreRow row : rows) {
+            top.add(new LeaderboardEntry(top.size() + 1, row.facilityId(), row.name(), row.city(), row.type(),
+                    row.reviewCount(), row.averageRating(), row.score()));
+        }
+        return top;
+    }
+
+    @Transactional(readOnly = true)
+    public ResourceVersion getRatingsVersion() {
+        return aggregateRepository.findVersion();
+    }
+
+    public double getPriorMean() {
+        return priorMean;
+    }
+
+    /**
+     * Önseli bütün tesislerin özetlerinden yeniden hesaplar ve değişen puanları tek UPDATE ile yazar.
+     * Uygulama açılırken de bir kez çalışır.
+     *
+     * @return puanı değişen tesis sayısı
+     */
+    @Scheduled(fixedDelayString = "${app.rating.prior-refresh-interval:PT1H}")
+    public int refreshPrior() {
+        Object[] totals = aggregateRepository.sumRatingsAndCounts().get(0);
+        priorMean = priorMeanOf(((Number) totals[0]).longValue(), ((Number) totals[1]).longValue());
+
+        int updated = aggregateRepository.updateScores(priorWeight * priorMean, priorWeight);
+        if (updated > 0) {
+            log.debug("Rating prior is now {}, rescored {} facilities", priorMean, updated);
+            eventPublisher.publishEvent(new RatingPriorChangedEvent(priorMean, priorWeight));
+        }
+        return updated;
+    }
+
+    /**
+     * Bütün tesislerin özetlerini yorum tablosundan tek bir GROUP BY sorgusuyla yeniden hesaplar.
+     * Satırlar silinmez, kilitlenip sıfırlanır; özeti eksik tesislere boş özet eklenir.
+     *
+     * @return onaylı yorumu olan tesis sayısı
+     */
+    public int rebuildAll() {
+        aggregateRepository.insertMissingAggregates(emptyScore());
+        Map<Long, FacilityRatingAggregate> aggregates = new HashMap<>();
+        for (FacilityRatingAggregate aggregate : aggregateRepository.findAllForUpdate()) {
+            aggregate.clearRatings();
+            aggregates.put(aggregate.getFacilityId(), aggregate);
+        }
+
+        long totalSum = 0;
+        long totalCount = 0;
+        List<Object[]> rows = reviewRepository.countApprovedRatingsGroupedByFacility();
+        for (Object[] row : rows) {
+            Long facilityId = (Long) row[0];
+            int rating = (Integer) row[1];
+            long count = ((Number) row[2]).longValue();
+
+            aggregates.get(facilityId).addRating(rating, count);
+            totalSum += (long) rating * count;
+            totalCount += count;
+        }
+
+        priorMean = priorMeanOf(totalSum, totalCount);
+        for (FacilityRatingAggregate aggregate : aggregates.values()) {
+            aggregate.updateScore(priorMean, priorWeight);
+        }
+        long revision = ratingsRevision.incrementAndGet();
+        eventPublisher.publishEvent(new FacilityRatingsRebuiltEvent(aggregates.values().stream()
+                .map(aggregate -> FacilityRatingChangedEvent.of(aggregate, revision))
+                .collect(Collectors.toList()), revision));
+        return (int) aggregates.values().stream().filter(aggregate -> aggregate.getReviewCount() > 0).count();
+    }
+
+
+    private static double priorMeanOf(long ratingSum, long reviewCount) {
+        return reviewCount == 0 ? DEFAULT_PRIOR_MEAN : (double) ratingSum / reviewCount;
+    }
+
+    private void save(FacilityRatingAggregate aggregate) {
+        aggregate.updateScore(priorMean, priorWeight);
+        aggregateRepository.save(aggregate);
+        // Taken while the aggregate row is locked, so a later commit for the same facility gets a higher revision
+        eventPublisher.publishEvent(FacilityRatingChangedEvent.of(aggregate, ratingsRevision.incrementAndGet()));
+    }
+
+    private double emptyScore() {
+        return FacilityRatingAggregate.bayesianScore(0, 0, priorMean, priorWeight);
+    }
+
+    private FacilityRatingAggregate lockAggregate(Long facilityId) {
+        return aggregateRepository.findByIdForUpdate(facilityId)
+                .orElseThrow(() -> new IllegalStateException("Rating aggregate is missing for facility " + facilityId));
+    }
+}
@@ -1,24 +1,48 @@
 package org.example.tesis_yorum.service;
 
+import org.example.tesis_yorum.config.CacheConfig;
+import org.example.tesis_yorum.dto.ResourceVersion;
 import org.example.tesis_yorum.entity.Facility;
 import org.example.tesis_yorum.entity.FacilityType;
+import org.example.tesis_yorum.event.FacilityChangedEvent;
+import org.example.tesis_yorum.event.FacilityDeletedEvent;
 import org.example.tesis_yorum.exceptions.ResourceNotFoundException;
 import org.example.tesis_yorum.repository.FacilityRepository;
+import org.example.tesis_yorum.search.FacilitySearchIndex;
+import org.example.tesis_yorum.search.TurkishTextNormalizer;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 @Service
 @Transactional
 public class FacilityService {
 
     private final FacilityRepository facilityRepository;
+    private final FacilityRatingService facilityRatingService;
+    private final FacilitySearchIndex facilitySearchIndex;
+    private final FileAttachmentService fileAttachmentService;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Autowired
-    public FacilityService(FacilityRepository facilityRepository) {
+    public FacilityService(FacilityRepository facilityRepository,
+                           FacilityRatingService facilityRatingService,
+                           FacilitySearchIndex facilitySearchIndex,
+                           FileAttachmentService fileAttachmentService,
+                           ApplicationEventPublisher eventPublisher) {
         this.facilityRepository = facilityRepository;
+        this.facilityRatingService = facilityRatingService;
+        this.facilitySearchIndex = facilitySearchIndex;
+        this.fileAttachmentService = fileAttachmentService;
+        this.eventPublisher = eventPublisher;
     }
 
 
@@ -26,7 +50,10 @@ public class FacilityService {
         if (facility == null) {
             throw new IllegalArgumentException("Facility cannot be null");
         }
-        return facilityRepository.save(facility);
+        Facility savedFacility = facilityRepository.save(facility);
+        facilityRatingService.createAggregate(savedFacility.getId());
+        eventPublisher.publishEvent(FacilityChangedEvent.of(savedFacility));
+        return savedFacility;
     }
 
 
@@ -36,6 +63,7 @@ public class FacilityService {
     }
 
 
+    @Cacheable(cacheNames = CacheConfig.FACILITIES, key = "#id")
     @Transactional(readOnly = true)
     public Facility getFacilityById(Long id) {
         return facilityRepository.findById(id)
@@ -48,11 +76,43 @@ public class FacilityService {
         return facilityRepository.findAll();
     }
 
+
+    @Transactional(readOnly = true)
+    public ResourceVersion getFacilitiesVersion() {
+        return facilityRepository.findVersion();
+    }
+
+    /**
+     * Aramayı bellek içi indeksten yapar; veritabanına sadece bulunan ID'lerle birincil anahtar sorgusu gider.
+     * Sonuçlar alaka puanına göre sıralıdır. Boş arama bütün tesisleri döner.
+     */
     @Transactional(readOnly = true)
     public List<Facility> searchFacilities(String keyword) {
-        return facilityRepository.searchByNameOrDescription(keyword);
+        if (TurkishTextNormalizer.tokenize(keyword).isEmpty()) {
+            return getAllFacilities();
+        }
+
+        List<Long> rankedIds = facilitySearchIndex.search(keyword);
+        if (rankedIds.isEmpty()) {
+            return new ArrayList<>();
+        }
+
+        Map<Long, Facility> facilitiesById = new HashMap<>();
+        for (Facility facility : facilityRepository.findAllById(rankedIds)) {
+            facilitiesById.put(facility.getId(), facility);
+        }
+
+        List<Facility> results = new ArrayList<>(rankedIds.size());
+        for (Long id : rankedIds) {
+            Facility facility = facilitiesById.get(id);
+            if (facility != null) {
+                results.add(facility);
+            }
+        }
+        return results;
     }
 
+    @CacheEvict(cacheNames = CacheConfig.FACILITIES, key = "#id")
     public Facility updateFacility(Long id, Facility updatedFacility) {
         Facility existingFacility = getFacilityById(id);
 
@@ -62,13 +122,19 @@ public class FacilityService {
         existingFacility.setCity(updatedFacility.getCity());
         existingFacility.setType(updatedFacility.getType());
 
-        return facilityRepository.save(existingFacility);
+        Facility savedFacility = facilityRepository.save(existingFacility);
+        eventPublisher.publishEvent(FacilityChangedEvent.of(savedFacility));
+        return savedFacility;
     }
 
 
+    @CacheEvict(cacheNames = CacheConfig.FACILITIES, key = "#id")
     public void deleteFacility(Long id) {
         Facility facility = getFacilityById(id);
+        fileAttachmentService.releaseAttachmentsOfFacility(id);
         facilityRepository.delete(facility);
+        facilityRatingService.deleteAggregate(id);
+        eventPublisher.publishEvent(new FacilityDeletedEvent(id));
     }
 
 }
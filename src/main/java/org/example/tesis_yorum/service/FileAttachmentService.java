@@ -1,50 +1,184 @@
 package org.example.tesis_yorum.service;
 
+import org.example.tesis_yorum.entity.AttachmentStatus;
 import org.example.tesis_yorum.entity.FileAttachment;
 import org.example.tesis_yorum.entity.Review;
+import org.example.tesis_yorum.entity.StoredBlob;
+import org.example.tesis_yorum.event.AttachmentsStagedEvent;
+import org.example.tesis_yorum.event.StoredBlobReleasedEvent;
 import org.example.tesis_yorum.exceptions.ResourceNotFoundException;
+import org.example.tesis_yorum.metrics.ReviewMetrics;
 import org.example.tesis_yorum.repository.FileAttachmentRepository;
+import org.example.tesis_yorum.repository.StoredBlobRepository;
+import org.example.tesis_yorum.thumbnail.ThumbnailService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 import org.springframework.web.multipart.MultipartFile;
 
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Collectors;
 
+/**
+ * Dosya ekleri içerik adresli saklanır: aynı resim kaç kez yüklenirse yüklensin diskte tek dosya olur.
+ * Her içerik için bir {@link StoredBlob} satırı referans sayısını tutar; dosya ve küçük resimleri
+ * son referansla birlikte silinir. Diskteki dosyaya dokunan her işlem (taşıma, tekrar kullanma, silme)
+ * bu satır kilitliyken yapılır.
+ */
 @Service
 @Transactional
 public class FileAttachmentService {
 
+    private static final int MAX_FAILURE_REASON_LENGTH = 255;
+    private static final int MAX_BLOB_LOCK_ATTEMPTS = 3;
+
     private final FileAttachmentRepository fileAttachmentRepository;
+    private final StoredBlobRepository storedBlobRepository;
     private final FileStorageService fileStorageService;
+    private final ThumbnailService thumbnailService;
+    private final ReviewMetrics reviewMetrics;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TransactionTemplate transactionTemplate;
 
     @Autowired
     public FileAttachmentService(FileAttachmentRepository fileAttachmentRepository,
-                                 FileStorageService fileStorageService) {
+                                 StoredBlobRepository storedBlobRepository,
+                                 FileStorageService fileStorageService,
+                                 ThumbnailService thumbnailService,
+                                 ReviewMetrics reviewMetrics,
+                                 ApplicationEventPublisher eventPublisher,
+                                 PlatformTransactionManager transactionManager) {
         this.fileAttachmentRepository = fileAttachmentRepository;
+        this.storedBlobRepository = storedBlobRepository;
         this.fileStorageService = fileStorageService;
+        this.thumbnailService = thumbnailService;
+        this.reviewMetrics = reviewMetrics;
+        this.eventPublisher = eventPublisher;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+
+    /**
+     * Dosyaları doğrulayıp geçici alana yazar. Transaction dışında çağrılmalıdır:
+     * disk yazımı sırasında veritabanı bağlantısı tutulmaz.
+     */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public List<FileStorageService.StagedFile> stageFiles(List<MultipartFile> files) {
+        List<FileStorageService.StagedFile> stagedFiles = new ArrayList<>();
+        if (files == null) {
+            return stagedFiles;
+        }
+
+        try {
+            for (MultipartFile file : files) {
+                if (!file.isEmpty()) {
+                    stagedFiles.add(fileStorageService.stageFile(file));
+                }
+            }
+        } catch (RuntimeException ex) {
+            discardStagedFiles(stagedFiles);
+            throw ex;
+        }
+        stagedFiles.forEach(stagedFile -> reviewMetrics.uploadAccepted(stagedFile.size()));
+        return stagedFiles;
     }
 
 
-    public FileAttachment createFileAttachment(Review review, MultipartFile file) {
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public void discardStagedFiles(List<FileStorageService.StagedFile> stagedFiles) {
+        for (FileStorageService.StagedFile stagedFile : stagedFiles) {
+            fileStorageService.deleteStagedFile(stagedFile.stagedFilename());
+        }
+    }
+
+    /**
+     * Geçici alandaki dosyalar için PENDING ekler oluşturur. Dosyaların saklanması commit sonrasında
+     * {@link AttachmentProcessingService} tarafından arka planda yapılır.
+     */
+    public List<FileAttachment> createPendingAttachments(Review review, List<FileStorageService.StagedFile> stagedFiles) {
         if (review == null) {
             throw new IllegalArgumentException("Review cannot be null");
         }
 
-        // Store the file and get the stored filename
-        String storedFilename = fileStorageService.storeFile(file);
+        List<FileAttachment> attachments = new ArrayList<>();
+        for (FileStorageService.StagedFile stagedFile : stagedFiles) {
+            attachments.add(new FileAttachment(stagedFile.originalFilename(), stagedFile.contentType(),
+                    stagedFile.size(), stagedFile.sha256(), stagedFile.stagedFilename(), review));
+        }
+
+        attachments = fileAttachmentRepository.saveAll(attachments);
+        review.getAttachments().addAll(attachments);
+
+        List<Long> attachmentIds = attachments.stream().map(FileAttachment::getId).collect(Collectors.toList());
+        eventPublisher.publishEvent(new AttachmentsStagedEvent(attachmentIds));
+        return attachments;
+    }
+
+    /**
+     * Geçici alandaki dosyayı içerik adresine taşır, eke bağlar ve READY yapar. Ek bu arada silinmiş veya
+     * işlenmişse hiçbir şey yapılmaz ve boş döner.
+     *
+     * İçeriğin referansı dosyaya dokunmadan önce alınır: {@link StoredBlob} satırı (yoksa referanssız olarak
+     * eklenip) kilitlenir, sayaç artırılır, dosya ancak bundan sonra taşınır veya mevcut kopya kullanılır.
+     * Satır vardı ama dosya silinmişse geçici dosya yerine taşınır. Dosya taşındıktan sonra transaction geri
+     * alınırsa referanssız kalan dosya silinir.
+     */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public Optional<FileStorageService.StoredFile> completeFileAttachment(Long id) {
+        Optional<FileAttachment> pending = fileAttachmentRepository.findById(id).filter(FileAttachment::isPending);
+        if (pending.isEmpty()) {
+            return Optional.empty();
+        }
+
+        FileAttachment attachment = pending.get();
+        String sha256 = attachment.getContentHash();
+        String storedFilename = fileStorageService.contentAddress(sha256, attachment.getContentType());
+        for (int attempt = 1; attempt <= MAX_BLOB_LOCK_ATTEMPTS; attempt++) {
+            insertBlobIfAbsent(sha256, storedFilename, attachment.getContentType(), attachment.getFileSize());
+            Optional<FileStorageService.StoredFile> stored;
+            try {
+                stored = transactionTemplate.execute(status -> acquireAndStore(id));
+            } catch (RuntimeException ex) {
+                discardOrphanedBlob(sha256, ex);
+                throw ex;
+            }
+            // null: the blob row was cleaned up between the insert and the lock
+            if (stored != null) {
+                if (stored.isEmpty()) {
+                    transactionTemplate.executeWithoutResult(status -> deleteIfUnreferenced(sha256));
+                }
+                return stored;
+            }
+        }
+        throw new IllegalStateException("Could not lock stored blob " + sha256);
+    }
+
 
-        // Create file attachment entity
-        FileAttachment attachment = new FileAttachment(
-                file.getOriginalFilename(),
-                storedFilename,
-                fileStorageService.getFileStorageLocation().resolve(storedFilename).toString(),
-                file.getContentType(),
-                file.getSize(),
-                review
-        );
+    public void failFileAttachment(Long id, String reason) {
+        fileAttachmentRepository.findByIdForUpdate(id)
+                .filter(FileAttachment::isPending)
+                .ifPresent(attachment -> {
+                    fileStorageService.deleteStagedFile(attachment.getStagedFilename());
+                    attachment.markFailed(abbreviate(reason));
+                    fileAttachmentRepository.save(attachment);
+                });
+    }
+
+    @Transactional(readOnly = true)
+    public Optional<FileAttachment> findPendingAttachment(Long id) {
+        return fileAttachmentRepository.findById(id).filter(FileAttachment::isPending);
+    }
 
-        return fileAttachmentRepository.save(attachment);
+    @Transactional(readOnly = true)
+    public List<Long> getPendingAttachmentIds() {
+        return fileAttachmentRepository.findIdsByStatus(AttachmentStatus.PENDING);
     }
 
     @Transactional(readOnly = true)
@@ -55,6 +189,18 @@ public class FileAttachmentService {
 
 
 
+    /**
+     * İndirilebilir (READY) eki döner; dosyası henüz işlenmemiş veya işlenememiş ekler için 409.
+     */
+    @Transactional(readOnly = true)
+    public FileAttachment getReadyAttachment(Long id) {
+        FileAttachment attachment = getFileAttachmentById(id);
+        if (attachment.getStatus() != AttachmentStatus.READY) {
+            throw new IllegalStateException("File attachment " + id + " is not available: " + attachment.getStatus());
+        }
+        return attachment;
+    }
+
     @Transactional(readOnly = true)
     public List<FileAttachment> getAttachmentsByReview(Long reviewId) {
         return fileAttachmentRepository.findByReviewId(reviewId);
@@ -64,12 +210,131 @@ public class FileAttachmentService {
     public void deleteFileAttachment(Long id) {
         FileAttachment attachment = getFileAttachmentById(id);
 
-        // Delete the physical file
-        fileStorageService.deleteFile(attachment.getStoredFilename());
-
-        // Delete the database record
+        // Delete the database record; the physical file goes only with its last reference
         fileAttachmentRepository.delete(attachment);
+        if (attachment.getStatus() == AttachmentStatus.READY) {
+            releaseBlob(attachment.getContentHash(), 1);
+        }
+        if (attachment.getStagedFilename() != null) {
+            fileStorageService.deleteStagedFile(attachment.getStagedFilename());
+        }
+    }
+
+    /**
+     * Tesis silinmeden önce çağrılır: ekler cascade ile silineceği için referansları burada bırakılır.
+     */
+    public void releaseAttachmentsOfFacility(Long facilityId) {
+        releaseBlobs(fileAttachmentRepository.countContentHashesByFacilityId(facilityId));
+    }
+
+    /**
+     * Kullanıcı silinmeden önce çağrılır: ekler cascade ile silineceği için referansları burada bırakılır.
+     */
+    public void releaseAttachmentsOfUser(Long userId) {
+        releaseBlobs(fileAttachmentRepository.countContentHashesByUserId(userId));
+    }
+
+    /**
+     * Son referansı bırakılmış içeriğin dosyasını, küçük resimlerini ve satırını siler. Sayaç satır kilitliyken
+     * yeniden kontrol edilir: aynı içerik bu arada tekrar yüklenmiş olabilir.
+     */
+    public void deleteBlobIfUnreferenced(String sha256) {
+        deleteIfUnreferenced(sha256);
+    }
+
+    @Transactional(readOnly = true)
+    public List<String> getUnreferencedBlobHashes() {
+        return storedBlobRepository.findSha256ByReferenceCount(0);
+    }
+
+
+    /**
+     * A concurrent insert of the same content fails on the primary key; the row exists either way.
+     */
+    private void insertBlobIfAbsent(String sha256, String storedFilename, String contentType, Long fileSize) {
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                if (!storedBlobRepository.existsById(sha256)) {
+                    storedBlobRepository.saveAndFlush(new StoredBlob(sha256, storedFilename, contentType, fileSize));
+                }
+            });
+        } catch (DataIntegrityViolationException ignored) {
+            // Inserted by another upload of the same content
+        }
     }
 
+    /**
+     * Lock order is attachment, then blob, the same as the delete paths.
+     */
+    private Optional<FileStorageService.StoredFile> acquireAndStore(Long id) {
+        Optional<FileAttachment> found = fileAttachmentRepository.findByIdForUpdate(id)
+                .filter(FileAttachment::isPending);
+        if (found.isEmpty()) {
+            return Optional.empty();
+        }
 
-}
\ No newline at end of file
+        FileAttachment attachment = found.get();
+        Optional<StoredBlob> locked = storedBlobRepository.findByIdForUpdate(attachment.getContentHash());
+        if (locked.isEmpty()) {
+            return null;
+        }
+        StoredBlob blob = locked.get();
+        blob.acquire();
+        storedBlobRepository.save(blob);
+
+        FileStorageService.StoredFile storedFile = fileStorageService.storeStagedFile(
+                attachment.getStagedFilename(), blob.getSha256(), attachment.getContentType());
+        attachment.markReady(
+                storedFile.storedFilename(),
+                fileStorageService.getFileStorageLocation().resolve(storedFile.storedFilename()).toString(),
+                storedFile.sha256(),
+                storedFile.size());
+        fileAttachmentRepository.save(attachment);
+        return Optional.of(storedFile);
+    }
+
+    /**
+     * The rolled-back transaction may already have moved the staged file; without a committed reference it is orphaned.
+     */
+    private void discardOrphanedBlob(String sha256, RuntimeException failure) {
+        try {
+            transactionTemplate.executeWithoutResult(status -> deleteIfUnreferenced(sha256));
+        } catch (RuntimeException cleanupFailure) {
+            failure.addSuppressed(cleanupFailure);
+        }
+    }
+
+    private void deleteIfUnreferenced(String sha256) {
+        storedBlobRepository.findByIdForUpdate(sha256)
+                .filter(StoredBlob::isUnreferenced)
+                .ifPresent(blob -> {
+                    fileStorageService.deleteFile(blob.getStoredFilename());
+                    thumbnailService.deleteThumbnails(blob.getStoredFilename());
+                    storedBlobRepository.delete(blob);
+                });
+    }
+
+    private static String abbreviate(String reason) {
+        if (reason == null || reason.length() <= MAX_FAILURE_REASON_LENGTH) {
+            return reason;
+        }
+        return reason.substring(0, MAX_FAILURE_REASON_LENGTH - 3) + "...";
+    }
+
+    private void releaseBlobs(List<Object[]> referenceCounts) {
+        for (Object[] row : referenceCounts) {
+            releaseBlob((String) row[0], ((Number) row[1]).longValue());
+        }
+    }
+
+    private void releaseBlob(String sha256, long references) {
+        storedBlobRepository.findByIdForUpdate(sha256).ifPresent(blob -> {
+            blob.release(references);
+            storedBlobRepository.save(blob);
+            // The row stays at zero until the cleanup on the attachment pool deletes it together with the file
+            if (blob.isUnreferenced()) {
+                eventPublisher.publishEvent(new StoredBlobReleasedEvent(blob.getSha256()));
+            }
+        });
+    }
+}
@@ -3,26 +3,33 @@ package org.example.tesis_yorum.service;
 import jakarta.annotation.PostConstruct;
 import org.example.tesis_yorum.exceptions.FileStorageException;
 import org.example.tesis_yorum.exceptions.InvalidFileException;
+import io.micrometer.core.annotation.Timed;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 import org.springframework.util.StringUtils;
 import org.springframework.web.multipart.MultipartFile;
 
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.nio.file.StandardCopyOption;
-import java.time.LocalDateTime;
-import java.time.format.DateTimeFormatter;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.util.Arrays;
+import java.util.HexFormat;
 import java.util.List;
 import java.util.UUID;
 
 @Service
+@Timed(value = "tesis.file.storage", description = "File storage operations", histogram = true)
 public class FileStorageService {
 
     private final Path fileStorageLocation;
+    private final Path stagingLocation;
     private static final long MAX_FILE_SIZE = 10 * 1024 * 1024; // 10MB
     private static final List<String> ALLOWED_CONTENT_TYPES = Arrays.asList(
             "image/jpeg", "image/jpg", "image/png"
@@ -30,41 +37,105 @@ public class FileStorageService {
     private static final List<String> ALLOWED_EXTENSIONS = Arrays.asList(
             ".jpg", ".jpeg", ".png"
     );
+    private static final byte[] JPEG_SIGNATURE = {(byte) 0xFF, (byte) 0xD8, (byte) 0xFF};
+    private static final byte[] PNG_SIGNATURE = {(byte) 0x89, 'P', 'N', 'G', '\r', '\n', 0x1A, '\n'};
+    private static final int BUFFER_SIZE = 64 * 1024;
 
     public FileStorageService(@Value("${app.file.upload-dir:uploads}") String uploadDir) {
         this.fileStorageLocation = Paths.get(uploadDir).toAbsolutePath().normalize();
+        this.stagingLocation = this.fileStorageLocation.resolve("staging");
     }
 
     @PostConstruct
     public void init() {
         try {
             Files.createDirectories(this.fileStorageLocation);
+            Files.createDirectories(this.stagingLocation);
         } catch (Exception ex) {
             throw new FileStorageException("Could not create the directory where the uploaded files will be stored.", ex);
         }
     }
 
-    public String storeFile(MultipartFile file) {
+    /**
+     * Dosyayı tek geçişte doğrular ve geçici alana yazar.
+     *
+     * Aynı okuma sırasında:
+     * - İlk baytlardan gerçek dosya tipi (JPEG/PNG imzası) tespit edilir ve bildirilen tiple karşılaştırılır
+     * - Okunan bayt sayılır; {@code MAX_FILE_SIZE} aşıldığı anda yazma durdurulur
+     * - SHA-256 özeti hesaplanır
+     * Geçersiz dosyanın yazılan kısmı silinir.
+     */
+    public StagedFile stageFile(MultipartFile file) {
         validateFile(file);
 
         String originalFilename = StringUtils.cleanPath(file.getOriginalFilename());
-        String fileExtension = getFileExtension(originalFilename);
-        String storedFilename = generateUniqueFilename(fileExtension);
+        // Check if the file's name contains invalid characters
+        if (originalFilename.contains("..")) {
+            throw new FileStorageException("Sorry! Filename contains invalid path sequence " + originalFilename);
+        }
 
-        try {
-            // Check if the file's name contains invalid characters
-            if (originalFilename.contains("..")) {
-                throw new FileStorageException("Sorry! Filename contains invalid path sequence " + originalFilename);
+        String stagedFilename = UUID.randomUUID() + ".upload";
+        Path stagedFile = this.stagingLocation.resolve(stagedFilename);
+        try (InputStream in = file.getInputStream()) {
+            StagedFile staged = copyValidated(in, stagedFile, stagedFilename, originalFilename);
+            if (!isSameImageType(file.getContentType(), staged.contentType())) {
+                throw new InvalidFileException("File content does not match its declared type " + file.getContentType());
             }
+            return staged;
+        } catch (IOException ex) {
+            deleteQuietly(stagedFile);
+            throw new FileStorageException("Could not store file " + originalFilename + ". Please try again!", ex);
+        } catch (RuntimeException ex) {
+            deleteQuietly(stagedFile);
+            throw ex;
+        }
+    }
 
-            // Copy file to the target location (Replacing existing file with the same name)
+    /**
+     * Geçici alandaki dosyayı içerik adresine taşır. Özet {@link #stageFile} sırasında hesaplandığı için dosya tekrar okunmaz.
+     *
+     * Ekler için içeriğin {@link org.example.tesis_yorum.entity.StoredBlob} satırı kilitliyken ve referansı alınmışken
+     * çağrılır; böylece var olduğu görülen dosya bu sırada son referansla birlikte silinemez.
+     * Önceki bir deneme dosyayı taşıyıp yarıda kaldıysa geçici dosya yoktur; içerik yerindeyse o kullanılır.
+     */
+    public StoredFile storeStagedFile(String stagedFilename, String sha256, String contentType) {
+        Path stagedFile = resolveStagedFile(stagedFilename);
+        try {
+            String storedFilename = contentAddress(sha256, contentType);
             Path targetLocation = this.fileStorageLocation.resolve(storedFilename);
-            Files.copy(file.getInputStream(), targetLocation, StandardCopyOption.REPLACE_EXISTING);
-
-            return storedFilename;
+            if (Files.notExists(stagedFile) && Files.exists(targetLocation)) {
+                return new StoredFile(sha256, storedFilename, Files.size(targetLocation), true);
+            }
+            long size = Files.size(stagedFile);
+            return moveToContentAddress(stagedFile, sha256, size, contentType);
         } catch (IOException ex) {
-            throw new FileStorageException("Could not store file " + originalFilename + ". Please try again!", ex);
+            throw new FileStorageException("Could not store staged file " + stagedFilename, ex);
+        }
+    }
+
+    /**
+     * İçeriğin saklanacağı dosya adı (uploads dizinine göre).
+     *
+     * Files are sharded by the first two hex digits so no directory grows unbounded.
+     * The extension comes from the content type, so "a.jpg" and "a.jpeg" with the same bytes share a file.
+     */
+    public String contentAddress(String sha256, String contentType) {
+        String extension = "image/png".equalsIgnoreCase(contentType) ? ".png" : ".jpg";
+        return sha256.substring(0, 2) + "/" + sha256 + extension;
+    }
+
+
+    public void deleteStagedFile(String stagedFilename) {
+        deleteQuietly(resolveStagedFile(stagedFilename));
+    }
+
+
+    public Path resolveStoredFile(String storedFilename) {
+        Path filePath = this.fileStorageLocation.resolve(storedFilename).normalize();
+        if (!filePath.startsWith(this.fileStorageLocation)) {
+            throw new FileStorageException("Invalid stored file " + storedFilename);
         }
+        return filePath;
     }
 
 
@@ -78,7 +149,7 @@ public class FileStorageService {
     }
 
 
-    private void validateFile(MultipartFile file) {
+    public void validateFile(MultipartFile file) {
         if (file.isEmpty()) {
             throw new InvalidFileException("File is empty");
         }
@@ -113,10 +184,116 @@ public class FileStorageService {
     }
 
 
-    private String generateUniqueFilename(String extension) {
-        String timestamp = LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyyMMdd_HHmmss"));
-        String uuid = UUID.randomUUID().toString().substring(0, 8);
-        return timestamp + "_" + uuid + extension;
+    private StagedFile copyValidated(InputStream in, Path target, String stagedFilename,
+                                     String originalFilename) throws IOException {
+        MessageDigest digest = newSha256Digest();
+        byte[] buffer = new byte[BUFFER_SIZE];
+
+        // The signature decides the type before anything is written
+        int headLength = in.readNBytes(buffer, 0, PNG_SIGNATURE.length);
+        if (headLength == 0) {
+            throw new InvalidFileException("File is empty");
+        }
+        String contentType = detectImageType(buffer, headLength);
+
+        long size = headLength;
+        try (OutputStream out = Files.newOutputStream(target, StandardOpenOption.CREATE_NEW)) {
+            digest.update(buffer, 0, headLength);
+            out.write(buffer, 0, headLength);
+
+            int read;
+            while ((read = in.read(buffer)) != -1) {
+                size += read;
+                if (size > MAX_FILE_SIZE) {
+                    throw new InvalidFileException("File size exceeds maximum allowed size of " +
+                            formatFileSize(MAX_FILE_SIZE));
+                }
+                digest.update(buffer, 0, read);
+                out.write(buffer, 0, read);
+            }
+        }
+
+        return new StagedFile(stagedFilename, originalFilename, HexFormat.of().formatHex(digest.digest()),
+                size, contentType);
+    }
+
+
+    private String detectImageType(byte[] head, int length) {
+        if (startsWith(head, length, JPEG_SIGNATURE)) {
+            return "image/jpeg";
+        }
+        if (startsWith(head, length, PNG_SIGNATURE)) {
+            return "image/png";
+        }
+        throw new InvalidFileException("File content is not a JPEG or PNG image");
+    }
+
+
+    private static boolean startsWith(byte[] head, int length, byte[] signature) {
+        if (length < signature.length) {
+            return false;
+        }
+        for (int i = 0; i < signature.length; i++) {
+            if (head[i] != signature[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+
+    private boolean isSameImageType(String declaredContentType, String detectedContentType) {
+        String declared = declaredContentType.toLowerCase();
+        if ("image/jpg".equals(declared)) {
+            declared = "image/jpeg";
+        }
+        return declared.equals(detectedContentType);
+    }
+
+
+    private StoredFile moveToContentAddress(Path source, String sha256, long size, String contentType) throws IOException {
+        String storedFilename = contentAddress(sha256, contentType);
+        Path targetLocation = this.fileStorageLocation.resolve(storedFilename);
+
+        boolean deduplicated = Files.exists(targetLocation);
+        if (deduplicated) {
+            Files.delete(source);
+        } else {
+            Files.createDirectories(targetLocation.getParent());
+            // Identical content under the same name, so a concurrent writer winning the race is harmless
+            Files.move(source, targetLocation, StandardCopyOption.ATOMIC_MOVE);
+        }
+        return new StoredFile(sha256, storedFilename, size, deduplicated);
+    }
+
+
+    private Path resolveStagedFile(String stagedFilename) {
+        Path stagedFile = this.stagingLocation.resolve(stagedFilename).normalize();
+        if (!stagedFile.startsWith(this.stagingLocation)) {
+            throw new FileStorageException("Invalid staged file " + stagedFilename);
+        }
+        return stagedFile;
+    }
+
+
+    private static MessageDigest newSha256Digest() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException ex) {
+            throw new IllegalStateException("SHA-256 is not available", ex);
+        }
+    }
+
+
+    private void deleteQuietly(Path path) {
+        if (path == null) {
+            return;
+        }
+        try {
+            Files.deleteIfExists(path);
+        } catch (IOException ignored) {
+            // A leftover temp file only wastes space; the upload error is what matters
+        }
     }
 
 
@@ -152,4 +329,21 @@ public class FileStorageService {
         return fileStorageLocation;
     }
 
+    /**
+     * Geçici alana alınmış ve doğrulanmış dosyanın bilgileri.
+     *
+     * @param contentType dosyanın ilk baytlarından tespit edilen tip
+     */
+    public record StagedFile(String stagedFilename, String originalFilename, String sha256,
+                             long size, String contentType) {
+    }
+
+    /**
+     * Saklanan dosyanın bilgileri.
+     *
+     * @param deduplicated aynı içerik zaten diskte olduğu için yeni dosya yazılmadıysa true
+     */
+    public record StoredFile(String sha256, String storedFilename, long size, boolean deduplicated) {
+    }
+
 }
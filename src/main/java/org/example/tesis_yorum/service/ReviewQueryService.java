@@ -0,0 +1,181 @@
+package org.example.tesis_yorum.service;
+
+import org.example.tesis_yorum.dto.AttachmentView;
+import org.example.tesis_yorum.dto.CursorPage;
+import org.example.tesis_yorum.dto.PublicReviewView;
+import org.example.tesis_yorum.dto.ResourceVersion;
+import org.example.tesis_yorum.dto.ReviewCursor;
+import org.example.tesis_yorum.dto.ReviewRow;
+import org.example.tesis_yorum.dto.ReviewView;
+import org.example.tesis_yorum.entity.ReviewStatus;
+import org.example.tesis_yorum.repository.FacilityRatingAggregateRepository;
+import org.example.tesis_yorum.repository.FacilityRepository;
+import org.example.tesis_yorum.repository.FileAttachmentRepository;
+import org.example.tesis_yorum.repository.ReviewRepository;
+import org.example.tesis_yorum.repository.UserRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.function.BiFunction;
+import java.util.stream.Collectors;
+
+/**
+ * Yorum listeleri için okuma servisi.
+ *
+ * Review entity'si yerine projeksiyon kullanır: bir sayfa her zaman iki sorguyla gelir
+ * (yorum satırları + o sayfanın bütün dosya ekleri), sayfadaki yorum sayısından bağımsız.
+ * Onaylı yorumlar herkese açık modelle ({@link PublicReviewView}), kullanıcının kendi yorumları
+ * durum ve admin notunu da içeren modelle ({@link ReviewView}) döner.
+ *
+ * Koşullu GET için liste sürümleri de buradan gelir. Onaylı yorum listelerinin sürümü yorum tablosu yerine
+ * tesis puan özetlerinden okunur: her onay ve onaylı yorum silme bir özet satırını günceller.
+ * Yanıtta kullanıcı/tesis adları ve ek durumları da bulunduğundan o tabloların en son güncellenme zamanı eklenir.
+ */
+@Service
+@Transactional(readOnly = true)
+public class ReviewQueryService {
+
+    public static final int DEFAULT_PAGE_SIZE = 20;
+    public static final int MAX_PAGE_SIZE = 100;
+
+    private final ReviewRepository reviewRepository;
+    private final FileAttachmentRepository fileAttachmentRepository;
+    private final FacilityRatingAggregateRepository aggregateRepository;
+    private final UserRepository userRepository;
+    private final FacilityRepository facilityRepository;
+
+    @Autowired
+    public ReviewQueryService(ReviewRepository reviewRepository,
+                              FileAttachmentRepository fileAttachmentRepository,
+                              FacilityRatingAggregateRepository aggregateRepository,
+                              UserRepository userRepository,
+                              FacilityRepository facilityRepository) {
+        this.reviewRepository = reviewRepository;
+        this.fileAttachmentRepository = fileAttachmentRepository;
+        this.aggregateRepository = aggregateRepository;
+        this.userRepository = userRepository;
+        this.facilityRepository = facilityRepository;
+    }
+
+
+    public CursorPage<PublicReviewView> getApprovedReviews(String cursor, int size) {
+        validatePageSize(size);
+        Limit limit = Limit.of(size + 1);
+        List<ReviewRow> rows;
+        if (cursor == null) {
+            rows = reviewRepository.findPageByStatus(ReviewStatus.APPROVED, limit);
+        } else {
+            ReviewCursor after = ReviewCursor.decode(cursor);
+            rows = reviewRepository.findPageByStatusAfter(
+                    ReviewStatus.APPROVED, after.getCreatedAt(), after.getId(), limit);
+        }
+        return toPage(rows, size, PublicReviewView::of);
+    }
+
+
+    public CursorPage<PublicReviewView> getApprovedReviewsByFacility(Long facilityId, String cursor, int size) {
+        validatePageSize(size);
+        Limit limit = Limit.of(size + 1);
+        List<ReviewRow> rows;
+        if (cursor == null) {
+            rows = reviewRepository.findPageByFacilityIdAndStatus(facilityId, ReviewStatus.APPROVED, limit);
+        } else {
+            ReviewCursor after = ReviewCursor.decode(cursor);
+            rows = reviewRepository.findPageByFacilityIdAndStatusAfter(
+                    facilityId, ReviewStatus.APPROVED, after.getCreatedAt(), after.getId(), limit);
+        }
+        return toPage(rows, size, PublicReviewView::of);
+    }
+
+
+    public CursorPage<ReviewView> getReviewsByUser(Long userId, String cursor, int size) {
+        validatePageSize(size);
+        Limit limit = Limit.of(size + 1);
+        List<ReviewRow> rows;
+        if (cursor == null) {
+            rows = reviewRepository.findPageByUserId(userId, limit);
+        } else {
+            ReviewCursor after = ReviewCursor.decode(cursor);
+            rows = reviewRepository.findPageByUserIdAfter(userId, after.getCreatedAt(), after.getId(), limit);
+        }
+        return toPage(rows, size, ReviewView::of);
+    }
+
+    public ResourceVersion getApprovedReviewsVersion() {
+        return aggregateRepository.findVersion().and(referencedDataVersion());
+    }
+
+
+    public ResourceVersion getApprovedReviewsByFacilityVersion(Long facilityId) {
+        ResourceVersion approved = aggregateRepository.findById(facilityId)
+                .map(aggregate -> new ResourceVersion(aggregate.getReviewCount(), aggregate.getUpdatedAt()))
+                .orElse(ResourceVersion.EMPTY);
+        return approved.and(referencedDataVersion());
+    }
+
+
+    public ResourceVersion getReviewsByUserVersion(Long userId) {
+        return reviewRepository.findVersionByUserId(userId).and(referencedDataVersion());
+    }
+
+    /**
+     * Verilen yorumları ID sırasıyla döner (ör. canlı akışa gönderilecek yeni onaylanan yorumlar).
+     */
+    public List<PublicReviewView> getPublicReviewViews(Collection<Long> reviewIds) {
+        if (reviewIds.isEmpty()) {
+            return Collections.emptyList();
+        }
+        return toViews(reviewRepository.findRowsByIdIn(reviewIds), PublicReviewView::of);
+    }
+
+    private ResourceVersion referencedDataVersion() {
+        return userRepository.findVersion()
+                .and(facilityRepository.findVersion())
+                .and(new ResourceVersion(0, fileAttachmentRepository.findLastModified()));
+    }
+
+    /**
+     * One extra row is fetched to know whether another page exists without a count query.
+     */
+    private <T> CursorPage<T> toPage(List<ReviewRow> rows, int size,
+                                     BiFunction<ReviewRow, List<AttachmentView>, T> view) {
+        String next = null;
+        if (rows.size() > size) {
+            rows = rows.subList(0, size);
+            ReviewRow last = rows.get(size - 1);
+            next = new ReviewCursor(last.createdAt(), last.id()).encode();
+        }
+        return new CursorPage<>(toViews(rows, view), next);
+    }
+
+    private <T> List<T> toViews(List<ReviewRow> rows, BiFunction<ReviewRow, List<AttachmentView>, T> view) {
+        if (rows.isEmpty()) {
+            return Collections.emptyList();
+        }
+
+        List<Long> reviewIds = rows.stream().map(ReviewRow::id).collect(Collectors.toList());
+        Map<Long, List<AttachmentView>> attachmentsByReview = fileAttachmentRepository
+                .findViewsByReviewIdIn(reviewIds)
+                .stream()
+                .collect(Collectors.groupingBy(AttachmentView::reviewId));
+
+        List<T> views = new ArrayList<>(rows.size());
+        for (ReviewRow row : rows) {
+            views.add(view.apply(row, attachmentsByReview.getOrDefault(row.id(), Collections.emptyList())));
+        }
+        return views;
+    }
+
+    private void validatePageSize(int size) {
+        if (size < 1 || size > MAX_PAGE_SIZE) {
+            throw new IllegalArgumentException("Page size must be between 1 and " + MAX_PAGE_SIZE);
+        }
+    }
+}
@@ -1,56 +1,107 @@
 package org.example.tesis_yorum.service;
 
+import io.micrometer.core.annotation.Timed;
+import org.example.tesis_yorum.dto.BatchModerationResponse;
+import org.example.tesis_yorum.dto.BatchModerationResult;
+import org.example.tesis_yorum.dto.ResourceVersion;
 import org.example.tesis_yorum.entity.*;
+import org.example.tesis_yorum.event.ReviewsApprovedEvent;
 import org.example.tesis_yorum.exceptions.ResourceNotFoundException;
 import org.example.tesis_yorum.exceptions.UnauthorizedException;
+import org.example.tesis_yorum.metrics.ReviewMetrics;
 import org.example.tesis_yorum.repository.ReviewRepository;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 import org.springframework.web.multipart.MultipartFile;
 
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
-import java.util.stream.Collectors;
+import java.util.Set;
+import java.util.TreeMap;
 
 @Service
 @Transactional
+@Timed(value = "tesis.review.service", description = "Review service operations", histogram = true)
 public class ReviewService {
 
+    public static final int MAX_BATCH_SIZE = 5000;
+    private static final int BATCH_CHUNK_SIZE = 1000;
+    private static final int MAX_ADMIN_NOTES_LENGTH = 500;
+    public static final int MAX_CLAIM_SIZE = 50;
+
     private final ReviewRepository reviewRepository;
     private final UserService userService;
     private final FacilityService facilityService;
     private final FileAttachmentService fileAttachmentService;
+    private final FacilityRatingService facilityRatingService;
+    private final ReviewMetrics reviewMetrics;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TransactionTemplate transactionTemplate;
+    private final Duration leaseDuration;
 
     @Autowired
     public ReviewService(ReviewRepository reviewRepository,
                          UserService userService,
                          FacilityService facilityService,
-                         FileAttachmentService fileAttachmentService) {
+                         FileAttachmentService fileAttachmentService,
+                         FacilityRatingService facilityRatingService,
+                         ReviewMetrics reviewMetrics,
+                         ApplicationEventPublisher eventPublisher,
+                         PlatformTransactionManager transactionManager,
+                         @Value("${app.moderation.lease-duration:10m}") Duration leaseDuration) {
         this.reviewRepository = reviewRepository;
         this.userService = userService;
         this.facilityService = facilityService;
         this.fileAttachmentService = fileAttachmentService;
+        this.facilityRatingService = facilityRatingService;
+        this.reviewMetrics = reviewMetrics;
+        this.eventPublisher = eventPublisher;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.leaseDuration = leaseDuration;
     }
 
 
+    /**
+     * Dosyalar transaction başlamadan önce tek geçişte doğrulanıp geçici alana yazılır; yorum ve PENDING
+     * ekler ardından kısa bir transaction'da kaydedilir. Disk yazımı boyunca veritabanı bağlantısı tutulmaz.
+     */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public Review createReview(Long userId, Long facilityId, String content, Integer rating, List<MultipartFile> files) {
-        User user = userService.getUserById(userId);
-        Facility facility = facilityService.getFacilityById(facilityId);
+        List<FileStorageService.StagedFile> stagedFiles = fileAttachmentService.stageFiles(files);
 
+        Review review;
+        try {
+            review = transactionTemplate.execute(status -> {
+                User user = userService.getUserById(userId);
+                Facility facility = facilityService.getFacilityById(facilityId);
 
-        Review review = new Review(content, rating, user, facility);
-        review = reviewRepository.save(review);
+                Review saved = reviewRepository.save(new Review(content, rating, user, facility));
 
-        // Handle file attachments if provided
-        if (files != null && !files.isEmpty()) {
-            for (MultipartFile file : files) {
-                if (!file.isEmpty()) {
-                    fileAttachmentService.createFileAttachment(review, file);
+                // Attachments are moved into storage in the background after commit
+                if (!stagedFiles.isEmpty()) {
+                    fileAttachmentService.createPendingAttachments(saved, stagedFiles);
                 }
-            }
+                return saved;
+            });
+        } catch (RuntimeException ex) {
+            fileAttachmentService.discardStagedFiles(stagedFiles);
+            throw ex;
         }
-
+        reviewMetrics.reviewCreated();
         return review;
     }
 
@@ -66,16 +117,26 @@ public class ReviewService {
                 .orElseThrow(() -> new ResourceNotFoundException("Review not found with id: " + id));
     }
 
-
+    /**
+     * İndirilebilir eki, bağlı olduğu yorumu görebilen kullanıcıya döner: onaylı yorumların ekleri herkese açıktır,
+     * bekleyen ve reddedilen yorumların ekleri sadece yorumun sahibine ve adminlere. Diğerleri için ek yokmuş gibi 404.
+     */
     @Transactional(readOnly = true)
-    public List<Review> getAllReviews() {
-        return reviewRepository.findAll();
+    public FileAttachment getVisibleAttachment(Long attachmentId, Long userId) {
+        FileAttachment attachment = fileAttachmentService.getFileAttachmentById(attachmentId);
+        Review review = attachment.getReview();
+        boolean visible = review.getStatus() == ReviewStatus.APPROVED
+                || (userId != null && (userId.equals(review.getUser().getId()) || userService.isAdmin(userId)));
+        if (!visible) {
+            throw new ResourceNotFoundException("File attachment not found with id: " + attachmentId);
+        }
+        return fileAttachmentService.getReadyAttachment(attachmentId);
     }
 
 
     @Transactional(readOnly = true)
-    public List<Review> getReviewsByStatus(ReviewStatus status) {
-        return reviewRepository.findByStatus(status);
+    public List<Review> getAllReviews() {
+        return reviewRepository.findAll();
     }
 
 
@@ -85,41 +146,105 @@ public class ReviewService {
     }
 
 
-    @Transactional(readOnly = true)
-    public List<Review> getApprovedReviewsByFacility(Long facilityId) {
-        return reviewRepository.findByFacilityIdAndStatus(facilityId, ReviewStatus.APPROVED);
+    /**
+     * Sıradaki en eski, kimsenin üzerinde çalışmadığı bekleyen yorumları admine kiralar.
+     *
+     * Kiralanan yorumlar süre dolana kadar diğer adminlere verilmez ve onlar tarafından onaylanıp
+     * reddedilemez. Satırlar SKIP LOCKED ile seçilir: aynı anda kiralama yapan iki admin birbirini
+     * beklemez ve aynı yorumu almaz. Süresi dolan kiralamalar yeniden dağıtılır.
+     */
+    public List<Review> claimPendingReviews(Long adminId, int count) {
+        validateAdminPermission(adminId);
+        if (count < 1 || count > MAX_CLAIM_SIZE) {
+            throw new IllegalArgumentException("Claim size must be between 1 and " + MAX_CLAIM_SIZE);
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime expiresAt = now.plus(leaseDuration);
+        List<Review> reviews = reviewRepository.findClaimable(now, Limit.of(count));
+        for (Review review : reviews) {
+            review.claim(adminId, expiresAt);
+        }
+        return reviews;
     }
 
+    /**
+     * Adminin bir yorum üzerindeki kiralamasını bırakır; yorum sıraya geri döner.
+     */
+    public Review releaseClaim(Long reviewId, Long adminId) {
+        validateAdminPermission(adminId);
+        Review review = getReviewById(reviewId);
+
+        if (!adminId.equals(review.getClaimedBy())) {
+            throw new IllegalStateException("Review is not claimed by this admin");
+        }
 
-    @Transactional(readOnly = true)
-    public List<Review> getReviewsByUser(Long userId) {
-        return reviewRepository.findByUserId(userId);
+        review.release();
+        return reviewRepository.save(review);
     }
 
+    /**
+     * Süresi dolmuş kiralamaları temizler. Kiralama sorgusu süresi dolanları zaten yeniden dağıtır;
+     * bu görev bekleyen yorum listelerinde eski kiralama bilgisinin kalmamasını sağlar.
+     */
+    @Scheduled(fixedDelayString = "${app.moderation.lease-sweep-interval:PT1M}")
+    public void releaseExpiredClaims() {
+        reviewRepository.releaseExpiredClaims(LocalDateTime.now());
+    }
+
+
     public Review approveReview(Long reviewId, Long adminId) {
         validateAdminPermission(adminId);
-        Review review = getReviewById(reviewId);
+        Review review = getReviewForModeration(reviewId);
 
         if (review.getStatus() != ReviewStatus.PENDING) {
             throw new IllegalStateException("Only pending reviews can be approved");
         }
+        validateNotClaimedByOther(review, adminId);
 
         review.approve(adminId);
+        facilityRatingService.recordApproved(review.getFacility().getId(), review.getRating());
+        reviewMetrics.reviewsApproved(1);
+        eventPublisher.publishEvent(ReviewsApprovedEvent.of(review.getFacility().getId(), review.getId()));
         return reviewRepository.save(review);
     }
 
     public Review rejectReview(Long reviewId, Long adminId, String adminNotes) {
         validateAdminPermission(adminId);
-        Review review = getReviewById(reviewId);
+        Review review = getReviewForModeration(reviewId);
 
         if (review.getStatus() != ReviewStatus.PENDING) {
             throw new IllegalStateException("Only pending reviews can be rejected");
         }
+        validateNotClaimedByOther(review, adminId);
 
+        // Only approved reviews are counted, so rejecting a pending review leaves the aggregate as is
         review.reject(adminId, adminNotes);
+        reviewMetrics.reviewsRejected(1);
         return reviewRepository.save(review);
     }
 
+    /**
+     * Birden çok bekleyen yorumu tek seferde onaylar.
+     *
+     * Yetki bir kez kontrol edilir; yorumlar 1000'lik gruplar halinde tek sorguyla okunur ve tek bir
+     * UPDATE ile onaylanır. Tesis özetleri tesis başına bir kez güncellenir. Bekleyen durumda olmayan
+     * veya bulunamayan yorumlar hata fırlatmaz, sonuçta ayrıca belirtilir.
+     */
+    public BatchModerationResponse approveReviews(List<Long> reviewIds, Long adminId) {
+        return moderateReviews(reviewIds, adminId, ReviewStatus.APPROVED, null);
+    }
+
+    /**
+     * Birden çok bekleyen yorumu aynı admin notuyla tek seferde reddeder (bkz. {@link #approveReviews}).
+     */
+    public BatchModerationResponse rejectReviews(List<Long> reviewIds, Long adminId, String adminNotes) {
+        if (adminNotes != null && adminNotes.length() > MAX_ADMIN_NOTES_LENGTH) {
+            throw new IllegalArgumentException("Admin notes cannot exceed " + MAX_ADMIN_NOTES_LENGTH + " characters");
+        }
+        return moderateReviews(reviewIds, adminId, ReviewStatus.REJECTED, adminNotes);
+    }
+
     public Review updateReview(Long reviewId, Long userId, String content, Integer rating) {
         Review review = getReviewById(reviewId);
 
@@ -153,31 +278,143 @@ public class ReviewService {
             fileAttachmentService.deleteFileAttachment(attachment.getId());
         }
 
+        if (review.getStatus() == ReviewStatus.APPROVED) {
+            facilityRatingService.recordRemoved(review.getFacility().getId(), review.getRating());
+        }
+
         reviewRepository.delete(review);
     }
 
     @Transactional(readOnly = true)
     public Double calculateAverageRating(Long facilityId) {
-        Double average = reviewRepository.calculateAverageRatingByFacilityId(facilityId);
-        return average != null ? average : 0.0;
+        return facilityRatingService.getAggregate(facilityId).getAverageRating();
     }
 
     @Transactional(readOnly = true)
     public ReviewStatistics getReviewStatistics(Long facilityId) {
-        List<Object[]> stats = reviewRepository.getReviewStatisticsByFacility(facilityId);
-        Map<Integer, Long> ratingCounts = stats.stream()
-                .collect(Collectors.toMap(
-                        result -> (Integer) result[0],
-                        result -> ((Number) result[1]).longValue()
-                ));
+        FacilityRatingAggregate aggregate = facilityRatingService.getAggregate(facilityId);
+        return new ReviewStatistics(aggregate.getReviewCount(), aggregate.getAverageRating(),
+                aggregate.getScore(), aggregate.getRatingCounts());
+    }
 
-        long totalReviews = reviewRepository.countByFacilityIdAndStatus(facilityId, ReviewStatus.APPROVED);
-        double averageRating = calculateAverageRating(facilityId);
+    @Transactional(readOnly = true)
+    public ResourceVersion getReviewStatisticsVersion(Long facilityId) {
+        return ResourceVersion.of(facilityRatingService.getAggregate(facilityId).getUpdatedAt());
+    }
 
-        return new ReviewStatistics(totalReviews, averageRating, ratingCounts);
+    public int rebuildRatingAggregates(Long adminId) {
+        validateAdminPermission(adminId);
+        return facilityRatingService.rebuildAll();
     }
 
 
+    private BatchModerationResponse moderateReviews(List<Long> reviewIds, Long adminId,
+                                                    ReviewStatus newStatus, String adminNotes) {
+        validateAdminPermission(adminId);
+        if (reviewIds == null || reviewIds.isEmpty()) {
+            throw new IllegalArgumentException("At least one review ID is required");
+        }
+        Set<Long> uniqueIds = new LinkedHashSet<>(reviewIds);
+        uniqueIds.remove(null);
+        if (uniqueIds.size() > MAX_BATCH_SIZE) {
+            throw new IllegalArgumentException("At most " + MAX_BATCH_SIZE + " reviews can be moderated at once");
+        }
+
+        // Truncated to the column precision so the stamp can identify the rows this call updated
+        LocalDateTime moderatedAt = LocalDateTime.now().truncatedTo(ChronoUnit.MICROS);
+        BatchModerationResult.Outcome success = newStatus == ReviewStatus.APPROVED
+                ? BatchModerationResult.Outcome.APPROVED
+                : BatchModerationResult.Outcome.REJECTED;
+
+        Map<Long, BatchModerationResult.Outcome> outcomes = new HashMap<>();
+        // Sorted so concurrent batches lock facility aggregates in the same order
+        Map<Long, Map<Integer, Long>> approvedRatingsByFacility = new TreeMap<>();
+        Map<Long, List<Long>> approvedIdsByFacility = new HashMap<>();
+
+        List<Long> ids = new ArrayList<>(uniqueIds);
+        for (int from = 0; from < ids.size(); from += BATCH_CHUNK_SIZE) {
+            List<Long> chunk = ids.subList(from, Math.min(from + BATCH_CHUNK_SIZE, ids.size()));
+
+            List<Long> pendingIds = new ArrayList<>();
+            for (Object[] row : reviewRepository.findStatusesByIdIn(chunk)) {
+                Long id = (Long) row[0];
+                if (row[1] != ReviewStatus.PENDING) {
+                    outcomes.put(id, BatchModerationResult.Outcome.NOT_PENDING);
+                } else if (isClaimedByOther((Long) row[2], (LocalDateTime) row[3], adminId, moderatedAt)) {
+                    outcomes.put(id, BatchModerationResult.Outcome.CLAIMED_BY_OTHER);
+                } else {
+                    // Stays NOT_PENDING unless the guarded UPDATE below actually moderates it
+                    outcomes.put(id, BatchModerationResult.Outcome.NOT_PENDING);
+                    pendingIds.add(id);
+                }
+            }
+            if (pendingIds.isEmpty()) {
+                continue;
+            }
+
+            int updated = newStatus == ReviewStatus.APPROVED
+                    ? reviewRepository.approvePendingByIdIn(pendingIds, adminId, moderatedAt)
+                    : reviewRepository.rejectPendingByIdIn(pendingIds, adminId, adminNotes, moderatedAt);
+
+            // Approvals need facility and rating of the updated rows; rejections only when some row was lost to a race
+            if (newStatus == ReviewStatus.REJECTED && updated == pendingIds.size()) {
+                pendingIds.forEach(id -> outcomes.put(id, success));
+                continue;
+            }
+            for (Object[] row : reviewRepository.findModeratedByIdIn(pendingIds, newStatus, adminId, moderatedAt)) {
+                outcomes.put((Long) row[0], success);
+                if (newStatus == ReviewStatus.APPROVED) {
+                    approvedRatingsByFacility.computeIfAbsent((Long) row[1], facilityId -> new TreeMap<>())
+                            .merge((Integer) row[2], 1L, Long::sum);
+                    approvedIdsByFacility.computeIfAbsent((Long) row[1], facilityId -> new ArrayList<>())
+                            .add((Long) row[0]);
+                }
+            }
+        }
+
+        approvedRatingsByFacility.forEach(facilityRatingService::recordApproved);
+        if (!approvedIdsByFacility.isEmpty()) {
+            eventPublisher.publishEvent(new ReviewsApprovedEvent(approvedIdsByFacility));
+        }
+
+        List<BatchModerationResult> results = new ArrayList<>(uniqueIds.size());
+        int moderated = 0;
+        for (Long id : uniqueIds) {
+            BatchModerationResult.Outcome outcome = outcomes.getOrDefault(id, BatchModerationResult.Outcome.NOT_FOUND);
+            if (outcome == success) {
+                moderated++;
+            }
+            results.add(new BatchModerationResult(id, outcome));
+        }
+        if (newStatus == ReviewStatus.APPROVED) {
+            reviewMetrics.reviewsApproved(moderated);
+        } else {
+            reviewMetrics.reviewsRejected(moderated);
+        }
+        return new BatchModerationResponse(uniqueIds.size(), moderated, results);
+    }
+
+    /**
+     * Yorumu satır kilidiyle okur: aynı yorumu eşzamanlı onaylayan/reddeden ikinci istek ilkinin commit'ini bekler
+     * ve durumu artık PENDING olmadığı için reddedilir; puan özetine yorum iki kez eklenmez.
+     */
+    private Review getReviewForModeration(Long reviewId) {
+        return reviewRepository.findByIdForUpdate(reviewId)
+                .orElseThrow(() -> new ResourceNotFoundException("Review not found with id: " + reviewId));
+    }
+
+    private void validateNotClaimedByOther(Review review, Long adminId) {
+        if (review.isClaimedByOther(adminId, LocalDateTime.now())) {
+            throw new IllegalStateException("Review is claimed by another admin until " + review.getClaimExpiresAt());
+        }
+    }
+
+    private static boolean isClaimedByOther(Long claimedBy, LocalDateTime claimExpiresAt,
+                                            Long adminId, LocalDateTime now) {
+        return claimedBy != null && !claimedBy.equals(adminId)
+                && claimExpiresAt != null && claimExpiresAt.isAfter(now);
+    }
+
     private void validateAdminPermission(Long userId) {
         if (!userService.isAdmin(userId)) {
             throw new UnauthorizedException("Admin privileges required for this operation");
@@ -187,11 +424,14 @@ public class ReviewService {
     public static class ReviewStatistics {
         private final long totalReviews;
         private final double averageRating;
+        private final double score;
         private final Map<Integer, Long> ratingCounts;
 
-        public ReviewStatistics(long totalReviews, double averageRating, Map<Integer, Long> ratingCounts) {
+        public ReviewStatistics(long totalReviews, double averageRating, double score,
+                                Map<Integer, Long> ratingCounts) {
             this.totalReviews = totalReviews;
             this.averageRating = averageRating;
+            this.score = score;
             this.ratingCounts = ratingCounts;
         }
 
@@ -203,6 +443,10 @@ public class ReviewService {
             return averageRating;
         }
 
+        public double getScore() {
+            return score;
+        }
+
         public Map<Integer, Long> getRatingCounts() {
             return ratingCounts;
         }
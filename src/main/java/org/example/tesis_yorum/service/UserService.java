@@ -1,10 +1,15 @@
 package org.example.tesis_yorum.service;
 
+import org.example.tesis_yorum.config.CacheConfig;
+import org.example.tesis_yorum.dto.ResourceVersion;
 import org.example.tesis_yorum.entity.User;
 import org.example.tesis_yorum.entity.UserRole;
 import org.example.tesis_yorum.exceptions.ResourceNotFoundException;
 import org.example.tesis_yorum.repository.UserRepository;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.cache.annotation.Caching;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -15,10 +20,16 @@ import java.util.List;
 public class UserService {
 
     private final UserRepository userRepository;
+    private final FileAttachmentService fileAttachmentService;
+    private final FacilityRatingService facilityRatingService;
 
     @Autowired
-    public UserService(UserRepository userRepository) {
+    public UserService(UserRepository userRepository,
+                       FileAttachmentService fileAttachmentService,
+                       FacilityRatingService facilityRatingService) {
         this.userRepository = userRepository;
+        this.fileAttachmentService = fileAttachmentService;
+        this.facilityRatingService = facilityRatingService;
     }
 
     public User createUser(User user) {
@@ -36,6 +47,7 @@ public class UserService {
         return createUser(user);
     }
 
+    @Cacheable(cacheNames = CacheConfig.USERS, key = "#id")
     @Transactional(readOnly = true)
     public User getUserById(Long id) {
         return userRepository.findById(id)
@@ -53,6 +65,15 @@ public class UserService {
         return userRepository.findAll();
     }
 
+    @Transactional(readOnly = true)
+    public ResourceVersion getUsersVersion() {
+        return userRepository.findVersion();
+    }
+
+    @Caching(evict = {
+            @CacheEvict(cacheNames = CacheConfig.USERS, key = "#id"),
+            @CacheEvict(cacheNames = CacheConfig.USER_ADMIN_FLAGS, key = "#id")
+    })
     public User updateUser(Long id, User updatedUser) {
         User existingUser = getUserById(id);
 
@@ -73,8 +94,14 @@ public class UserService {
         return userRepository.save(existingUser);
     }
 
+    @Caching(evict = {
+            @CacheEvict(cacheNames = CacheConfig.USERS, key = "#id"),
+            @CacheEvict(cacheNames = CacheConfig.USER_ADMIN_FLAGS, key = "#id")
+    })
     public void deleteUser(Long id) {
         User user = getUserById(id);
+        fileAttachmentService.releaseAttachmentsOfUser(id);
+        facilityRatingService.removeRatingsOfUser(id);
         userRepository.delete(user);
     }
 
@@ -82,6 +109,7 @@ public class UserService {
     /**
      * Check if user is admin
      */
+    @Cacheable(cacheNames = CacheConfig.USER_ADMIN_FLAGS, key = "#userId")
     @Transactional(readOnly = true)
     public boolean isAdmin(Long userId) {
         User user = getUserById(userId);
@@ -0,0 +1,277 @@
+package org.example.tesis_yorum.stream;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.example.tesis_yorum.config.ReviewStreamConfig;
+import org.example.tesis_yorum.dto.PublicReviewView;
+import org.example.tesis_yorum.event.ReviewsApprovedEvent;
+import org.example.tesis_yorum.service.ReviewQueryService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter.DataWithMediaType;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Tesis sayfalarına yeni onaylanan yorumları Server-Sent Events ile iletir.
+ *
+ * - Her tesis için ayrı abonelik; açık bağlantılar istek thread'i tutmaz (asenkron servlet)
+ * - Yorum onayı commit edildikten sonra yorumlar bir kez okunur ve abonelerin kuyruklarına eklenir
+ * - Her istemcinin kuyruğu sınırlıdır; kuyruğu dolan (yavaş okuyan) istemcinin bağlantısı kapatılır,
+ *   tarayıcının EventSource'u yeniden bağlanır
+ * - Tek bir gönderim süre sınırını aşarsa (okumayı bırakmış istemci) o istemci de çıkarılır; işçi beklemeyi
+ *   bırakıp diğer istemcilere geçer
+ * - Proxy'lerin boşta kalan bağlantıyı kesmemesi için düzenli aralıklarla yorum satırı (heartbeat) gönderilir
+ */
+@Component
+public class ReviewStreamBroadcaster {
+
+    private static final Logger log = LoggerFactory.getLogger(ReviewStreamBroadcaster.class);
+
+    static final String REVIEW_EVENT = "review";
+
+    private final ReviewQueryService reviewQueryService;
+    private final TaskExecutor executor;
+    private final AsyncTaskExecutor sendExecutor;
+    private final Duration timeout;
+    private final Duration sendTimeout;
+    private final int bufferSize;
+    private final int maxSubscribers;
+    private final Counter evictions;
+
+    private final Map<Long, Set<Subscriber>> subscribersByFacility = new ConcurrentHashMap<>();
+    private final AtomicInteger subscriberCount = new AtomicInteger();
+
+    public ReviewStreamBroadcaster(ReviewQueryService reviewQueryService,
+                                   @Qualifier(ReviewStreamConfig.REVIEW_STREAM_EXECUTOR) TaskExecutor executor,
+                                   @Qualifier(ReviewStreamConfig.REVIEW_STREAM_SEND_EXECUTOR) AsyncTaskExecutor sendExecutor,
+                                   MeterRegistry registry,
+                                   @Value("${app.review-stream.timeout:30m}") Duration timeout,
+                                   @Value("${app.review-stream.send-timeout:5s}") Duration sendTimeout,
+                                   @Value("${app.review-stream.buffer-size:32}") int bufferSize,
+                                   @Value("${app.review-stream.max-subscribers:10000}") int maxSubscribers) {
+        this.reviewQueryService = reviewQueryService;
+        this.executor = executor;
+        this.sendExecutor = sendExecutor;
+        this.timeout = timeout;
+        this.sendTimeout = sendTimeout;
+        this.bufferSize = bufferSize;
+        this.maxSubscribers = maxSubscribers;
+        this.evictions = Counter.builder("tesis.review.stream.evictions")
+                .description("Review stream clients disconnected because their buffer was full or a send stalled")
+                .register(registry);
+        Gauge.builder("tesis.review.stream.subscribers", subscriberCount, AtomicInteger::get)
+                .description("Open review stream connections")
+                .register(registry);
+    }
+
+
+    public SseEmitter subscribe(Long facilityId) {
+        if (subscriberCount.incrementAndGet() > maxSubscribers) {
+            subscriberCount.decrementAndGet();
+            throw new IllegalStateException("Too many open review streams, try again later");
+        }
+
+        SseEmitter emitter = new SseEmitter(timeout.toMillis());
+        Subscriber subscriber = new Subscriber(facilityId, emitter);
+        subscribersByFacility.computeIfAbsent(facilityId, id -> ConcurrentHashMap.newKeySet()).add(subscriber);
+        emitter.onCompletion(subscriber::close);
+        emitter.onTimeout(subscriber::close);
+        emitter.onError(error -> subscriber.close());
+        return emitter;
+    }
+
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onReviewsApproved(ReviewsApprovedEvent event) {
+        List<Long> reviewIds = new ArrayList<>();
+        event.reviewIdsByFacility().forEach((facilityId, ids) -> {
+            if (subscribersByFacility.containsKey(facilityId)) {
+                reviewIds.addAll(ids);
+            }
+        });
+        if (reviewIds.isEmpty()) {
+            return;
+        }
+
+        // Loading the views and fanning out happen off the approving request's thread
+        try {
+            executor.execute(() -> publish(reviewIds));
+        } catch (RejectedExecutionException ex) {
+            log.warn("Review stream is overloaded, dropped {} approved reviews", reviewIds.size());
+        }
+    }
+
+
+    @Scheduled(fixedDelayString = "${app.review-stream.heartbeat-interval:PT15S}")
+    public void sendHeartbeats() {
+        Set<DataWithMediaType> heartbeat = frame(SseEmitter.event().comment("heartbeat"));
+        for (Set<Subscriber> subscribers : subscribersByFacility.values()) {
+            for (Subscriber subscriber : subscribers) {
+                subscriber.offer(heartbeat);
+            }
+        }
+    }
+
+    public int getSubscriberCount() {
+        return subscriberCount.get();
+    }
+
+
+    private void publish(List<Long> reviewIds) {
+        for (PublicReviewView review : reviewQueryService.getPublicReviewViews(reviewIds)) {
+            Set<Subscriber> subscribers = subscribersByFacility.get(review.facility().id());
+            if (subscribers == null) {
+                continue;
+            }
+            Set<DataWithMediaType> event = frame(SseEmitter.event()
+                    .name(REVIEW_EVENT)
+                    .id(String.valueOf(review.id()))
+                    .data(review, MediaType.APPLICATION_JSON));
+            for (Subscriber subscriber : subscribers) {
+                subscriber.offer(event);
+            }
+        }
+    }
+
+
+    /**
+     * Olayı bir kez çerçeveye çevirir; aynı çerçeve bütün abonelere gönderilir. {@code SseEventBuilder.build()} her
+     * çağrıda çerçeveye yeni parçalar eklediği için builder aboneler arasında paylaşılamaz.
+     */
+    private static Set<DataWithMediaType> frame(SseEmitter.SseEventBuilder event) {
+        return Collections.unmodifiableSet(event.build());
+    }
+
+
+    /**
+     * Tek bir açık bağlantı: sınırlı kuyruk ve aynı anda en fazla bir gönderim görevi.
+     */
+    private final class Subscriber {
+        private final Long facilityId;
+        private final SseEmitter emitter;
+        private final Queue<Set<DataWithMediaType>> queue = new ArrayBlockingQueue<>(bufferSize);
+        private final AtomicBoolean draining = new AtomicBoolean();
+        private final AtomicBoolean closed = new AtomicBoolean();
+
+        private Subscriber(Long facilityId, SseEmitter emitter) {
+            this.facilityId = facilityId;
+            this.emitter = emitter;
+        }
+
+        void offer(Set<DataWithMediaType> event) {
+            if (closed.get()) {
+                return;
+            }
+            if (!queue.offer(event)) {
+                evict("buffer full");
+                return;
+            }
+            scheduleDrain();
+        }
+
+        private void scheduleDrain() {
+            if (draining.compareAndSet(false, true)) {
+                try {
+                    executor.execute(this::drain);
+                } catch (RejectedExecutionException ex) {
+                    // Retried by the next offer or heartbeat; the bounded queue still caps memory
+                    draining.set(false);
+                }
+            }
+        }
+
+        private void drain() {
+            try {
+                Set<DataWithMediaType> event;
+                while (!closed.get() && (event = queue.poll()) != null) {
+                    send(event);
+                }
+            } catch (IOException | IllegalStateException | RejectedExecutionException ex) {
+                // Client went away, the emitter already completed, or too many sends are stalled
+                close();
+            } finally {
+                draining.set(false);
+            }
+            if (!closed.get() && !queue.isEmpty()) {
+                scheduleDrain();
+            }
+        }
+
+        /**
+         * A blocked write holds the emitter's monitor until the container's write timeout, so completing the
+         * emitter from here would block too; the worker only stops waiting for it.
+         */
+        private void send(Set<DataWithMediaType> event) throws IOException {
+            Future<?> sending = sendExecutor.submit(() -> {
+                emitter.send(event);
+                return null;
+            });
+            try {
+                sending.get(sendTimeout.toMillis(), TimeUnit.MILLISECONDS);
+            } catch (TimeoutException ex) {
+                evict("send stalled for " + sendTimeout.toMillis() + " ms");
+            } catch (ExecutionException ex) {
+                if (ex.getCause() instanceof IOException io) {
+                    throw io;
+                }
+                throw new IllegalStateException(ex.getCause());
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                close();
+            }
+        }
+
+        private void evict(String reason) {
+            if (closed.get()) {
+                return;
+            }
+            evictions.increment();
+            log.debug("Evicting review stream client of facility {}: {}", facilityId, reason);
+            close();
+            try {
+                // Waits behind a stalled send, so it runs on the send pool and never on a worker or the publisher
+                sendExecutor.execute(emitter::complete);
+            } catch (RejectedExecutionException ex) {
+                // The container's write timeout fails the stalled send and ends the request anyway
+            }
+        }
+
+        void close() {
+            if (closed.compareAndSet(false, true)) {
+                queue.clear();
+                subscriberCount.decrementAndGet();
+                subscribersByFacility.computeIfPresent(facilityId, (id, subscribers) -> {
+                    subscribers.remove(this);
+                    return subscribers.isEmpty() ? null : subscribers;
+                });
+            }
+        }
+    }
+}
@@ -0,0 +1,211 @@
+package org.example.tesis_yorum.thumbnail;
+
+import org.example.tesis_yorum.config.AttachmentProcessingConfig;
+import org.example.tesis_yorum.exceptions.FileStorageException;
+import org.example.tesis_yorum.service.FileStorageService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.stereotype.Service;
+
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReadParam;
+import javax.imageio.ImageReader;
+import javax.imageio.stream.ImageInputStream;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Dosya ekleri için sabit boyutlarda küçük resimler ({@link ThumbnailSize}) üretir.
+ *
+ * - Küçük resimler orijinal dosyanın yanında saklanır: {@code ab/<sha256>_small.jpg}. Dosyalar içerik adresli
+ *   olduğu için aynı resmi paylaşan bütün ekler aynı küçük resimleri kullanır
+ * - Ek READY olduğunda bütün boyutlar sınırlı bir havuzda arka planda üretilir
+ * - Eksik bir boyut ilk istendiğinde üretilir; aynı anda gelen istekler tek bir üretimi bekler (single-flight)
+ * - Orijinal dosya silinirken küçük resimleri de silinir
+ */
+@Service
+public class ThumbnailService {
+
+    private static final Logger log = LoggerFactory.getLogger(ThumbnailService.class);
+
+    private static final long RENDER_TIMEOUT_SECONDS = 30;
+
+    private final FileStorageService fileStorageService;
+    private final TaskExecutor thumbnailExecutor;
+    private final Map<String, CompletableFuture<Path>> inFlight = new ConcurrentHashMap<>();
+
+    @Autowired
+    public ThumbnailService(FileStorageService fileStorageService,
+                            @Qualifier(AttachmentProcessingConfig.THUMBNAIL_EXECUTOR) TaskExecutor thumbnailExecutor) {
+        this.fileStorageService = fileStorageService;
+        this.thumbnailExecutor = thumbnailExecutor;
+    }
+
+    /**
+     * Eksik bütün boyutları arka planda üretir; beklemez.
+     */
+    public void generateAll(String storedFilename, String contentType) {
+        for (ThumbnailSize size : ThumbnailSize.values()) {
+            if (!Files.exists(resolveThumbnail(storedFilename, size))) {
+                render(storedFilename, contentType, size).whenComplete((path, ex) -> {
+                    if (ex != null) {
+                        log.warn("Could not render {} thumbnail of {}: {}", size, storedFilename, ex.getMessage());
+                    }
+                });
+            }
+        }
+    }
+
+    /**
+     * Küçük resmin yolunu döner, yoksa üretilmesini bekler.
+     */
+    public Path getThumbnail(String storedFilename, String contentType, ThumbnailSize size) {
+        Path thumbnail = resolveThumbnail(storedFilename, size);
+        if (Files.exists(thumbnail)) {
+            return thumbnail;
+        }
+
+        try {
+            return render(storedFilename, contentType, size).get(RENDER_TIMEOUT_SECONDS, TimeUnit.SECONDS);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while rendering thumbnail", ex);
+        } catch (TimeoutException ex) {
+            throw new IllegalStateException("Thumbnail is still being rendered, please try again", ex);
+        } catch (ExecutionException ex) {
+            if (ex.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new FileStorageException("Could not render thumbnail of " + storedFilename, ex.getCause());
+        }
+    }
+
+
+    public void deleteThumbnails(String storedFilename) {
+        for (ThumbnailSize size : ThumbnailSize.values()) {
+            fileStorageService.deleteFile(toThumbnailFilename(storedFilename, size));
+        }
+    }
+
+
+    public Path resolveThumbnail(String storedFilename, ThumbnailSize size) {
+        return fileStorageService.resolveStoredFile(toThumbnailFilename(storedFilename, size));
+    }
+
+    /**
+     * Single-flight: the first caller registers the future before submitting, later callers join it.
+     * The future is published before the task runs so CallerRunsPolicy cannot re-enter the map.
+     */
+    private CompletableFuture<Path> render(String storedFilename, String contentType, ThumbnailSize size) {
+        String key = toThumbnailFilename(storedFilename, size);
+        CompletableFuture<Path> created = new CompletableFuture<>();
+        CompletableFuture<Path> existing = inFlight.putIfAbsent(key, created);
+        if (existing != null) {
+            return existing;
+        }
+
+        thumbnailExecutor.execute(() -> {
+            try {
+                created.complete(renderNow(storedFilename, contentType, size));
+            } catch (Throwable ex) {
+                created.completeExceptionally(ex);
+            } finally {
+                inFlight.remove(key, created);
+            }
+        });
+        return created;
+    }
+
+    private Path renderNow(String storedFilename, String contentType, ThumbnailSize size) throws IOException {
+        Path thumbnail = resolveThumbnail(storedFilename, size);
+        if (Files.exists(thumbnail)) {
+            return thumbnail;
+        }
+
+        Path original = fileStorageService.resolveStoredFile(storedFilename);
+        boolean png = "image/png".equalsIgnoreCase(contentType);
+        BufferedImage scaled = scale(read(original, size.getMaxDimension()), size.getMaxDimension(), png);
+
+        Path tempFile = Files.createTempFile(thumbnail.getParent(), "thumbnail-", ".tmp");
+        try {
+            if (!ImageIO.write(scaled, png ? "png" : "jpeg", tempFile.toFile())) {
+                throw new FileStorageException("No image writer for " + contentType);
+            }
+            Files.move(tempFile, thumbnail, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(tempFile);
+        }
+
+        // The original may have been released while rendering; do not leave an orphan behind
+        if (!Files.exists(original)) {
+            Files.deleteIfExists(thumbnail);
+            throw new FileStorageException("File " + storedFilename + " was deleted while rendering its thumbnail");
+        }
+        return thumbnail;
+    }
+
+    /**
+     * Decodes with source subsampling so a 4000px photo is never fully expanded in memory for a 160px thumbnail.
+     */
+    private BufferedImage read(Path original, int maxDimension) throws IOException {
+        try (ImageInputStream in = ImageIO.createImageInputStream(original.toFile())) {
+            Iterator<ImageReader> readers = in == null ? null : ImageIO.getImageReaders(in);
+            if (readers == null || !readers.hasNext()) {
+                throw new IllegalStateException("Image could not be decoded: " + original.getFileName());
+            }
+
+            ImageReader reader = readers.next();
+            try {
+                reader.setInput(in, true, true);
+                int largestSide = Math.max(reader.getWidth(0), reader.getHeight(0));
+                int step = Math.max(1, largestSide / (maxDimension * 2));
+
+                ImageReadParam param = reader.getDefaultReadParam();
+                param.setSourceSubsampling(step, step, 0, 0);
+                return reader.read(0, param);
+            } catch (IOException | RuntimeException ex) {
+                throw new IllegalStateException("Image could not be decoded: " + original.getFileName(), ex);
+            } finally {
+                reader.dispose();
+            }
+        }
+    }
+
+    private BufferedImage scale(BufferedImage source, int maxDimension, boolean keepAlpha) {
+        double ratio = Math.min(1.0, (double) maxDimension / Math.max(source.getWidth(), source.getHeight()));
+        int width = Math.max(1, (int) Math.round(source.getWidth() * ratio));
+        int height = Math.max(1, (int) Math.round(source.getHeight() * ratio));
+
+        BufferedImage target = new BufferedImage(width, height,
+                keepAlpha ? BufferedImage.TYPE_INT_ARGB : BufferedImage.TYPE_INT_RGB);
+        Graphics2D graphics = target.createGraphics();
+        try {
+            graphics.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+            graphics.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+            graphics.drawImage(source, 0, 0, width, height, null);
+        } finally {
+            graphics.dispose();
+        }
+        return target;
+    }
+
+    private static String toThumbnailFilename(String storedFilename, ThumbnailSize size) {
+        int dot = storedFilename.lastIndexOf('.');
+        return storedFilename.substring(0, dot) + "_" + size.getSuffix() + storedFilename.substring(dot);
+    }
+}
@@ -0,0 +1,35 @@
+package org.example.tesis_yorum.thumbnail;
+
+import java.util.Locale;
+
+public enum ThumbnailSize {
+    SMALL(160),
+    MEDIUM(480),
+    LARGE(1024);
+
+    private final int maxDimension;
+
+    ThumbnailSize(int maxDimension) {
+        this.maxDimension = maxDimension;
+    }
+
+    /**
+     * Genişlik ve yükseklik bu değeri geçmeyecek şekilde, oran korunarak küçültülür.
+     */
+    public int getMaxDimension() {
+        return maxDimension;
+    }
+
+    public String getSuffix() {
+        return name().toLowerCase(Locale.ROOT);
+    }
+
+    public static ThumbnailSize fromName(String name) {
+        for (ThumbnailSize size : values()) {
+            if (size.name().equalsIgnoreCase(name)) {
+                return size;
+            }
+        }
+        throw new IllegalArgumentException("Unknown thumbnail size: " + name + ". Use small, medium or large.");
+    }
+}
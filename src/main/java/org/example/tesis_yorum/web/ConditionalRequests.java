@@ -0,0 +1,51 @@
+package org.example.tesis_yorum.web;
+
+import jakarta.servlet.http.HttpServletResponse;
+import org.example.tesis_yorum.dto.ResourceVersion;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.web.context.request.NativeWebRequest;
+
+/**
+ * GET uç noktaları için koşullu istek (If-None-Match / If-Modified-Since) yardımcıları.
+ *
+ * Doğrulayıcılar gövdeden değil {@link ResourceVersion}'dan üretilir; istemcinin kopyası güncelse
+ * gövde hiç yüklenmez ve serileştirilmez, 304 döner. Controller bu durumda {@code null} döndürmelidir.
+ *
+ * Yanıtlara {@code Cache-Control: no-cache} eklenir: istemci kopyasını saklar ama her kullanımda sunucuya sorar.
+ */
+public final class ConditionalRequests {
+
+    private static final String REVALIDATE = CacheControl.noCache().getHeaderValue();
+
+    private ConditionalRequests() {
+    }
+
+    /**
+     * Tek kaynak: ETag ve Last-Modified birlikte gönderilir.
+     *
+     * @return true ise 304 hazırlandı
+     */
+    public static boolean checkNotModified(NativeWebRequest request, ResourceVersion version) {
+        setRevalidate(request);
+        return request.checkNotModified(version.toETag(), version.lastModifiedMillis());
+    }
+
+    /**
+     * Koleksiyon: sadece ETag gönderilir. En büyük updatedAt silmelerde artmadığı için
+     * Last-Modified koleksiyonlarda güvenilir bir doğrulayıcı değildir; silmeyi ETag'deki satır sayısı yakalar.
+     *
+     * @return true ise 304 hazırlandı
+     */
+    public static boolean checkCollectionNotModified(NativeWebRequest request, ResourceVersion version) {
+        setRevalidate(request);
+        return request.checkNotModified(version.toETag());
+    }
+
+    private static void setRevalidate(NativeWebRequest request) {
+        HttpServletResponse response = request.getNativeResponse(HttpServletResponse.class);
+        if (response != null) {
+            response.setHeader(HttpHeaders.CACHE_CONTROL, REVALIDATE);
+        }
+    }
+}
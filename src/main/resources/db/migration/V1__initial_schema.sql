@@ -0,0 +1,102 @@
+-- Schema as previously generated by Hibernate (ddl-auto=update), now owned by Flyway.
+-- Ids come from pooled sequences (allocationSize = 50 in the entity mappings).
+
+CREATE SEQUENCE users_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE facilities_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE reviews_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE file_attachments_seq START WITH 1 INCREMENT BY 50;
+
+CREATE TABLE users (
+    id         BIGINT       NOT NULL,
+    username   VARCHAR(255) NOT NULL,
+    email      VARCHAR(255) NOT NULL,
+    full_name  VARCHAR(255) NOT NULL,
+    role       ENUM ('ADMIN', 'USER') NOT NULL,
+    created_at TIMESTAMP(6) NOT NULL,
+    updated_at TIMESTAMP(6),
+    CONSTRAINT pk_users PRIMARY KEY (id),
+    CONSTRAINT uk_users_username UNIQUE (username),
+    CONSTRAINT uk_users_email UNIQUE (email)
+);
+
+CREATE TABLE facilities (
+    id          BIGINT       NOT NULL,
+    name        VARCHAR(100) NOT NULL,
+    description TEXT,
+    address     VARCHAR(200),
+    city        VARCHAR(50),
+    type        ENUM ('CAFE', 'CINEMA', 'HOSPITAL', 'HOTEL', 'MUSEUM', 'OTHER', 'PARK', 'RESTAURANT',
+                      'SHOPPING_MALL', 'SUPERMARKET', 'UNIVERSITY') NOT NULL,
+    updated_at  TIMESTAMP(6),
+    CONSTRAINT pk_facilities PRIMARY KEY (id)
+);
+
+CREATE TABLE reviews (
+    id               BIGINT       NOT NULL,
+    content          TEXT         NOT NULL,
+    rating           INTEGER      NOT NULL,
+    status           ENUM ('APPROVED', 'PENDING', 'REJECTED') NOT NULL,
+    user_id          BIGINT       NOT NULL,
+    facility_id      BIGINT       NOT NULL,
+    admin_notes      VARCHAR(500),
+    approved_by      BIGINT,
+    approved_at      TIMESTAMP(6),
+    claimed_by       BIGINT,
+    claim_expires_at TIMESTAMP(6),
+    created_at       TIMESTAMP(6) NOT NULL,
+    updated_at       TIMESTAMP(6),
+    CONSTRAINT pk_reviews PRIMARY KEY (id),
+    CONSTRAINT ck_reviews_rating CHECK (rating >= 1 AND rating <= 5),
+    CONSTRAINT fk_reviews_user FOREIGN KEY (user_id) REFERENCES users (id),
+    CONSTRAINT fk_reviews_facility FOREIGN KEY (facility_id) REFERENCES facilities (id)
+);
+
+CREATE TABLE file_attachments (
+    id                BIGINT       NOT NULL,
+    review_id         BIGINT       NOT NULL,
+    original_filename VARCHAR(255) NOT NULL,
+    stored_filename   VARCHAR(255),
+    file_path         VARCHAR(255),
+    content_type      VARCHAR(255) NOT NULL,
+    file_size         BIGINT       NOT NULL,
+    content_sha256    VARCHAR(64),
+    status            ENUM ('FAILED', 'PENDING', 'READY') NOT NULL,
+    staged_filename   VARCHAR(255),
+    failure_reason    VARCHAR(255),
+    created_at        TIMESTAMP(6) NOT NULL,
+    updated_at        TIMESTAMP(6),
+    CONSTRAINT pk_file_attachments PRIMARY KEY (id),
+    CONSTRAINT fk_file_attachments_review FOREIGN KEY (review_id) REFERENCES reviews (id)
+);
+
+CREATE TABLE stored_blobs (
+    sha256          VARCHAR(64)  NOT NULL,
+    stored_filename VARCHAR(255) NOT NULL,
+    content_type    VARCHAR(255) NOT NULL,
+    file_size       BIGINT       NOT NULL,
+    reference_count BIGINT       NOT NULL,
+    created_at      TIMESTAMP(6) NOT NULL,
+    CONSTRAINT pk_stored_blobs PRIMARY KEY (sha256)
+);
+
+CREATE TABLE facility_rating_aggregates (
+    facility_id    BIGINT       NOT NULL,
+    review_count   BIGINT       NOT NULL,
+    rating_sum     BIGINT       NOT NULL,
+    rating_1_count BIGINT       NOT NULL,
+    rating_2_count BIGINT       NOT NULL,
+    rating_3_count BIGINT       NOT NULL,
+    rating_4_count BIGINT       NOT NULL,
+    rating_5_count BIGINT       NOT NULL,
+    score          FLOAT(53)    NOT NULL,
+    updated_at     TIMESTAMP(6),
+    CONSTRAINT pk_facility_rating_aggregates PRIMARY KEY (facility_id)
+);
+
+-- Bayesian score ordering (top-rated facilities)
+CREATE INDEX idx_facility_rating_aggregates_score ON facility_rating_aggregates (score);
+
+-- MAX(updated_at) lookups behind the conditional GET validators
+CREATE INDEX idx_users_updated_at ON users (updated_at);
+CREATE INDEX idx_facilities_updated_at ON facilities (updated_at);
+CREATE INDEX idx_file_attachments_updated_at ON file_attachments (updated_at);
@@ -0,0 +1,18 @@
+-- Composite indexes matching the review access paths. Equality columns come first, then the
+-- (created_at, id) keyset order used by the cursor pages; databases scan them backwards for newest-first.
+
+-- Approved reviews of a facility: pages, per-facility counts/averages/statistics
+CREATE INDEX idx_reviews_facility_status_created ON reviews (facility_id, status, created_at, id);
+
+-- Reviews by status: public approved feed, pending queue (oldest first), claim queue, pending gauges
+CREATE INDEX idx_reviews_status_created ON reviews (status, created_at, id);
+
+-- Reviews of a user: pages, rating removal on user delete, list validators
+CREATE INDEX idx_reviews_user_created ON reviews (user_id, created_at, id);
+
+-- Sweep of expired moderation leases
+CREATE INDEX idx_reviews_claim_expires_at ON reviews (claim_expires_at);
+
+-- Attachments of a page of reviews, and the startup requeue of unprocessed uploads
+CREATE INDEX idx_file_attachments_review_id ON file_attachments (review_id);
+CREATE INDEX idx_file_attachments_status ON file_attachments (status, id);
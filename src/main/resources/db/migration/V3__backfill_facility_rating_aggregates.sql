@@ -0,0 +1,8 @@
+-- Every facility gets its rating aggregate row when it is created, so rating updates always find a row to lock
+-- instead of racing to insert it. Facilities from before (bulk import, first rating never happened) get an empty
+-- row here; the score is the default prior mean until the next prior refresh rescores it.
+INSERT INTO facility_rating_aggregates (facility_id, review_count, rating_sum, rating_1_count, rating_2_count,
+                                        rating_3_count, rating_4_count, rating_5_count, score, updated_at)
+SELECT f.id, 0, 0, 0, 0, 0, 0, 0, 3.0, CURRENT_TIMESTAMP
+FROM facilities f
+WHERE NOT EXISTS (SELECT 1 FROM facility_rating_aggregates a WHERE a.facility_id = f.id);
@@ -0,0 +1,123 @@
+package org.example.tesis_yorum.controller;
+
+import org.example.tesis_yorum.entity.AttachmentStatus;
+import org.example.tesis_yorum.entity.FacilityType;
+import org.example.tesis_yorum.repository.FileAttachmentRepository;
+import org.example.tesis_yorum.service.FacilityService;
+import org.example.tesis_yorum.service.ReviewService;
+import org.example.tesis_yorum.service.UserService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.context.WebApplicationContext;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Onaylanmamış yorumların ekleri ve küçük resimleri sadece yorumun sahibine ve adminlere gösterilir;
+ * ek ID'leri sırayla denenerek moderasyon atlanamaz.
+ */
+@SpringBootTest
+class AttachmentControllerTest {
+
+    @Autowired
+    private WebApplicationContext context;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private FacilityService facilityService;
+
+    @Autowired
+    private ReviewService reviewService;
+
+    @Autowired
+    private FileAttachmentRepository fileAttachmentRepository;
+
+    private MockMvc mockMvc;
+
+    private Long ownerId;
+    private Long otherUserId;
+    private Long adminId;
+    private Long reviewId;
+    private Long attachmentId;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        mockMvc = MockMvcBuilders.webAppContextSetup(context).build();
+
+        for (String table : new String[]{"file_attachments", "reviews", "facility_rating_aggregates",
+                "stored_blobs", "facilities", "users"}) {
+            jdbcTemplate.update("DELETE FROM " + table);
+        }
+
+        ownerId = userService.createRegularUser("attach_owner", "attach_owner@example.com", "Attach Owner").getId();
+        otherUserId = userService.createRegularUser("attach_other", "attach_other@example.com", "Attach Other").getId();
+        adminId = userService.createAdminUser("attach_admin", "attach_admin@example.com", "Attach Admin").getId();
+        Long facilityId = facilityService.createFacility("Koy Otel", FacilityType.HOTEL,
+                "Koy içinde butik otel", "Bozburun", "Muğla").getId();
+
+        MockMultipartFile photo = new MockMultipartFile("files", "koy.png", "image/png", png());
+        reviewId = reviewService.createReview(ownerId, facilityId, "Deniz çok temiz", 5, List.of(photo)).getId();
+        attachmentId = fileAttachmentRepository.findByReviewId(reviewId).get(0).getId();
+        awaitReady(attachmentId);
+    }
+
+    @Test
+    void pendingReviewAttachmentIsHiddenFromOthers() throws Exception {
+        for (String url : List.of("/api/attachments/{id}/content", "/api/attachments/{id}/thumbnails/small")) {
+            mockMvc.perform(get(url, attachmentId)).andExpect(status().isNotFound());
+            mockMvc.perform(get(url, attachmentId).param("userId", otherUserId.toString()))
+                    .andExpect(status().isNotFound());
+            mockMvc.perform(get(url, attachmentId).param("userId", ownerId.toString()))
+                    .andExpect(status().isOk())
+                    .andExpect(header().string("Cache-Control", "private, max-age=31536000, immutable"));
+            mockMvc.perform(get(url, attachmentId).param("userId", adminId.toString()))
+                    .andExpect(status().isOk());
+        }
+    }
+
+    @Test
+    void approvedReviewAttachmentIsPublic() throws Exception {
+        reviewService.approveReview(reviewId, adminId);
+
+        for (String url : List.of("/api/attachments/{id}/content", "/api/attachments/{id}/thumbnails/small")) {
+            mockMvc.perform(get(url, attachmentId))
+                    .andExpect(status().isOk())
+                    .andExpect(header().string("Cache-Control", "public, max-age=31536000, immutable"));
+        }
+    }
+
+    private void awaitReady(Long id) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (fileAttachmentRepository.findById(id).orElseThrow().getStatus() != AttachmentStatus.READY
+                && System.nanoTime() < deadline) {
+            Thread.sleep(20);
+        }
+        assertThat(fileAttachmentRepository.findById(id).orElseThrow().getStatus()).isEqualTo(AttachmentStatus.READY);
+    }
+
+    private static byte[] png() throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        ImageIO.write(new BufferedImage(32, 32, BufferedImage.TYPE_INT_RGB), "png", out);
+        return out.toByteArray();
+    }
+}
@@ -0,0 +1,177 @@
+package org.example.tesis_yorum.controller;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.Entity;
+import org.example.tesis_yorum.entity.FacilityType;
+import org.example.tesis_yorum.entity.Review;
+import org.example.tesis_yorum.service.FacilityService;
+import org.example.tesis_yorum.service.ReviewService;
+import org.example.tesis_yorum.service.UserService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.CacheManager;
+import org.springframework.core.ResolvableType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.context.WebApplicationContext;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.mvc.method.annotation.RequestMappingHandlerMapping;
+
+import java.lang.reflect.RecordComponent;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Yorum yanıtlarının şeklini sabitler: yorum uç noktaları entity döndürmez (Hibernate proxy'si veya sunucudaki
+ * dosya yolu JSON'a giremez) ve herkese açık, sahip ve admin yanıtları sadece kendi alanlarını içerir.
+ */
+@SpringBootTest
+class ReviewResponseTest {
+
+    private static final Set<Class<?>> REVIEW_CONTROLLERS = Set.of(ReviewController.class, AdminController.class);
+
+    @Autowired
+    private WebApplicationContext context;
+
+    @Autowired
+    @Qualifier("requestMappingHandlerMapping")
+    private RequestMappingHandlerMapping handlerMapping;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private FacilityService facilityService;
+
+    @Autowired
+    private ReviewService reviewService;
+
+    private MockMvc mockMvc;
+
+    private Long userId;
+    private Long facilityId;
+    private Long approvedReviewId;
+
+    @BeforeEach
+    void setUp() {
+        mockMvc = MockMvcBuilders.webAppContextSetup(context).build();
+
+        for (String table : new String[]{"file_attachments", "reviews", "facility_rating_aggregates",
+                "stored_blobs", "facilities", "users"}) {
+            jdbcTemplate.update("DELETE FROM " + table);
+        }
+
+        userId = userService.createRegularUser("json_user", "json_user@example.com", "Json User").getId();
+        Long adminId = userService.createAdminUser("json_admin", "json_admin@example.com", "Json Admin").getId();
+        facilityId = facilityService.createFacility("Deniz Otel", FacilityType.HOTEL,
+                "Denize sıfır aile oteli", "Lara", "Antalya").getId();
+        reviewService.createReview(userId, facilityId, "Temiz ve sessiz", 4);
+        Review approved = reviewService.createReview(userId, facilityId, "Personel çok ilgili", 5);
+        approvedReviewId = reviewService.approveReview(approved.getId(), adminId).getId();
+
+        cacheManager.getCacheNames().forEach(name -> cacheManager.getCache(name).clear());
+    }
+
+    @Test
+    void reviewEndpointsDoNotReturnEntities() {
+        List<String> failures = new ArrayList<>();
+        for (HandlerMethod handler : handlerMapping.getHandlerMethods().values()) {
+            if (REVIEW_CONTROLLERS.contains(handler.getBeanType())) {
+                ResolvableType returnType = ResolvableType.forMethodReturnType(handler.getMethod());
+                String name = handler.getBeanType().getSimpleName() + "." + handler.getMethod().getName();
+                collectEntities(returnType, name, failures, new HashSet<>());
+            }
+        }
+        assertThat(failures).isEmpty();
+    }
+
+    @Test
+    void publicReviewHasOnlyPublicFields() throws Exception {
+        JsonNode review = getJson("/api/reviews/" + approvedReviewId);
+        JsonNode page = getJson("/api/reviews/facility/" + facilityId).get("items").get(0);
+
+        for (JsonNode node : List.of(review, page)) {
+            assertThat(fieldNames(node)).containsExactlyInAnyOrder(
+                    "id", "content", "rating", "createdAt", "updatedAt", "user", "facility", "attachments");
+            assertThat(fieldNames(node.get("user"))).containsExactlyInAnyOrder("id", "username", "fullName");
+            assertThat(fieldNames(node.get("facility"))).containsExactlyInAnyOrder("id", "name");
+        }
+    }
+
+    @Test
+    void ownerReviewAddsStatusAndAdminNotes() throws Exception {
+        JsonNode review = getJson("/api/reviews/user/" + userId).get("items").get(0);
+
+        assertThat(fieldNames(review)).containsExactlyInAnyOrder("id", "content", "rating", "status", "adminNotes",
+                "createdAt", "updatedAt", "user", "facility", "attachments");
+        assertThat(fieldNames(review.get("user"))).containsExactlyInAnyOrder("id", "username", "fullName");
+    }
+
+    @Test
+    void adminReviewAddsModerationFieldsAndEmail() throws Exception {
+        JsonNode review = getJson("/api/admin/reviews/pending").get(0);
+
+        assertThat(fieldNames(review)).containsExactlyInAnyOrder("id", "content", "rating", "status", "adminNotes",
+                "approvedBy", "approvedAt", "claimedBy", "claimExpiresAt", "createdAt", "updatedAt",
+                "user", "facility", "attachments");
+        assertThat(review.get("user").get("email").asText()).isEqualTo("json_user@example.com");
+    }
+
+    private JsonNode getJson(String url) throws Exception {
+        String body = mockMvc.perform(get(url))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        return objectMapper.readTree(body);
+    }
+
+    private static List<String> fieldNames(JsonNode node) {
+        List<String> names = new ArrayList<>();
+        Iterator<String> iterator = node.fieldNames();
+        iterator.forEachRemaining(names::add);
+        return names;
+    }
+
+    /**
+     * Dönüş tipini generic parametreleri ve record bileşenleriyle birlikte gezer; @Entity bir sınıf bulursa kaydeder.
+     */
+    private static void collectEntities(ResolvableType type, String path, List<String> failures, Set<Class<?>> seen) {
+        Class<?> raw = type.resolve();
+        if (raw == null || !seen.add(raw)) {
+            return;
+        }
+        if (raw.isAnnotationPresent(Entity.class)) {
+            failures.add(path + " -> " + raw.getSimpleName());
+            return;
+        }
+        for (ResolvableType generic : type.getGenerics()) {
+            collectEntities(generic, path, failures, seen);
+        }
+        if (raw.isRecord()) {
+            for (RecordComponent component : raw.getRecordComponents()) {
+                collectEntities(ResolvableType.forMethodReturnType(component.getAccessor()),
+                        path + "." + component.getName(), failures, seen);
+            }
+        }
+    }
+}
@@ -0,0 +1,354 @@
+package org.example.tesis_yorum.controller;
+
+import org.example.tesis_yorum.config.SqlStatementCountFilter;
+import org.example.tesis_yorum.config.SqlStatementCounter;
+import org.example.tesis_yorum.entity.FacilityType;
+import org.example.tesis_yorum.entity.Review;
+import org.example.tesis_yorum.service.FacilityService;
+import org.example.tesis_yorum.service.ReviewService;
+import org.example.tesis_yorum.service.UserService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.CacheManager;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.ResultMatcher;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.context.WebApplicationContext;
+import org.springframework.web.servlet.mvc.method.annotation.RequestMappingHandlerMapping;
+
+import java.util.Arrays;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.multipart;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * ReviewController, FacilityController ve AdminController uç noktalarının istek başına çalıştırdığı SQL ifadesi
+ * sayısını sabitler. Bir değişiklik bir uç noktaya sorgu eklerse (ör. EAGER ilişkiden gelen N+1) test kırılır;
+ * sayı bilerek değiştiyse burada güncellenir.
+ *
+ * Her test aynı başlangıç verisiyle ve boş önbellekle çalışır: bir kullanıcı, bir admin, iki tesis,
+ * birinci tesiste iki bekleyen ve bir onaylı yorum.
+ */
+@SpringBootTest
+class SqlStatementCountTest {
+
+    private static final Set<Class<?>> COVERED_CONTROLLERS =
+            Set.of(ReviewController.class, FacilityController.class, AdminController.class);
+
+    @Autowired
+    private WebApplicationContext context;
+
+    @Autowired
+    private SqlStatementCountFilter statementCountFilter;
+
+    @Autowired
+    private SqlStatementCounter statementCounter;
+
+    @Autowired
+    @Qualifier("requestMappingHandlerMapping")
+    private RequestMappingHandlerMapping handlerMapping;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private FacilityService facilityService;
+
+    @Autowired
+    private ReviewService reviewService;
+
+    private MockMvc mockMvc;
+
+    private Long userId;
+    private Long adminId;
+    private Long facilityId;
+    private Long otherFacilityId;
+    private Long pendingReviewId;
+    private Long otherPendingReviewId;
+    private Long approvedReviewId;
+
+    @BeforeEach
+    void setUp() {
+        mockMvc = MockMvcBuilders.webAppContextSetup(context).addFilters(statementCountFilter).build();
+
+        for (String table : new String[]{"file_attachments", "reviews", "facility_rating_aggregates",
+                "stored_blobs", "facilities", "users"}) {
+            jdbcTemplate.update("DELETE FROM " + table);
+        }
+
+        userId = userService.createRegularUser("sql_user", "sql_user@example.com", "Sql User").getId();
+        adminId = userService.createAdminUser("sql_admin", "sql_admin@example.com", "Sql Admin").getId();
+        facilityId = facilityService.createFacility("Deniz Otel", FacilityType.HOTEL,
+                "Denize sıfır aile oteli", "Lara", "Antalya").getId();
+        otherFacilityId = facilityService.createFacility("Köfteci", FacilityType.RESTAURANT,
+                "Izgara köfte", "Kadıköy", "Istanbul").getId();
+        pendingReviewId = reviewService.createReview(userId, facilityId, "Temiz ve sessiz", 4).getId();
+        otherPendingReviewId = reviewService.createReview(userId, facilityId, "Kahvaltı zayıf", 2).getId();
+        Review approved = reviewService.createReview(userId, facilityId, "Personel çok ilgili", 5);
+        approvedReviewId = reviewService.approveReview(approved.getId(), adminId).getId();
+
+        cacheManager.getCacheNames().forEach(name -> cacheManager.getCache(name).clear());
+    }
+
+    @Test
+    void everyEndpointIsCovered() {
+        Set<String> endpoints = handlerMapping.getHandlerMethods().values().stream()
+                .filter(handler -> COVERED_CONTROLLERS.contains(handler.getBeanType()))
+                .map(handler -> handler.getBeanType().getSimpleName() + "." + handler.getMethod().getName())
+                .collect(Collectors.toCollection(TreeSet::new));
+
+        // Each controller has a nested class named <Controller>Statements with one test per handler method
+        Set<String> tested = Arrays.stream(SqlStatementCountTest.class.getDeclaredClasses())
+                .filter(nested -> nested.isAnnotationPresent(Nested.class))
+                .flatMap(nested -> Arrays.stream(nested.getDeclaredMethods())
+                        .filter(method -> method.isAnnotationPresent(Test.class))
+                        .map(method -> nested.getSimpleName().replace("Statements", "") + "." + method.getName()))
+                .collect(Collectors.toCollection(TreeSet::new));
+
+        assertThat(tested).isEqualTo(endpoints);
+    }
+
+    @Nested
+    class ReviewControllerStatements {
+
+        @Test
+        void createReview() throws Exception {
+            assertStatements(multipart("/api/reviews")
+                    .param("userId", userId.toString())
+                    .param("facilityId", facilityId.toString())
+                    .param("content", "Havuz güzel")
+                    .param("rating", "4"), status().isCreated(), 3);
+        }
+
+        @Test
+        void getAllReviews() throws Exception {
+            assertStatements(get("/api/reviews"), status().isOk(), 6);
+        }
+
+        @Test
+        void getReviewById() throws Exception {
+            assertStatements(get("/api/reviews/{id}", approvedReviewId), status().isOk(), 1);
+        }
+
+        @Test
+        void getReviewsByFacility() throws Exception {
+            assertStatements(get("/api/reviews/facility/{id}", facilityId), status().isOk(), 6);
+        }
+
+        @Test
+        void streamApprovedReviews() throws Exception {
+            MvcResult result = perform(get("/api/reviews/facility/{id}/stream", facilityId), status().isOk());
+            result.getRequest().getAsyncContext().complete();
+            assertThat(statementCounter.getCount()).isEqualTo(1);
+        }
+
+        @Test
+        void getReviewsByUser() throws Exception {
+            assertStatements(get("/api/reviews/user/{id}", userId), status().isOk(), 6);
+        }
+
+        @Test
+        void getReviewStatistics() throws Exception {
+            assertStatements(get("/api/reviews/facility/{id}/statistics", facilityId), status().isOk(), 1);
+        }
+
+        @Test
+        void updateReview() throws Exception {
+            assertStatements(put("/api/reviews/{id}", pendingReviewId)
+                    .param("userId", userId.toString())
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content("{\"content\":\"Temiz, sessiz ve ferah\",\"rating\":5}"), status().isOk(), 2);
+        }
+
+        @Test
+        void deleteReview() throws Exception {
+            assertStatements(delete("/api/reviews/{id}", approvedReviewId)
+                    .param("userId", userId.toString()), status().isNoContent(), 5);
+        }
+    }
+
+    @Nested
+    class FacilityControllerStatements {
+
+        @Test
+        void createFacility() throws Exception {
+            assertStatements(post("/api/facilities")
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content("{\"name\":\"Kitap Kafe\",\"type\":\"CAFE\",\"city\":\"Izmir\"}"), status().isCreated(), 2);
+        }
+
+        @Test
+        void getAllFacilities() throws Exception {
+            assertStatements(get("/api/facilities"), status().isOk(), 2);
+        }
+
+        @Test
+        void getFacilityById() throws Exception {
+            assertStatements(get("/api/facilities/{id}", facilityId), status().isOk(), 1);
+        }
+
+        @Test
+        void searchFacilities() throws Exception {
+            assertStatements(get("/api/facilities/search").param("q", "otel"), status().isOk(), 1);
+        }
+
+        @Test
+        void getLeaderboard() throws Exception {
+            assertStatements(get("/api/facilities/leaderboard")
+                    .param("city", "Antalya")
+                    .param("type", "HOTEL"), status().isOk(), 0);
+        }
+
+        @Test
+        void getTopRated() throws Exception {
+            assertStatements(get("/api/facilities/top-rated"), status().isOk(), 3);
+        }
+
+        @Test
+        void updateFacility() throws Exception {
+            assertStatements(put("/api/facilities/{id}", otherFacilityId)
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content("{\"name\":\"Köfteci Yusuf\",\"type\":\"RESTAURANT\",\"city\":\"Istanbul\"}"), status().isOk(), 2);
+        }
+
+        @Test
+        void deleteFacility() throws Exception {
+            assertStatements(delete("/api/facilities/{id}", facilityId), status().isNoContent(), 8);
+        }
+    }
+
+    @Nested
+    class AdminControllerStatements {
+
+        @Test
+        void getPendingReviews() throws Exception {
+            assertStatements(get("/api/admin/reviews/pending"), status().isOk(), 4);
+        }
+
+        @Test
+        void claimPendingReviews() throws Exception {
+            assertStatements(post("/api/admin/reviews/claim")
+                    .param("adminId", adminId.toString()), status().isOk(), 6);
+        }
+
+        @Test
+        void releaseReview() throws Exception {
+            reviewService.claimPendingReviews(adminId, 1);
+            assertStatements(post("/api/admin/reviews/{id}/release", pendingReviewId)
+                    .param("adminId", adminId.toString()), status().isOk(), 2);
+        }
+
+        @Test
+        void approveReview() throws Exception {
+            assertStatements(post("/api/admin/reviews/{id}/approve", pendingReviewId)
+                    .param("adminId", adminId.toString()), status().isOk(), 5);
+        }
+
+        @Test
+        void rejectReview() throws Exception {
+            assertStatements(post("/api/admin/reviews/{id}/reject", pendingReviewId)
+                    .param("adminId", adminId.toString())
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content("{\"adminNotes\":\"Uygunsuz içerik\"}"), status().isOk(), 3);
+        }
+
+        @Test
+        void approveReviews() throws Exception {
+            assertStatements(post("/api/admin/reviews/batch/approve")
+                    .param("adminId", adminId.toString())
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content("{\"reviewIds\":[" + pendingReviewId + "," + otherPendingReviewId + "]}"), status().isOk(), 6);
+        }
+
+        @Test
+        void rejectReviews() throws Exception {
+            assertStatements(post("/api/admin/reviews/batch/reject")
+                    .param("adminId", adminId.toString())
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content("{\"reviewIds\":[" + pendingReviewId + "," + otherPendingReviewId + "]," +
+                            "\"adminNotes\":\"Uygunsuz içerik\"}"), status().isOk(), 3);
+        }
+
+        @Test
+        void getAllReviewsForAdmin() throws Exception {
+            assertStatements(get("/api/admin/reviews/all"), status().isOk(), 4);
+        }
+
+        @Test
+        void exportReviews() throws Exception {
+            // Only the permission check runs on the request thread; rows are streamed asynchronously
+            assertStatements(get("/api/admin/reviews/export")
+                    .param("adminId", adminId.toString()), status().isOk(), 1);
+            // An inverted range is rejected before the stream starts; the admin flag is cached by the request above
+            assertStatements(get("/api/admin/reviews/export")
+                    .param("adminId", adminId.toString())
+                    .param("from", "2025-02-01T00:00:00")
+                    .param("to", "2025-01-01T00:00:00"), status().isBadRequest(), 0);
+        }
+
+        @Test
+        void importRecords() throws Exception {
+            assertStatements(post("/api/admin/import")
+                    .param("adminId", adminId.toString())
+                    .param("type", "REVIEWS")
+                    .contentType("application/x-ndjson")
+                    .content("{\"userId\":" + userId + ",\"facilityId\":" + otherFacilityId +
+                            ",\"content\":\"Porsiyonlar büyük\",\"rating\":4}\n"), status().isOk(), 4);
+        }
+
+        @Test
+        void getCacheStatistics() throws Exception {
+            assertStatements(get("/api/admin/cache/stats")
+                    .param("adminId", adminId.toString()), status().isOk(), 1);
+        }
+
+        @Test
+        void deleteReviewAsAdmin() throws Exception {
+            assertStatements(delete("/api/admin/reviews/{id}", approvedReviewId)
+                    .param("adminId", adminId.toString()), status().isNoContent(), 6);
+        }
+
+        @Test
+        void rebuildStatistics() throws Exception {
+            assertStatements(post("/api/admin/statistics/rebuild")
+                    .param("adminId", adminId.toString()), status().isOk(), 5);
+        }
+    }
+
+    private MvcResult perform(MockHttpServletRequestBuilder request, ResultMatcher expectedStatus) throws Exception {
+        return mockMvc.perform(request).andExpect(expectedStatus).andReturn();
+    }
+
+    /**
+     * MockMvc isteği test thread'inde işlediği için sayaç, filtrenin o istek için saydığı değeri gösterir.
+     */
+    private void assertStatements(MockHttpServletRequestBuilder request, ResultMatcher expectedStatus,
+                                  int expectedStatements) throws Exception {
+        perform(request, expectedStatus);
+        assertThat(statementCounter.getCount())
+                .as("SQL statements for %s", request.buildRequest(context.getServletContext()).getRequestURI())
+                .isEqualTo(expectedStatements);
+    }
+}
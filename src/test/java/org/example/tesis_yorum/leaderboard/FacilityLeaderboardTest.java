@@ -0,0 +1,44 @@
+package org.example.tesis_yorum.leaderboard;
+
+import org.example.tesis_yorum.dto.LeaderboardEntry;
+import org.example.tesis_yorum.entity.Facility;
+import org.example.tesis_yorum.entity.FacilityType;
+import org.example.tesis_yorum.event.FacilityRatingChangedEvent;
+import org.example.tesis_yorum.repository.FacilityRatingAggregateRepository;
+import org.example.tesis_yorum.repository.FacilityRepository;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Açılıştaki kurulum veritabanını okurken gelen puan değişikliği, okunan eski değerlerle ezilmez.
+ */
+class FacilityLeaderboardTest {
+
+    @Test
+    void ratingChangeDuringRebuildSurvivesTheSwap() {
+        FacilityRepository facilityRepository = mock(FacilityRepository.class);
+        FacilityRatingAggregateRepository aggregateRepository = mock(FacilityRatingAggregateRepository.class);
+        FacilityLeaderboard leaderboard = new FacilityLeaderboard(facilityRepository, aggregateRepository, 1);
+
+        Facility facility = new Facility("Deniz Otel", "", "Sahil yolu", "Antalya", FacilityType.HOTEL);
+        facility.setId(1L);
+        when(facilityRepository.findAll()).thenReturn(List.of(facility));
+        // The review is approved after the aggregates were read; its event arrives before the swap
+        when(aggregateRepository.findAll()).thenAnswer(invocation -> {
+            leaderboard.onFacilityRatingChanged(new FacilityRatingChangedEvent(1L, 3, 14, 4.2, 1));
+            return List.of();
+        });
+
+        leaderboard.rebuild();
+
+        List<LeaderboardEntry> top = leaderboard.getTop("antalya", FacilityType.HOTEL, 10, null);
+        assertThat(top).hasSize(1);
+        assertThat(top.get(0).reviewCount()).isEqualTo(3);
+        assertThat(top.get(0).score()).isEqualTo(4.2);
+    }
+}
@@ -0,0 +1,174 @@
+package org.example.tesis_yorum.repository;
+
+import org.example.tesis_yorum.entity.ReviewStatus;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Limit;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.lang.reflect.Method;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.function.Consumer;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.fail;
+
+/**
+ * ReviewRepository ve FacilityRepository'deki her sorgunun ürettiği SQL'i H2 EXPLAIN ile kontrol eder:
+ * hiçbir tablo baştan sona taranmamalıdır. H2 planında tam tarama ya "tableScan" ya da koşulsuz bir indeks
+ * (indeks adından sonra koşul olmadan) olarak görünür; MIN/MAX için indeksin ucundan okuma ("direct lookup") taramadan sayılmaz.
+ *
+ * Sorgular gerçek repository metotları çalıştırılarak H2'nin sorgu istatistiklerinden toplanır;
+ * repository'ye yeni bir sorgu eklenip buraya eklenmezse test başarısız olur.
+ */
+@SpringBootTest
+class RepositoryIndexUsageTest {
+
+    // Export reads every review by design (optional filters, walks the primary key in order)
+    private static final Set<String> FULL_SCAN_ALLOWED = Set.of("ReviewRepository.streamForExport");
+
+    private static final Pattern FULL_SCAN =
+            Pattern.compile("\\.tableScan \\*/|/\\* PUBLIC\\.\\w+ \\*/(?!\\s*/\\* direct lookup \\*/)");
+
+    @Autowired
+    private ReviewRepository reviewRepository;
+
+    @Autowired
+    private FacilityRepository facilityRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Test
+    void everyQueryUsesAnIndex() {
+        Map<String, Runnable> queries = queries();
+        assertThat(queries.keySet()).containsExactlyInAnyOrderElementsOf(declaredQueryMethods());
+
+        List<String> failures = new ArrayList<>();
+        queries.forEach((name, query) -> {
+            List<String> statements = capture(query);
+            assertThat(statements).as("SQL issued by %s", name).isNotEmpty();
+            for (String sql : statements) {
+                String plan = explain(sql);
+                if (FULL_SCAN.matcher(plan).find() && !FULL_SCAN_ALLOWED.contains(name)) {
+                    failures.add(name + ":\n" + plan);
+                }
+            }
+        });
+        if (!failures.isEmpty()) {
+            fail("Queries without an index:\n\n" + String.join("\n\n", failures));
+        }
+    }
+
+    private Map<String, Runnable> queries() {
+        LocalDateTime now = LocalDateTime.now();
+        List<Long> ids = List.of(1L, 2L);
+        ReviewStatus status = ReviewStatus.APPROVED;
+        Limit limit = Limit.of(10);
+
+        Map<String, Runnable> queries = new LinkedHashMap<>();
+        review(queries, "findByStatus", r -> r.findByStatus(status));
+        review(queries, "findByStatusOrderByCreatedAtAsc", r -> r.findByStatusOrderByCreatedAtAsc(status));
+        review(queries, "findByUserId", r -> r.findByUserId(1L));
+        review(queries, "findByFacilityIdAndStatus", r -> r.findByFacilityIdAndStatus(1L, status));
+        review(queries, "findPageByStatus", r -> r.findPageByStatus(status, limit));
+        review(queries, "findPageByStatusAfter", r -> r.findPageByStatusAfter(status, now, 1L, limit));
+        review(queries, "findPageByFacilityIdAndStatus", r -> r.findPageByFacilityIdAndStatus(1L, status, limit));
+        review(queries, "findPageByFacilityIdAndStatusAfter",
+                r -> r.findPageByFacilityIdAndStatusAfter(1L, status, now, 1L, limit));
+        review(queries, "findRowsByIdIn", r -> r.findRowsByIdIn(ids));
+        review(queries, "findVersionByUserId", r -> r.findVersionByUserId(1L));
+        review(queries, "findPageByUserId", r -> r.findPageByUserId(1L, limit));
+        review(queries, "findPageByUserIdAfter", r -> r.findPageByUserIdAfter(1L, now, 1L, limit));
+        review(queries, "streamForExport", r -> {
+            try (Stream<?> rows = r.streamForExport(status, null, null)) {
+                rows.count();
+            }
+        });
+        review(queries, "countByFacilityIdAndStatus", r -> r.countByFacilityIdAndStatus(1L, status));
+        review(queries, "countByStatus", r -> r.countByStatus(status));
+        review(queries, "findOldestCreatedAtByStatus", r -> r.findOldestCreatedAtByStatus(ReviewStatus.PENDING));
+        review(queries, "calculateAverageRatingByFacilityId", r -> r.calculateAverageRatingByFacilityId(1L));
+        review(queries, "getReviewStatisticsByFacility", r -> r.getReviewStatisticsByFacility(1L));
+        review(queries, "countApprovedRatingsGroupedByFacility", ReviewRepository::countApprovedRatingsGroupedByFacility);
+        review(queries, "countApprovedRatingsOfUserGroupedByFacility",
+                r -> r.countApprovedRatingsOfUserGroupedByFacility(1L));
+        review(queries, "findClaimable", r -> r.findClaimable(now, limit));
+        review(queries, "findByIdForUpdate", r -> r.findByIdForUpdate(1L));
+        review(queries, "releaseExpiredClaims", r -> r.releaseExpiredClaims(now));
+        review(queries, "findStatusesByIdIn", r -> r.findStatusesByIdIn(ids));
+        review(queries, "approvePendingByIdIn", r -> r.approvePendingByIdIn(ids, 2L, now));
+        review(queries, "rejectPendingByIdIn", r -> r.rejectPendingByIdIn(ids, 2L, "test", now));
+        review(queries, "findModeratedByIdIn", r -> r.findModeratedByIdIn(ids, status, 2L, now));
+
+        queries.put("FacilityRepository.findExistingIds", () -> facilityRepository.findExistingIds(ids));
+        queries.put("FacilityRepository.findVersion", () -> facilityRepository.findVersion());
+        return queries;
+    }
+
+    private void review(Map<String, Runnable> queries, String method, Consumer<ReviewRepository> query) {
+        queries.put("ReviewRepository." + method, () -> query.accept(reviewRepository));
+    }
+
+    private static Set<String> declaredQueryMethods() {
+        return Stream.of(ReviewRepository.class, FacilityRepository.class)
+                .flatMap(repository -> Arrays.stream(repository.getDeclaredMethods())
+                        .filter(method -> !method.isSynthetic() && !method.isDefault())
+                        .map(Method::getName)
+                        .map(name -> repository.getSimpleName() + "." + name))
+                .collect(Collectors.toCollection(TreeSet::new));
+    }
+
+    /**
+     * Sorguyu geri alınan bir transaction içinde çalıştırır ve H2'ye gelen SQL'leri (parametreler "?" olarak) döner.
+     */
+    private List<String> capture(Runnable query) {
+        // Statistics are database-wide; turning them off and on starts from an empty list
+        jdbcTemplate.execute("SET QUERY_STATISTICS FALSE");
+        jdbcTemplate.execute("SET QUERY_STATISTICS TRUE");
+        transactionTemplate.executeWithoutResult(status -> {
+            query.run();
+            status.setRollbackOnly();
+        });
+        List<String> statements = jdbcTemplate.queryForList(
+                "SELECT SQL_STATEMENT FROM INFORMATION_SCHEMA.QUERY_STATISTICS", String.class);
+        jdbcTemplate.execute("SET QUERY_STATISTICS FALSE");
+        return statements.stream()
+                .filter(sql -> !sql.contains("QUERY_STATISTICS"))
+                // Only data access statements; transaction control (COMMIT/ROLLBACK) has no plan
+                .filter(sql -> sql.strip().toLowerCase().matches("^(select|update|delete)\\b[\\s\\S]*"))
+                .collect(Collectors.toList());
+    }
+
+    private String explain(String sql) {
+        // EXPLAIN accepts the statement with its parameters still unbound
+        return jdbcTemplate.execute((ConnectionCallback<String>) connection -> {
+            try (PreparedStatement statement = connection.prepareStatement("EXPLAIN " + sql);
+                 ResultSet result = statement.executeQuery()) {
+                StringBuilder plan = new StringBuilder();
+                while (result.next()) {
+                    plan.append(result.getString(1));
+                }
+                return plan.toString();
+            }
+        });
+    }
+}
@@ -0,0 +1,122 @@
+package org.example.tesis_yorum.service;
+
+import org.example.tesis_yorum.event.AttachmentsStagedEvent;
+import org.example.tesis_yorum.event.StoredBlobReleasedEvent;
+import org.example.tesis_yorum.metrics.ReviewMetrics;
+import org.example.tesis_yorum.thumbnail.ThumbnailService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Ek kuyruğu doluyken iş, yorumu kaydeden isteğin thread'inde çalışmaz; ek PENDING kalır ve yeniden kuyruğa
+ * alındığında işlenir. Referansı kalmayan dosyalar da istek thread'inde değil havuzda silinir.
+ */
+class AttachmentProcessingServiceTest {
+
+    private ThreadPoolTaskExecutor executor;
+    private FileAttachmentService fileAttachmentService;
+    private AttachmentProcessingService processingService;
+
+    @BeforeEach
+    void setUp() {
+        executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(1);
+        executor.setMaxPoolSize(1);
+        executor.setQueueCapacity(0);
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.AbortPolicy());
+        executor.initialize();
+
+        fileAttachmentService = mock(FileAttachmentService.class);
+        processingService = new AttachmentProcessingService(fileAttachmentService, mock(ThumbnailService.class),
+                mock(ReviewMetrics.class), executor);
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdown();
+    }
+
+    @Test
+    void fullQueueLeavesAttachmentPendingForRequeue() throws Exception {
+        CountDownLatch workerBusy = new CountDownLatch(1);
+        CountDownLatch releaseWorker = new CountDownLatch(1);
+        when(fileAttachmentService.findPendingAttachment(1L)).thenAnswer(invocation -> {
+            workerBusy.countDown();
+            releaseWorker.await(5, TimeUnit.SECONDS);
+            return Optional.empty();
+        });
+
+        processingService.onAttachmentsStaged(new AttachmentsStagedEvent(List.of(1L)));
+        workerBusy.await(5, TimeUnit.SECONDS);
+
+        // The only worker is busy and there is no queue: the caller must not process the attachment itself
+        processingService.onAttachmentsStaged(new AttachmentsStagedEvent(List.of(2L)));
+        verify(fileAttachmentService, never()).findPendingAttachment(2L);
+        verify(fileAttachmentService, never()).failFileAttachment(anyLong(), anyString());
+
+        releaseWorker.countDown();
+        awaitIdle();
+        when(fileAttachmentService.getPendingAttachmentIds()).thenReturn(List.of(2L));
+        processingService.resumePendingAttachments();
+        verify(fileAttachmentService, timeout(5000)).findPendingAttachment(2L);
+    }
+
+    @Test
+    void releasedBlobIsDeletedOnThePoolAndRequeuedWhenTheQueueIsFull() throws Exception {
+        CountDownLatch workerBusy = new CountDownLatch(1);
+        CountDownLatch releaseWorker = new CountDownLatch(1);
+        AtomicReference<Thread> cleanupThread = new AtomicReference<>();
+        CountDownLatch cleanedUp = new CountDownLatch(1);
+        when(fileAttachmentService.findPendingAttachment(1L)).thenAnswer(invocation -> {
+            workerBusy.countDown();
+            releaseWorker.await(5, TimeUnit.SECONDS);
+            return Optional.empty();
+        });
+        doAnswer(invocation -> {
+            cleanupThread.set(Thread.currentThread());
+            cleanedUp.countDown();
+            return null;
+        }).when(fileAttachmentService).deleteBlobIfUnreferenced("abc");
+
+        processingService.onAttachmentsStaged(new AttachmentsStagedEvent(List.of(1L)));
+        workerBusy.await(5, TimeUnit.SECONDS);
+
+        // The deleting request's thread must not open a second connection for the cleanup
+        processingService.onStoredBlobReleased(new StoredBlobReleasedEvent("abc"));
+        verify(fileAttachmentService, never()).deleteBlobIfUnreferenced("abc");
+
+        releaseWorker.countDown();
+        awaitIdle();
+        when(fileAttachmentService.getUnreferencedBlobHashes()).thenReturn(List.of("abc"));
+        processingService.resumePendingAttachments();
+        assertThat(cleanedUp.await(5, TimeUnit.SECONDS)).isTrue();
+        assertThat(cleanupThread.get()).isNotSameAs(Thread.currentThread());
+    }
+
+    private void awaitIdle() throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (executor.getActiveCount() > 0 && System.nanoTime() < deadline) {
+            Thread.sleep(20);
+        }
+    }
+}
@@ -0,0 +1,70 @@
+package org.example.tesis_yorum.service;
+
+import org.example.tesis_yorum.dto.ResourceVersion;
+import org.example.tesis_yorum.entity.FacilityType;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Önsel değişmediğinde periyodik yeniden puanlama hiçbir satıra dokunmaz; puan özetlerinin {@code updatedAt}'i
+ * ve ondan türeyen ETag'ler her saat değişmez.
+ */
+@SpringBootTest
+class FacilityRatingServiceTest {
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private FacilityService facilityService;
+
+    @Autowired
+    private ReviewService reviewService;
+
+    @Autowired
+    private FacilityRatingService facilityRatingService;
+
+    @BeforeEach
+    void setUp() {
+        for (String table : new String[]{"file_attachments", "reviews", "facility_rating_aggregates",
+                "stored_blobs", "facilities", "users"}) {
+            jdbcTemplate.update("DELETE FROM " + table);
+        }
+
+        Long adminId = userService.createAdminUser("prior_admin", "prior_admin@example.com", "Prior Admin").getId();
+        Long hotelId = facilityService.createFacility("Körfez Otel", FacilityType.HOTEL,
+                "Kordon üzerinde şehir oteli", "Alsancak", "İzmir").getId();
+        Long restaurantId = facilityService.createFacility("Ege Sofrası", FacilityType.RESTAURANT,
+                "Ev yemekleri", "Bornova", "İzmir").getId();
+
+        // Ratings chosen so the prior mean and the scores are not exactly representable as doubles
+        int[][] ratings = {{5, 4, 4}, {2, 5, 3, 4}};
+        Long[] facilityIds = {hotelId, restaurantId};
+        for (int facility = 0; facility < facilityIds.length; facility++) {
+            for (int i = 0; i < ratings[facility].length; i++) {
+                Long userId = userService.createRegularUser("prior_user_" + facility + "_" + i,
+                        "prior_user_" + facility + "_" + i + "@example.com", "Prior User").getId();
+                Long reviewId = reviewService.createReview(userId, facilityIds[facility],
+                        "Genel olarak memnun kaldık", ratings[facility][i]).getId();
+                reviewService.approveReview(reviewId, adminId);
+            }
+        }
+    }
+
+    @Test
+    void refreshWithUnchangedPriorLeavesScoresAndVersionAlone() {
+        assertThat(facilityRatingService.refreshPrior()).isPositive();
+        ResourceVersion version = facilityRatingService.getRatingsVersion();
+
+        assertThat(facilityRatingService.refreshPrior()).isZero();
+        assertThat(facilityRatingService.getRatingsVersion().toETag()).isEqualTo(version.toETag());
+    }
+}
@@ -0,0 +1,91 @@
+package org.example.tesis_yorum.service;
+
+import org.example.tesis_yorum.entity.FacilityType;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Aynı yorumu eşzamanlı onaylayan iki istekten sadece biri başarılı olur; yorum puan özetine bir kez eklenir.
+ */
+@SpringBootTest
+class ReviewServiceTest {
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private FacilityService facilityService;
+
+    @Autowired
+    private ReviewService reviewService;
+
+    @Autowired
+    private FacilityRatingService facilityRatingService;
+
+    private Long adminId;
+    private Long facilityId;
+    private Long reviewId;
+
+    @BeforeEach
+    void setUp() {
+        for (String table : new String[]{"file_attachments", "reviews", "facility_rating_aggregates",
+                "stored_blobs", "facilities", "users"}) {
+            jdbcTemplate.update("DELETE FROM " + table);
+        }
+
+        adminId = userService.createAdminUser("race_admin", "race_admin@example.com", "Race Admin").getId();
+        Long userId = userService.createRegularUser("race_user", "race_user@example.com", "Race User").getId();
+        facilityId = facilityService.createFacility("Liman Kafe", FacilityType.CAFE,
+                "Limana bakan kafe", "Konak", "İzmir").getId();
+        reviewId = reviewService.createReview(userId, facilityId, "Manzara harika, kahve iyi", 4).getId();
+    }
+
+    @Test
+    void concurrentApprovalsCountTheReviewOnce() throws Exception {
+        CountDownLatch firstApproved = new CountDownLatch(1);
+        CountDownLatch commitFirst = new CountDownLatch(1);
+
+        // The first approval holds its transaction open until the second one is waiting
+        CompletableFuture<Void> first = CompletableFuture.runAsync(() -> transactionTemplate.executeWithoutResult(tx -> {
+            reviewService.approveReview(reviewId, adminId);
+            firstApproved.countDown();
+            await(commitFirst);
+        }));
+        assertThat(firstApproved.await(5, TimeUnit.SECONDS)).isTrue();
+
+        CompletableFuture<Void> second = CompletableFuture.runAsync(() -> reviewService.approveReview(reviewId, adminId));
+        Thread.sleep(300);
+        commitFirst.countDown();
+
+        first.get(5, TimeUnit.SECONDS);
+        assertThatThrownBy(() -> second.get(5, TimeUnit.SECONDS))
+                .hasCauseInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("Only pending reviews can be approved");
+        assertThat(facilityRatingService.getAggregate(facilityId).getReviewCount()).isEqualTo(1);
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
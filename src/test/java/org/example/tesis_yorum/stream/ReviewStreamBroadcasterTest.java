@@ -0,0 +1,180 @@
+package org.example.tesis_yorum.stream;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.example.tesis_yorum.config.ReviewStreamConfig;
+import org.example.tesis_yorum.dto.PublicReviewView;
+import org.example.tesis_yorum.dto.ReviewView.FacilityRef;
+import org.example.tesis_yorum.dto.ReviewView.UserRef;
+import org.example.tesis_yorum.event.ReviewsApprovedEvent;
+import org.example.tesis_yorum.service.ReviewQueryService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.MockedConstruction;
+import org.springframework.mock.env.MockEnvironment;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter.DataWithMediaType;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anySet;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.mockConstruction;
+import static org.mockito.Mockito.when;
+
+/**
+ * Okumayı bırakmış bir istemcide takılan gönderim, aynı işçiyi paylaşan diğer istemcileri bekletmez; aynı tesisin
+ * bütün aboneleri aynı olay çerçevesini alır.
+ */
+class ReviewStreamBroadcasterTest {
+
+    private static final Duration SEND_TIMEOUT = Duration.ofSeconds(1);
+
+    private final ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
+
+    private ThreadPoolTaskExecutor workers;
+    private ThreadPoolTaskExecutor senders;
+    private SimpleMeterRegistry registry;
+    private ReviewQueryService reviewQueryService;
+    private ReviewStreamBroadcaster broadcaster;
+
+    @BeforeEach
+    void setUp() {
+        // A single worker, so the stalled and the healthy client compete for the same thread
+        workers = executor(1, 1, 100);
+        // Same shape as the application's send pool: the stalled sends get their own threads on top of the workers
+        senders = new ReviewStreamConfig().reviewStreamSendExecutor(1, 64, new MockEnvironment());
+        senders.initialize();
+        registry = new SimpleMeterRegistry();
+        reviewQueryService = mock(ReviewQueryService.class);
+        broadcaster = new ReviewStreamBroadcaster(reviewQueryService, workers, senders, registry,
+                Duration.ofMinutes(1), SEND_TIMEOUT, 32, 100);
+    }
+
+    @AfterEach
+    void tearDown() {
+        workers.shutdown();
+        senders.shutdown();
+    }
+
+    @Test
+    void stalledSubscriberIsEvictedWithoutBlockingOthers() throws Exception {
+        CountDownLatch clientReads = new CountDownLatch(1);
+        CountDownLatch stalledCompleted = new CountDownLatch(1);
+        BlockingQueue<Set<DataWithMediaType>> delivered = new LinkedBlockingQueue<>();
+
+        try (MockedConstruction<SseEmitter> ignored = mockConstruction(SseEmitter.class)) {
+            SseEmitter stalled = broadcaster.subscribe(1L);
+            SseEmitter healthy = broadcaster.subscribe(1L);
+            doAnswer(invocation -> {
+                clientReads.await();
+                return null;
+            }).when(stalled).send(anySet());
+            doAnswer(invocation -> delivered.add(invocation.getArgument(0)))
+                    .when(healthy).send(anySet());
+            // complete() is synchronized on the emitter, so verify(timeout) would hold the monitor the pool needs
+            doAnswer(invocation -> {
+                stalledCompleted.countDown();
+                return null;
+            }).when(stalled).complete();
+
+            broadcaster.sendHeartbeats();
+            assertThat(delivered.poll(5, TimeUnit.SECONDS)).isNotNull();
+            awaitSubscriberCount(1);
+            assertThat(registry.counter("tesis.review.stream.evictions").count()).isEqualTo(1);
+
+            // The stalled send is still blocked, yet the next event reaches the healthy client without waiting for it
+            long startNanos = System.nanoTime();
+            broadcaster.sendHeartbeats();
+            assertThat(delivered.poll(5, TimeUnit.SECONDS)).isNotNull();
+            assertThat(Duration.ofNanos(System.nanoTime() - startNanos)).isLessThan(SEND_TIMEOUT);
+
+            clientReads.countDown();
+            assertThat(stalledCompleted.await(5, TimeUnit.SECONDS)).isTrue();
+        } finally {
+            clientReads.countDown();
+        }
+    }
+
+    @Test
+    void everySubscriberOfAFacilityReceivesTheSameFrames() throws Exception {
+        List<PublicReviewView> reviews = List.of(review(12L), review(13L));
+        when(reviewQueryService.getPublicReviewViews(anyList())).thenReturn(reviews);
+        List<BlockingQueue<Set<DataWithMediaType>>> received = new ArrayList<>();
+
+        try (MockedConstruction<SseEmitter> ignored = mockConstruction(SseEmitter.class)) {
+            for (int i = 0; i < 3; i++) {
+                SseEmitter emitter = broadcaster.subscribe(1L);
+                BlockingQueue<Set<DataWithMediaType>> frames = new LinkedBlockingQueue<>();
+                doAnswer(invocation -> frames.add(invocation.getArgument(0))).when(emitter).send(anySet());
+                // Same as the real SseEmitter, so a builder shared between subscribers would show up in the frames
+                doAnswer(invocation -> {
+                    emitter.send(invocation.<SseEmitter.SseEventBuilder>getArgument(0).build());
+                    return null;
+                }).when(emitter).send(any(SseEmitter.SseEventBuilder.class));
+                received.add(frames);
+            }
+
+            broadcaster.onReviewsApproved(new ReviewsApprovedEvent(Map.of(1L, List.of(12L, 13L))));
+
+            for (BlockingQueue<Set<DataWithMediaType>> frames : received) {
+                for (PublicReviewView review : reviews) {
+                    Set<DataWithMediaType> frame = frames.poll(5, TimeUnit.SECONDS);
+                    assertThat(frame).isNotNull();
+                    assertThat(render(frame)).isEqualTo("event:review\nid:" + review.id() + "\ndata:" +
+                            objectMapper.writeValueAsString(review) + "\n\n");
+                }
+                assertThat(frames).isEmpty();
+            }
+        }
+    }
+
+    private static PublicReviewView review(Long id) {
+        LocalDateTime createdAt = LocalDateTime.of(2025, 1, 15, 10, 30);
+        return new PublicReviewView(id, "Muazzam hizmet", 5, createdAt, createdAt,
+                new UserRef(1L, "zeynep_sonmez", "Zeynep Sonmez"), new FacilityRef(1L, "Royal Tsar Belek"), List.of());
+    }
+
+    /**
+     * Çerçevenin istemciye yazılan hali: metin parçaları olduğu gibi, nesneler JSON olarak.
+     */
+    private String render(Set<DataWithMediaType> frame) throws Exception {
+        StringBuilder text = new StringBuilder();
+        for (DataWithMediaType part : frame) {
+            text.append(part.getData() instanceof String string ? string : objectMapper.writeValueAsString(part.getData()));
+        }
+        return text.toString();
+    }
+
+    private void awaitSubscriberCount(int expected) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (broadcaster.getSubscriberCount() != expected && System.nanoTime() < deadline) {
+            Thread.sleep(20);
+        }
+        assertThat(broadcaster.getSubscriberCount()).isEqualTo(expected);
+    }
+
+    private static ThreadPoolTaskExecutor executor(int coreSize, int maxSize, int queueCapacity) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(coreSize);
+        executor.setMaxPoolSize(maxSize);
+        executor.setQueueCapacity(queueCapacity);
+        executor.initialize();
+        return executor;
+    }
+}